@@ -0,0 +1,103 @@
+package com.discordlogger.listener.player;
+
+import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
+import com.discordlogger.util.Names;
+import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What one logged teleport costs the server thread, before and after rendering moved
+ * to its own thread.
+ *
+ * <p>{@code inline} is the work the listener used to do where the event fired: the
+ * fields, with their coordinates, distance and cause turned into text, and the console
+ * line. {@code deferred} is what it does now: one {@link LogEvent} record, offered to a
+ * queue that another thread empties, as the render thread does. Neither counts the
+ * embed's JSON, which was built on the same thread too and is measured by
+ * {@code EmbedBenchmark} — so {@code inline} understates the saving.
+ *
+ * <p>Tick time spent logging is this figure times the events logged in a tick. At
+ * 50 ms a tick, a busy server logging a few hundred events a second spends a few of
+ * them per tick, so the difference is small per event and adds up on the servers that
+ * log the most.
+ *
+ * <p>Run from {@code benchmarks/}:
+ * <pre>
+ * mvn -B package
+ * java -jar target/benchmarks.jar CaptureBenchmark -prof gc
+ * </pre>
+ * Average time is ns/op; {@code gc.alloc.rate.norm} is bytes allocated per op, on the
+ * calling thread only for {@code deferred}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaptureBenchmark {
+
+    private static final UUID ACTOR = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final Names.Snapshot PLAYER = new Names.Snapshot("Steve", "[Admin] Steve", null);
+    private static final PlayerTeleport.Place FROM = new PlayerTeleport.Place("world", 128, 71, -344);
+    private static final PlayerTeleport.Place TO = new PlayerTeleport.Place("world", 1204, 64, 2210);
+
+    private final BlockingQueue<LogEvent> queue = new ArrayBlockingQueue<>(4096);
+    private Thread consumer;
+
+    @Setup(Level.Trial)
+    public void start() {
+        consumer = new Thread(() -> {
+            try {
+                while (true) queue.take();
+            } catch (InterruptedException ignored) {
+                // stopped
+            }
+        }, "CaptureBenchmark-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        consumer.interrupt();
+    }
+
+    private static PlayerTeleport.Captured capture() {
+        return new PlayerTeleport.Captured(System.currentTimeMillis(), ACTOR, PLAYER,
+                TeleportCause.COMMAND, FROM, TO, false, 2788.4);
+    }
+
+    @Benchmark
+    public String inline() {
+        final List<Log.Field> fields = capture().fields(Log.mdEscape(PLAYER.displayName()) + " (Steve)");
+        final StringBuilder line = new StringBuilder(128).append("[06:00:00 31:07:2026] Player Teleport:");
+        for (Log.Field f : fields) line.append(' ').append(f.name()).append(' ').append(f.value());
+        return line.toString();
+    }
+
+    @Benchmark
+    public boolean deferred() throws InterruptedException {
+        // Blocks rather than drops if the consumer falls behind, so every op is counted.
+        queue.put(capture());
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.discordlogger.log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event's two timestamps, formatted for every event as they were, against
+ * {@link Stamps}, which renders them once a second.
+ *
+ * <p>Both read the clock each op, so the cached case crosses into a new second as
+ * often as a real server does and pays for it at that rate. Four threads, since the
+ * cache is shared by the server thread, the render thread and chat's async threads,
+ * and a contended volatile read is the case worth seeing.
+ *
+ * <p>Run from {@code benchmarks/}:
+ * <pre>
+ * mvn -B package
+ * java -jar target/benchmarks.jar StampBenchmark -prof gc
+ * </pre>
+ * Throughput is ops/sec; {@code gc.alloc.rate.norm} is bytes allocated per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class StampBenchmark {
+
+    private final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("[HH:mm:ss, dd:MM:yyyy]");
+    private final Stamps stamps = new Stamps(fmt, ZoneId.systemDefault());
+
+    @Benchmark
+    public void formatter(Blackhole bh) {
+        bh.consume(LocalDateTime.now().format(fmt));
+        bh.consume(OffsetDateTime.now(ZoneOffset.UTC).toString());
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh) {
+        final long now = System.currentTimeMillis();
+        bh.consume(stamps.local(now));
+        bh.consume(stamps.iso(now));
+    }
+}
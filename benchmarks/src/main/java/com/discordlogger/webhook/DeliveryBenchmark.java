@@ -0,0 +1,251 @@
+package com.discordlogger.webhook;
+
+import com.discordlogger.util.Threads;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivery to many routed destinations, three ways, against a local server that
+ * answers like a slow Discord.
+ *
+ * <ul>
+ *   <li><b>platform</b> — a platform thread per destination, blocking on each send
+ *       and sleeping out the pacing between them. What the queue used to do.</li>
+ *   <li><b>blocking</b> — the same loop on {@link Threads#blocking} threads: virtual
+ *       on Java 21 and later, platform daemon threads on 17.</li>
+ *   <li><b>scheduler</b> — one thread stepping every destination, with
+ *       {@link DiscordWebhook#postAsync} and timed wake-ups. What the queue does now.</li>
+ * </ul>
+ *
+ * <p>One op is a whole run: every destination sent all its messages. Run from
+ * {@code benchmarks/}, on each JVM to compare:
+ * <pre>
+ * mvn -B package
+ * java -jar target/benchmarks.jar DeliveryBenchmark -p destinations=64,256
+ * </pre>
+ * Average time is ms/op. {@code platformThreads} is the most platform threads a run
+ * added at once, leaving out the server's; virtual threads do not appear in it, which
+ * is the point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryBenchmark {
+
+    @Param("64")
+    int destinations;
+
+    @Param("20")
+    int messages;
+
+    @Param("40")
+    long latencyMs;
+
+    @Param("20")
+    long paceMs;
+
+    private static final String JSON = "{\"content\":\"benchmark line\"}";
+
+    private ScheduledExecutorService delays;
+    private ExecutorService serverThreads;
+    private HttpServer server;
+    private List<String> urls;
+
+    /** What {@code platform} and {@code blocking} send with; {@code scheduler} uses the plugin's. */
+    private HttpClient client;
+
+    /** The most platform threads one run added, reported beside its time. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Added {
+        public int platformThreads;
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        delays = Executors.newScheduledThreadPool(4, named("bench-server-"));
+        serverThreads = Executors.newFixedThreadPool(8, named("bench-server-"));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(serverThreads);
+        server.createContext("/", ex -> {
+            ex.getRequestBody().readAllBytes();
+            // Answer after the latency without holding a server thread through it, so
+            // the server is never what limits the run.
+            delays.schedule(() -> {
+                try {
+                    ex.sendResponseHeaders(204, -1);
+                } catch (Exception ignored) {
+                }
+                ex.close();
+            }, latencyMs, TimeUnit.MILLISECONDS);
+        });
+        server.start();
+
+        urls = new ArrayList<>();
+        for (int i = 0; i < destinations; i++) {
+            urls.add("http://127.0.0.1:" + server.getAddress().getPort() + "/api/webhooks/" + (1000 + i) + "/token");
+        }
+        client = HttpClient.newHttpClient();
+        DiscordWebhook.openClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        server.stop(0);
+        delays.shutdownNow();
+        serverThreads.shutdownNow();
+        DiscordWebhook.closeClient();
+    }
+
+    @Benchmark
+    public void platform(Added added) throws Exception {
+        measure(added, () -> perDestination(named("bench-dest-")));
+    }
+
+    @Benchmark
+    public void blocking(Added added) throws Exception {
+        measure(added, () -> perDestination(Threads.blocking("bench-dest-")));
+    }
+
+    @Benchmark
+    public void scheduler(Added added) throws Exception {
+        measure(added, this::scheduled);
+    }
+
+    private interface Run {
+        void run() throws Exception;
+    }
+
+    /** Runs one mode, sampling the platform thread count as it goes. */
+    private static void measure(Added added, Run run) throws Exception {
+        final int before = threads();
+        final AtomicInteger peak = new AtomicInteger();
+        final Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peak.accumulateAndGet(threads() - before, Math::max);
+                try {
+                    Thread.sleep(5L);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "bench-server-sampler");
+        sampler.start();
+        try {
+            run.run();
+        } finally {
+            sampler.interrupt();
+            sampler.join();
+        }
+        added.platformThreads = Math.max(added.platformThreads, peak.get());
+    }
+
+    /** Live platform threads, less the server's own. */
+    private static int threads() {
+        int n = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (!t.getName().startsWith("bench-server-")) n++;
+        }
+        return n;
+    }
+
+    /** A thread per destination, each sending and sleeping in turn. */
+    private void perDestination(ThreadFactory threads) throws Exception {
+        final CountDownLatch done = new CountDownLatch(urls.size());
+        for (String url : urls) {
+            threads.newThread(() -> {
+                try {
+                    for (int i = 0; i < messages; i++) {
+                        try {
+                            client.send(post(url, JSON), HttpResponse.BodyHandlers.discarding());
+                        } catch (IOException reset) {
+                            // The JDK's test server drops idle pooled connections; the
+                            // async path retries too, through the queue's own backoff.
+                            i--;
+                            continue;
+                        }
+                        Thread.sleep(paceMs);
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+    }
+
+    /** One thread for every destination: send asynchronously, wake up when paced. */
+    private void scheduled() throws Exception {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(named("bench-delivery-"));
+        final CountDownLatch done = new CountDownLatch(urls.size());
+        for (String url : urls) {
+            scheduler.execute(() -> step(scheduler, url, JSON, messages, paceMs, done));
+        }
+        done.await();
+        scheduler.shutdownNow();
+    }
+
+    private static void step(ScheduledExecutorService scheduler, String url, String json,
+                             int left, long paceMs, CountDownLatch done) {
+        if (left == 0) {
+            done.countDown();
+            return;
+        }
+        final CompletableFuture<DiscordWebhook.Response> sent =
+                DiscordWebhook.postAsync(url, json.getBytes(StandardCharsets.UTF_8), false);
+        sent.thenAccept(res -> scheduler.schedule(
+                () -> step(scheduler, url, json, left - 1, paceMs, done), paceMs, TimeUnit.MILLISECONDS));
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static ThreadFactory named(String prefix) {
+        final AtomicInteger n = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, prefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.discordlogger.webhook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One event turned into the body of its request: {@link DiscordWebhook#embeds} and
+ * {@link DiscordWebhook#payload}, which is all the work done for it before it is
+ * queued and sent.
+ *
+ * <p>The cases are the ones that dominate a busy server's channel: a chat line, in
+ * plain mode and as an embed; a death, with two fields; an explosion, with five and a
+ * long "Players Nearby". Fields are given as the plugin gives them, a list of
+ * {@link EmbedField}s, not as arrays to convert first.
+ *
+ * <p>Run from {@code benchmarks/}:
+ * <pre>
+ * mvn -B package
+ * java -jar target/benchmarks.jar EmbedBenchmark -prof gc
+ * </pre>
+ * Throughput is ops/sec; {@code gc.alloc.rate.norm} is bytes allocated per op. Both
+ * are worth recording before and after any change to {@link JsonWriter} or
+ * {@link Limits}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbedBenchmark {
+
+    private static final String AUTHOR = "Server Logs";
+    private static final String FOOTER = "DiscordLogger v2.3.0";
+    private static final String THUMB = "https://mc-heads.net/avatar/069a79f4-44e9-4726-a5be-fca90e38aaf5/256";
+    private static final String TS = "2026-07-31T06:00:00.123456Z";
+
+    private final String line = "`[06:00:00 31:07:2026]` - **Player Chat**: **Steve**: anyone got spare "
+            + "iron? I'll trade \"diamonds\" for it — at spawn";
+
+    private final List<EmbedField> death = List.of(
+            new Limits.Field("Cause of Death", "Steve was blown up by Creeper", false),
+            new Limits.Field("Coords", "128, 71, -344 in world", false));
+
+    private final List<EmbedField> explosion = List.of(
+            new Limits.Field("Source", "Primed TNT", true),
+            new Limits.Field("Location", "128, 64, -344 in world", true),
+            new Limits.Field("Blocks Destroyed", "47", true),
+            new Limits.Field("Players Nearby", "Steve (4.2m), Alex (7.9m), Notch (11.0m), jeb_ (15.3m)", false),
+            new Limits.Field("Triggered By", "Steve", true));
+
+    @Benchmark
+    public byte[] plain() {
+        return DiscordWebhook.payload(List.of(Message.content(line)));
+    }
+
+    @Benchmark
+    public byte[] chat() {
+        return DiscordWebhook.payload(DiscordWebhook.embeds("Player Chat",
+                "**Steve**: anyone got spare iron?", 0x5865F2, TS, AUTHOR, FOOTER, THUMB,
+                null, Priority.ROUTINE));
+    }
+
+    @Benchmark
+    public byte[] death() {
+        return DiscordWebhook.payload(DiscordWebhook.embeds("Player Death", "Steve died",
+                0xED4245, TS, AUTHOR, FOOTER, THUMB, death, Priority.LIFECYCLE));
+    }
+
+    @Benchmark
+    public byte[] explosion() {
+        return DiscordWebhook.payload(DiscordWebhook.embeds("Server Explosion",
+                "TNT exploded near spawn", 0xE74C3C, TS, AUTHOR, FOOTER, null,
+                explosion, Priority.ROUTINE));
+    }
+}
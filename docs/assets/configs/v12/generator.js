@@ -0,0 +1,1037 @@
+/*  DiscordLogger — config generator bundle for schema v12
+    ------------------------------------------------------------------
+    FROZEN ONCE A NEWER SCHEMA SHIPS. Do not edit this file after
+    docs/assets/configs/v13/ exists — copy it to the new folder and change
+    it there instead. Old plugin versions must keep generating exactly the
+    config they always did.
+
+    Self-contained on purpose: own steps, own styles, own webhook-test
+    payload, own YAML builder. The only outside dependencies are its four
+    sibling data files (options.json, config.template.yml, lang.template.yml)
+    and the ctx object handed over by /assets/js/generator.js.
+
+    Produces BOTH files the plugin writes: config.yml and lang.yml. Every
+    key in either one is reachable here — the event toggles and colours, all
+    fourteen filters, and all seventy-nine messages. Nothing is hardcoded in
+    the templates that the wizard cannot reach, because a setting the
+    generator silently bakes in is one the user does not know they have.
+*/
+(() => {
+    'use strict';
+
+    const CONFIG_VERSION = 'v12';
+
+    window.DL_GENERATORS = window.DL_GENERATORS || {};
+    window.DL_GENERATORS[CONFIG_VERSION] = launch;
+
+    /* ---------------- helpers ---------------- */
+
+    const h = (tag, props = {}, children = []) => {
+        const n = document.createElement(tag);
+        for (const [k, v] of Object.entries(props)) {
+            if (k === 'class') n.className = v;
+            else if (k === 'text') n.textContent = v;
+            else if (k.startsWith('on')) n.addEventListener(k.slice(2).toLowerCase(), v);
+            else if (v === true) n.setAttribute(k, '');
+            else if (v !== false && v != null) n.setAttribute(k, v);
+        }
+        (Array.isArray(children) ? children : [children]).forEach(c => {
+            if (c == null) return;
+            n.appendChild(typeof c === 'string' ? document.createTextNode(c) : c);
+        });
+        return n;
+    };
+
+    const pad2 = n => String(n).padStart(2, '0');
+    const stamp = () => {
+        const d = new Date();
+        return `${d.getFullYear()}-${pad2(d.getMonth() + 1)}-${pad2(d.getDate())} ` +
+               `${pad2(d.getHours())}:${pad2(d.getMinutes())}:${pad2(d.getSeconds())}`;
+    };
+
+    const isWebhookUrl = u =>
+        /^https:\/\/(?:ptb\.|canary\.)?discord(?:app)?\.com\/api\/webhooks\/\d+\/[A-Za-z0-9_-]+/i
+            .test((u || '').trim());
+
+    const withWait = u => (u.includes('?') ? `${u}&wait=true` : `${u}?wait=true`);
+
+    const replaceTokens = (tpl, map) =>
+        tpl.replace(/{{\s*([A-Za-z0-9._-]+)\s*}}/g, (m, k) =>
+            Object.prototype.hasOwnProperty.call(map, k) ? map[k] : m);
+
+    // "log.player.join" -> "player.join" (token suffix used by config.template.yml)
+    const toggleKey = configKey => (configKey ? configKey.replace(/^log\./, '') : null);
+
+    const filterDefs = state => (state.options && state.options.filters) || [];
+    const langGroups = state => ((state.options && state.options.lang) || {}).groups || [];
+    const langSections = state => ((state.options && state.options.lang) || {}).sections || [];
+
+    const yamlQuote = s => String(s == null ? '' : s).replace(/\\/g, '\\\\').replace(/"/g, '\\"');
+
+    /* A list item is left bare only when it cannot possibly need quoting —
+       everything else is quoted rather than guessed at. "minecraft:husbandry/*"
+       happens to be legal bare YAML, but a user-typed chat phrase with a colon or
+       a # is not, and a config that fails to parse is far worse than one with a
+       few extra quotation marks. */
+    const yamlListItem = v => {
+        const s = String(v == null ? '' : v);
+        return /^[A-Za-z0-9][A-Za-z0-9_.\/*-]*$/.test(s) ? s : `"${yamlQuote(s)}"`;
+    };
+
+    const splitLines = text => String(text || '')
+        .split('\n')
+        .map(s => s.trim())
+        .filter(Boolean);
+
+    /* ---------------- webhook test payload (frozen with this schema) ---------------- */
+
+    const testPayload = () => ({
+        content: null,
+        embeds: [{
+            title: 'DiscordLogger Webhook Test',
+            description:
+                'This is a test of your webhook to confirm it works. If you can see this message, it worked.\n\n' +
+                'If you did not request a webhook test, check with your server staff — if nobody did, ' +
+                'delete and recreate the webhook URL.',
+            url: 'https://discordlogger.godtiergamers.xyz',
+            color: 5814783,
+            author: {
+                name: 'DiscordLogger Webhook Test',
+                url: 'https://discordlogger.godtiergamers.xyz',
+                icon_url: 'https://discordlogger.godtiergamers.xyz/assets/icons/DiscordLogger-Logo-removebg.png',
+            },
+            footer: {
+                text: 'DiscordLogger Webhook Test',
+                icon_url: 'https://discordlogger.godtiergamers.xyz/assets/icons/DiscordLogger-Logo-removebg.png',
+            },
+            timestamp: new Date().toISOString(),
+            thumbnail: {
+                url: 'https://discordlogger.godtiergamers.xyz/assets/icons/DiscordLogger-Logo-removebg.png',
+            },
+        }],
+        attachments: [],
+    });
+
+    const TIME_PRESETS = [
+        { label: 'Default (same as plugin)', value: '[HH:mm:ss, dd:MM:yyyy]' },
+        { label: 'EU 24h (dd/MM/yyyy HH:mm)', value: '[dd/MM/yyyy HH:mm]' },
+        { label: 'US 12h (MM/dd/yyyy HH:mm)', value: '[MM/dd/yyyy HH:mm]' },
+        { label: 'Time only (HH:mm:ss)', value: '[HH:mm:ss]' },
+        { label: 'Custom…', value: '' },
+    ];
+
+    const FALLBACK_COLOR = '#5865F2';
+
+    /* ---------------- entry point ---------------- */
+
+    async function launch(ctx) {
+        const mount = ctx.mount;
+        injectStyles();
+
+        const state = {
+            step: 0,
+            webhookUrl: '',
+            webhookConfirmed: false,
+            embedsEnabled: true,
+            embedAuthor: 'Server Logs',
+            plainName: '',
+            timeFmt: TIME_PRESETS[0].value,
+            nicknames: true,
+            placeholders: true,
+            options: null,
+            template: null,
+            langTemplate: null,
+            toggles: {},
+            extras: {},
+            hooks: {},
+            colors: {},
+            filters: {},
+            lang: {},
+        };
+
+        // Steps after the loader's version step. `colors` is skipped in plain-text mode.
+        const STEPS = [
+            { id: 'webhook',  title: 'Discord webhook' },
+            { id: 'style',    title: 'Log style' },
+            { id: 'events',   title: 'Events to log' },
+            { id: 'filters',  title: 'Filters' },
+            { id: 'colors',   title: 'Embed colors' },
+            { id: 'routing',  title: 'Per-event channels' },
+            { id: 'messages', title: 'Messages' },
+            { id: 'result',   title: 'Your files' },
+        ];
+
+        mount.innerHTML = '';
+        const progress = h('div', { class: 'cfg-progress' });
+        const panelHost = h('div');
+        mount.appendChild(h('div', { class: 'cfg-wrap' }, [progress, panelHost]));
+
+        panelHost.appendChild(h('section', { class: 'cfg-panel' }, [
+            h('p', { class: 'cfg-note' }, 'Loading options…'),
+        ]));
+
+        const base = `/assets/configs/${CONFIG_VERSION}/`;
+        try {
+            const [optRes, tplRes, langRes] = await Promise.all([
+                fetch(`${base}options.json`),
+                fetch(`${base}config.template.yml`),
+                fetch(`${base}lang.template.yml`),
+            ]);
+            if (!optRes.ok || !tplRes.ok || !langRes.ok) throw new Error('fetch failed');
+            state.options = await optRes.json();
+            state.template = await tplRes.text();
+            state.langTemplate = await langRes.text();
+        } catch {
+            panelHost.innerHTML = '';
+            panelHost.appendChild(h('section', { class: 'cfg-panel' }, [
+                h('p', { class: 'cfg-note' }, 'Could not load the option list for this version. Please refresh and try again.'),
+            ]));
+            return;
+        }
+
+        for (const cat of (state.options.categories || [])) {
+            for (const item of (cat.items || [])) {
+                const k = toggleKey(item.configKey);
+                if (k) state.toggles[k] = item.default !== undefined ? !!item.default : true;
+                if (item.colorKey) state.colors[item.colorKey] = item.defaultColor || FALLBACK_COLOR;
+                // Per-event sub-options (e.g. death coordinates). Driven entirely by
+                // options.json, so adding another needs no change to this file.
+                for (const extra of (item.extras || [])) {
+                    state.extras[extra.key] = !!extra.default;
+                }
+                // Empty means "use the main webhook", which is what almost everyone wants.
+                if (item.webhookKey) state.hooks[item.webhookKey] = '';
+            }
+        }
+
+        // Filters and messages seed from options.json too, so the file the wizard
+        // produces with nothing touched is byte-identical to the plugin's own.
+        for (const f of filterDefs(state)) {
+            state.filters[f.key] = Array.isArray(f.default) ? f.default.slice() : f.default;
+        }
+        for (const g of langGroups(state)) {
+            for (const k of g.keys) state.lang[k.key] = k.default;
+        }
+
+        /* ---------------- navigation ---------------- */
+
+        const visibleSteps = () =>
+            STEPS.filter(s => s.id !== 'colors' || state.embedsEnabled);
+
+        /* Panel headings are numbered from the step's position, not hardcoded.
+           `colors` disappears in plain-text mode, and a fixed "5)" would leave a
+           gap in the sequence the moment it does. */
+        const stepNo = id => visibleSteps().findIndex(s => s.id === id) + 2;
+
+        function renderProgress() {
+            progress.innerHTML = '';
+            const steps = visibleSteps();
+            // index 0 = the loader's version step, always complete by now
+            progress.appendChild(h('div', { class: 'cfg-progress__step is-done', title: 'Plugin version' }));
+            steps.forEach((s, i) => {
+                const cls = i < state.step ? 'is-done' : i === state.step ? 'is-current' : '';
+                progress.appendChild(h('div', { class: `cfg-progress__step ${cls}`, title: s.title }));
+            });
+        }
+
+        function go(step) {
+            const steps = visibleSteps();
+            state.step = Math.max(0, Math.min(step, steps.length - 1));
+            renderProgress();
+            panelHost.innerHTML = '';
+            panelHost.appendChild(renderers[steps[state.step].id]());
+            mount.scrollIntoView({ block: 'nearest', behavior: 'smooth' });
+        }
+
+        const next = () => go(state.step + 1);
+        const back = () => {
+            if (state.step === 0) ctx.backToVersions();
+            else go(state.step - 1);
+        };
+
+        const actions = (backLabel, nextBtn) =>
+            h('div', { class: 'cfg-actions' }, [
+                h('button', { class: 'cfg-btn', type: 'button', onclick: back }, backLabel),
+                nextBtn,
+            ]);
+
+        /* ---------------- step renderers ---------------- */
+
+        const renderers = {};
+
+        renderers.webhook = () => {
+            const input = h('input', {
+                class: 'cfg-input', type: 'url', value: state.webhookUrl,
+                placeholder: 'https://discord.com/api/webhooks/…',
+            });
+            const status = h('div', { class: 'cfg-status', style: 'display:none' });
+            const testBtn = h('button', { class: 'cfg-btn', type: 'button' }, 'Send test message');
+            const nextBtn = h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Next');
+
+            const confirm = h('div', { style: 'display:none' }, [
+                h('p', { class: 'cfg-note', style: 'margin-top:.6rem' }, 'Did the test message appear in your Discord channel?'),
+                h('div', { class: 'cfg-actions-inline' }, [
+                    h('button', { class: 'cfg-btn', type: 'button', onclick: () => {
+                        state.webhookConfirmed = true;
+                        setStatus('Webhook confirmed.', 'is-ok');
+                        sync();
+                    } }, 'Yes'),
+                    h('button', { class: 'cfg-btn cfg-btn--ghost', type: 'button', onclick: () => {
+                        state.webhookConfirmed = false;
+                        setStatus('Check the URL and try again.', '');
+                        sync();
+                    } }, 'No, try again'),
+                ]),
+            ]);
+
+            function setStatus(text, cls) {
+                status.textContent = text;
+                status.className = `cfg-status ${cls}`;
+                status.style.display = text ? '' : 'none';
+            }
+            function sync() {
+                nextBtn.disabled = !(isWebhookUrl(state.webhookUrl) && state.webhookConfirmed);
+            }
+
+            input.addEventListener('input', () => {
+                state.webhookUrl = input.value.trim();
+                state.webhookConfirmed = false;
+                confirm.style.display = 'none';
+                setStatus('', '');
+                sync();
+            });
+
+            testBtn.addEventListener('click', async () => {
+                if (!isWebhookUrl(state.webhookUrl)) {
+                    setStatus('That does not look like a Discord webhook URL.', 'is-error');
+                    return;
+                }
+                setStatus('Sending test message…', '');
+                testBtn.disabled = true;
+                const ok = await sendTest(ctx.proxyUrl, state.webhookUrl);
+                testBtn.disabled = false;
+                setStatus(
+                    ok ? 'Test message sent — check Discord.'
+                       : "Couldn't send to that webhook. Check the URL is correct and still exists.",
+                    ok ? 'is-ok' : 'is-error',
+                );
+                confirm.style.display = '';
+            });
+
+            sync();
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('webhook')}) Discord webhook`),
+                h('p', { class: 'cfg-note' }, 'Paste the webhook URL for the channel you want logs posted to. Testing it now avoids a broken config later.'),
+                h('label', { class: 'cfg-label' }, 'Webhook URL'),
+                input,
+                h('div', { class: 'cfg-actions-inline' }, [testBtn]),
+                status,
+                confirm,
+                actions('Back', nextBtn),
+            ]);
+        };
+
+        renderers.style = () => {
+            const authorInput = h('input', { class: 'cfg-input', type: 'text', value: state.embedAuthor });
+            authorInput.addEventListener('input', () => { state.embedAuthor = authorInput.value; });
+            const embedExtra = h('div', {}, [
+                h('label', { class: 'cfg-label' }, 'Author name (shown in the embed header)'),
+                authorInput,
+                h('p', { class: 'cfg-note' }, 'Handy for proxy networks — e.g. "Survival" or "Creative".'),
+            ]);
+
+            const nameInput = h('input', {
+                class: 'cfg-input', type: 'text', value: state.plainName,
+                placeholder: 'e.g. Survival',
+            });
+            nameInput.addEventListener('input', () => { state.plainName = nameInput.value; });
+
+            const fmtInput = h('input', { class: 'cfg-input', type: 'text', value: state.timeFmt });
+            const fmtPreview = h('p', { class: 'cfg-note' });
+            const presetSel = h('select', { class: 'cfg-input cfg-input--select' });
+            TIME_PRESETS.forEach(p => presetSel.appendChild(h('option', { value: p.value }, p.label)));
+
+            function updatePreview() {
+                const d = new Date();
+                const map = {
+                    yyyy: d.getFullYear(), HH: pad2(d.getHours()), mm: pad2(d.getMinutes()),
+                    ss: pad2(d.getSeconds()), dd: pad2(d.getDate()), MM: pad2(d.getMonth() + 1),
+                };
+                state.timeFmt = fmtInput.value;
+                fmtPreview.textContent = 'Preview: ' + fmtInput.value.replace(/yyyy|HH|MM|dd|mm|ss/g, m => map[m] ?? m);
+            }
+            presetSel.addEventListener('change', () => {
+                if (presetSel.value) {
+                    fmtInput.value = presetSel.value;
+                    fmtInput.disabled = true;
+                } else {
+                    fmtInput.disabled = false;
+                    fmtInput.focus();
+                }
+                updatePreview();
+            });
+            fmtInput.addEventListener('input', updatePreview);
+
+            const plainExtra = h('div', {}, [
+                h('label', { class: 'cfg-label' }, 'Server name (optional)'),
+                nameInput,
+                h('label', { class: 'cfg-label' }, 'Timestamp format'),
+                h('p', { class: 'cfg-note' }, 'Pick a preset, or choose "Custom…" to write your own pattern.'),
+                presetSel,
+                h('div', { style: 'margin-top:.5rem' }, [fmtInput, fmtPreview]),
+            ]);
+
+            const radios = ['embeds', 'plain'].map(kind => {
+                const input = h('input', {
+                    type: 'radio', name: 'cfg-logstyle', value: kind,
+                    ...(state.embedsEnabled === (kind === 'embeds') ? { checked: true } : {}),
+                });
+                input.addEventListener('change', () => {
+                    state.embedsEnabled = kind === 'embeds';
+                    syncStyle();
+                });
+                return h('label', { class: 'cfg-radio' }, [
+                    input,
+                    h('span', {}, kind === 'embeds' ? 'Rich embeds (recommended)' : 'Plain text messages'),
+                ]);
+            });
+
+            function syncStyle() {
+                embedExtra.style.display = state.embedsEnabled ? '' : 'none';
+                plainExtra.style.display = state.embedsEnabled ? 'none' : '';
+            }
+
+            const nickInput = h('input', { type: 'checkbox', ...(state.nicknames ? { checked: true } : {}) });
+            nickInput.addEventListener('change', () => { state.nicknames = nickInput.checked; });
+
+            const papiInput = h('input', { type: 'checkbox', ...(state.placeholders ? { checked: true } : {}) });
+            papiInput.addEventListener('change', () => { state.placeholders = papiInput.checked; });
+
+            syncStyle();
+            updatePreview();
+
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('style')}) Log style`),
+                h('p', { class: 'cfg-note' }, 'Choose how DiscordLogger posts to Discord.'),
+                radios[0], embedExtra,
+                radios[1], plainExtra,
+                h('label', { class: 'cfg-check', style: 'margin-top:.9rem' }, [
+                    nickInput,
+                    h('span', {}, 'Show nicknames as "Nickname (RealName)"'),
+                ]),
+                h('label', { class: 'cfg-check' }, [
+                    papiInput,
+                    h('span', {}, 'Expand PlaceholderAPI placeholders in messages'),
+                ]),
+                h('p', { class: 'cfg-note cfg-note--footnote' },
+                    'Only matters if PlaceholderAPI is installed \u2014 ignored otherwise, so it is safe to leave on.'),
+                actions('Back', h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Next')),
+            ]);
+        };
+
+        renderers.events = () => {
+            const list = h('div', {});
+            for (const cat of (state.options.categories || [])) {
+                list.appendChild(h('h3', { class: 'cfg-sub' }, cat.label || cat.id));
+                if (cat.description) list.appendChild(h('p', { class: 'cfg-note' }, cat.description));
+                for (const item of (cat.items || [])) {
+                    const k = toggleKey(item.configKey);
+                    if (!k) continue;
+                    const cb = h('input', { type: 'checkbox', ...(state.toggles[k] ? { checked: true } : {}) });
+                    cb.addEventListener('change', () => { state.toggles[k] = cb.checked; });
+                    list.appendChild(h('label', { class: 'cfg-check' }, [cb, h('span', {}, item.label || k)]));
+
+                    for (const extra of (item.extras || [])) {
+                        const sub = h('input', {
+                            type: 'checkbox',
+                            ...(state.extras[extra.key] ? { checked: true } : {}),
+                        });
+                        sub.addEventListener('change', () => { state.extras[extra.key] = sub.checked; });
+                        list.appendChild(h('label', { class: 'cfg-check cfg-check--sub' },
+                            [sub, h('span', {}, extra.label || extra.key)]));
+                        if (extra.note) {
+                            list.appendChild(h('p', { class: 'cfg-note cfg-note--sub' }, extra.note));
+                        }
+                    }
+                }
+            }
+
+            const setAll = on => () => {
+                for (const cb of list.querySelectorAll('.cfg-check:not(.cfg-check--sub) input[type=checkbox]')) {
+                    if (cb.checked !== on) { cb.checked = on; cb.dispatchEvent(new Event('change')); }
+                }
+            };
+
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('events')}) Events to log`),
+                h('p', { class: 'cfg-note' }, 'Turn off anything you do not want posted. You can change these any time in config.yml.'),
+                h('div', { class: 'cfg-actions-inline' }, [
+                    h('button', { class: 'cfg-btn cfg-btn--ghost', type: 'button', onclick: setAll(true) }, 'Select all'),
+                    h('button', { class: 'cfg-btn cfg-btn--ghost', type: 'button', onclick: setAll(false) }, 'Select none'),
+                ]),
+                list,
+                actions('Back', h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Next')),
+            ]);
+        };
+
+        /* Filters sit on top of the toggles: an event that is enabled can still be
+           skipped here. Every control is built from options.json, so a fifteenth
+           filter is a data change, not a code change. */
+        renderers.filters = () => {
+            const wrap = h('div', {});
+
+            for (const def of filterDefs(state)) {
+                const box = h('div', { class: 'cfg-colgroup' }, [
+                    h('label', { class: 'cfg-label', style: 'margin-top:0' }, def.label || def.key),
+                ]);
+                if (def.note) box.appendChild(h('p', { class: 'cfg-note cfg-note--tight' }, def.note));
+
+                if (def.type === 'bool') {
+                    const cb = h('input', { type: 'checkbox', ...(state.filters[def.key] ? { checked: true } : {}) });
+                    cb.addEventListener('change', () => { state.filters[def.key] = cb.checked; });
+                    box.appendChild(h('label', { class: 'cfg-check' }, [cb, h('span', {}, 'Enabled')]));
+
+                } else if (def.type === 'number') {
+                    const input = h('input', {
+                        class: 'cfg-input cfg-input--tiny', type: 'number',
+                        min: String(def.min ?? 0), value: String(state.filters[def.key] ?? 0),
+                    });
+                    input.addEventListener('input', () => {
+                        const n = parseFloat(input.value);
+                        state.filters[def.key] = Number.isFinite(n) && n >= 0 ? n : 0;
+                    });
+                    box.appendChild(input);
+
+                } else if (def.type === 'text') {
+                    const input = h('input', {
+                        class: 'cfg-input', type: 'text',
+                        value: state.filters[def.key] || '', placeholder: def.placeholder || '',
+                    });
+                    input.addEventListener('input', () => { state.filters[def.key] = input.value.trim(); });
+                    box.appendChild(input);
+
+                } else if (def.type === 'choices') {
+                    const chosen = new Set(state.filters[def.key] || []);
+                    const grid = h('div', { class: 'cfg-choices' });
+                    (def.choices || []).forEach(c => {
+                        const cb = h('input', { type: 'checkbox', ...(chosen.has(c.value) ? { checked: true } : {}) });
+                        cb.addEventListener('change', () => {
+                            if (cb.checked) chosen.add(c.value); else chosen.delete(c.value);
+                            // Keep the declared order, not click order — the emitted YAML
+                            // should not depend on which box was ticked first.
+                            state.filters[def.key] = (def.choices || [])
+                                .map(x => x.value).filter(v => chosen.has(v));
+                        });
+                        grid.appendChild(h('label', { class: 'cfg-check cfg-check--choice', title: c.note || '' },
+                            [cb, h('span', {}, c.value)]));
+                    });
+                    // Long enum lists (33 death causes) collapse so the step stays readable.
+                    if ((def.choices || []).length > 14) {
+                        const sum = h('summary', { class: 'cfg-summary' },
+                            `${(def.choices || []).length} causes — ${chosen.size} selected`);
+                        const det = h('details', { class: 'cfg-details' }, [sum, grid]);
+                        grid.addEventListener('change', () => {
+                            sum.textContent = `${(def.choices || []).length} causes — ${chosen.size} selected`;
+                        });
+                        box.appendChild(det);
+                    } else {
+                        box.appendChild(grid);
+                    }
+
+                } else {   // list
+                    const ta = h('textarea', {
+                        class: 'cfg-input cfg-input--area', rows: '4',
+                        placeholder: def.placeholder || 'one per line',
+                    });
+                    ta.value = (state.filters[def.key] || []).join('\n');
+                    ta.addEventListener('input', () => { state.filters[def.key] = splitLines(ta.value); });
+                    box.appendChild(ta);
+                }
+
+                wrap.appendChild(box);
+            }
+
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('filters')}) Filters`),
+                h('p', { class: 'cfg-note' },
+                    'Filters apply on top of the toggles you just set — an event that is on can '
+                    + 'still be skipped here. Everything is pre-filled with the plugin\'s own '
+                    + 'defaults, so you can skip this step entirely.'),
+                wrap,
+                actions('Back', h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Next')),
+            ]);
+        };
+
+        renderers.colors = () => {
+            const wrap = h('div', {});
+            const groups = {};
+            for (const cat of (state.options.categories || [])) {
+                for (const item of (cat.items || [])) {
+                    if (!item.colorKey) continue;
+                    const [group, sub] = item.colorKey.split('.', 2);
+                    (groups[group] = groups[group] || []).push({
+                        key: item.colorKey,
+                        label: item.label || sub,
+                    });
+                }
+            }
+
+            for (const [group, rows] of Object.entries(groups)) {
+                const box = h('div', { class: 'cfg-colgroup' }, [
+                    h('h3', { class: 'cfg-sub' }, group.charAt(0).toUpperCase() + group.slice(1)),
+                ]);
+                rows.forEach(row => {
+                    const value = state.colors[row.key] || FALLBACK_COLOR;
+                    const swatch = h('input', { type: 'color', value });
+                    const text = h('input', { type: 'text', class: 'cfg-input cfg-input--tiny', value });
+                    swatch.addEventListener('input', () => {
+                        state.colors[row.key] = swatch.value;
+                        text.value = swatch.value;
+                    });
+                    text.addEventListener('input', () => {
+                        let v = text.value.trim();
+                        if (v && !v.startsWith('#')) v = '#' + v;
+                        if (/^#([0-9A-Fa-f]{3}|[0-9A-Fa-f]{6})$/.test(v)) {
+                            state.colors[row.key] = v;
+                            swatch.value = v;
+                        }
+                    });
+                    box.appendChild(h('div', { class: 'cfg-colrow' }, [
+                        h('label', { class: 'cfg-label', style: 'margin:0' }, row.label),
+                        h('div', { class: 'cfg-colinputs' }, [swatch, text]),
+                    ]));
+                });
+                wrap.appendChild(box);
+            }
+
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('colors')}) Embed colors`),
+                h('p', { class: 'cfg-note' }, 'These default to the plugin\'s own colors — adjust any you like.'),
+                wrap,
+                actions('Back', h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Next')),
+            ]);
+        };
+
+        renderers.routing = () => {
+            const wrap = h('div', {});
+            let any = false;
+
+            for (const cat of (state.options.categories || [])) {
+                const rows = (cat.items || []).filter(item => {
+                    const k = toggleKey(item.configKey);
+                    // Only offer routing for events actually being logged — a channel
+                    // for an event you turned off is a setting that does nothing.
+                    return item.webhookKey && k && state.toggles[k];
+                });
+                if (!rows.length) continue;
+                any = true;
+
+                const box = h('div', { class: 'cfg-colgroup' }, [
+                    h('h3', { class: 'cfg-sub' }, cat.label || cat.id),
+                ]);
+                rows.forEach(item => {
+                    const input = h('input', {
+                        class: 'cfg-input', type: 'url', placeholder: 'Leave empty for the main webhook',
+                        value: state.hooks[item.webhookKey] || '',
+                    });
+                    const warn = h('span', { class: 'cfg-note cfg-note--sub', style: 'display:none' },
+                        'That does not look like a Discord webhook URL.');
+                    input.addEventListener('input', () => {
+                        const v = input.value.trim();
+                        state.hooks[item.webhookKey] = v;
+                        warn.style.display = (v && !isWebhookUrl(v)) ? '' : 'none';
+                    });
+                    box.appendChild(h('div', { class: 'cfg-colrow' }, [
+                        h('label', { class: 'cfg-label', style: 'margin:0' }, item.label || item.id),
+                        input,
+                    ]));
+                    box.appendChild(warn);
+                });
+                wrap.appendChild(box);
+            }
+
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('routing')}) Per-event channels`),
+                h('p', { class: 'cfg-note' },
+                    'Optional. Send individual events to their own Discord channel — moderation '
+                    + 'to a private staff channel, chat to a public one. Anything left empty uses '
+                    + 'the main webhook from step 2.'),
+                any ? wrap : h('p', { class: 'cfg-note' }, 'No events are enabled, so there is nothing to route.'),
+                actions('Back', h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Next')),
+            ]);
+        };
+
+        /* Every string the plugin says, editable. Grouped and collapsed because
+           seventy-nine text boxes in a column is not a form anyone fills in — the
+           point is that whatever you came to change is findable, not that you read
+           all of it. */
+        renderers.messages = () => {
+            const changedCount = () =>
+                langGroups(state).reduce((n, g) =>
+                    n + g.keys.filter(k => state.lang[k.key] !== k.default).length, 0);
+
+            const summaryLine = h('p', { class: 'cfg-note' });
+            const syncSummary = () => {
+                const n = changedCount();
+                summaryLine.textContent = n === 0
+                    ? 'Nothing changed yet — the lang.yml you get will be the plugin\'s own.'
+                    : `${n} message${n === 1 ? '' : 's'} changed.`;
+            };
+
+            const wrap = h('div', {});
+
+            for (const section of langSections(state)) {
+                wrap.appendChild(h('h3', { class: 'cfg-sub' }, section.label || section.id));
+                if (section.note) wrap.appendChild(h('p', { class: 'cfg-note' }, section.note));
+
+                for (const group of langGroups(state).filter(g => g.section === section.id)) {
+                    const rows = h('div', { class: 'cfg-langrows' });
+                    const sum = h('summary', { class: 'cfg-summary' });
+                    const syncGroup = () => {
+                        const n = group.keys.filter(k => state.lang[k.key] !== k.default).length;
+                        sum.textContent = n
+                            ? `${group.label} — ${n} changed`
+                            : `${group.label} (${group.keys.length})`;
+                    };
+
+                    group.keys.forEach(k => {
+                        const short = k.key.split('.').slice(1).join('.');
+                        const input = h('input', { class: 'cfg-input cfg-input--mono', type: 'text' });
+                        input.value = state.lang[k.key] ?? k.default;
+
+                        const reset = h('button', {
+                            class: 'cfg-btn cfg-btn--ghost cfg-btn--mini', type: 'button',
+                            title: 'Restore the default wording',
+                        }, 'Reset');
+
+                        const syncRow = () => {
+                            reset.style.visibility = state.lang[k.key] === k.default ? 'hidden' : '';
+                            syncGroup();
+                            syncSummary();
+                        };
+                        input.addEventListener('input', () => {
+                            state.lang[k.key] = input.value;
+                            syncRow();
+                        });
+                        reset.addEventListener('click', () => {
+                            state.lang[k.key] = k.default;
+                            input.value = k.default;
+                            syncRow();
+                        });
+
+                        rows.appendChild(h('div', { class: 'cfg-langrow' }, [
+                            h('div', { class: 'cfg-langrow__head' }, [
+                                h('code', { class: 'cfg-langkey' }, short),
+                                reset,
+                            ]),
+                            input,
+                            k.note ? h('p', { class: 'cfg-note cfg-note--sub cfg-note--tight' }, k.note) : null,
+                        ]));
+                        syncRow();
+                    });
+
+                    syncGroup();
+                    wrap.appendChild(h('details', { class: 'cfg-details' }, [sum, rows]));
+                }
+            }
+
+            const resetAll = h('button', { class: 'cfg-btn cfg-btn--ghost', type: 'button' }, 'Reset all to defaults');
+            resetAll.addEventListener('click', () => {
+                for (const g of langGroups(state)) for (const k of g.keys) state.lang[k.key] = k.default;
+                go(state.step);           // cheapest honest way to resync 79 inputs
+            });
+
+            syncSummary();
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, `${stepNo('messages')}) Messages (lang.yml)`),
+                h('p', { class: 'cfg-note' },
+                    'Every message the plugin sends, in the second file it writes. Reword or '
+                    + 'translate anything — or leave it all alone and skip to the end.'),
+                summaryLine,
+                h('div', { class: 'cfg-actions-inline' }, [resetAll]),
+                wrap,
+                actions('Back', h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button', onclick: next }, 'Generate files')),
+            ]);
+        };
+
+        renderers.result = () => {
+            const files = [
+                { name: 'config.yml', text: buildYaml(state, ctx) },
+                { name: 'lang.yml',   text: buildLang(state) },
+            ];
+
+            const out = h('textarea', { class: 'cfg-yaml', readonly: true, wrap: 'off' });
+            const copyBtn = h('button', { class: 'cfg-btn', type: 'button' }, 'Copy');
+            const dlBtn = h('button', { class: 'cfg-btn cfg-btn--primary', type: 'button' });
+
+            let active = 0;
+            const tabs = files.map((f, i) => {
+                const b = h('button', { class: 'cfg-tab', type: 'button' }, f.name);
+                b.addEventListener('click', () => { active = i; sync(); });
+                return b;
+            });
+
+            const langUnchanged = langGroups(state)
+                .every(g => g.keys.every(k => state.lang[k.key] === k.default));
+            const langNote = h('p', { class: 'cfg-note' });
+
+            function sync() {
+                tabs.forEach((b, i) => b.classList.toggle('is-active', i === active));
+                out.value = files[active].text;
+                copyBtn.textContent = 'Copy';
+                dlBtn.textContent = `Download ${files[active].name}`;
+                langNote.style.display = files[active].name === 'lang.yml' ? '' : 'none';
+            }
+
+            langNote.textContent = langUnchanged
+                ? 'You changed nothing here, so this is identical to the lang.yml the plugin '
+                  + 'writes on first start — take it or skip it, either works.'
+                : 'Save this next to config.yml as plugins/DiscordLogger/lang.yml.';
+
+            copyBtn.addEventListener('click', async () => {
+                try {
+                    await navigator.clipboard.writeText(files[active].text);
+                    copyBtn.textContent = 'Copied';
+                    setTimeout(() => { copyBtn.textContent = 'Copy'; }, 1500);
+                } catch {
+                    out.select();
+                }
+            });
+
+            const download = (name, text) => {
+                const a = document.createElement('a');
+                a.download = name;
+                a.href = URL.createObjectURL(new Blob([text], { type: 'text/yaml' }));
+                document.body.appendChild(a);
+                a.click();
+                a.remove();
+                URL.revokeObjectURL(a.href);
+            };
+            dlBtn.addEventListener('click', () => download(files[active].name, files[active].text));
+
+            const bothBtn = h('button', { class: 'cfg-btn', type: 'button' }, 'Download both');
+            bothBtn.addEventListener('click', () => {
+                files.forEach((f, i) => setTimeout(() => download(f.name, f.text), i * 250));
+            });
+
+            const notes = [
+                h('p', { class: 'cfg-note' }, `For plugin ${ctx.pluginVersion} · config schema ${CONFIG_VERSION.toUpperCase()}. Both files go in plugins/DiscordLogger/, then restart or run /discordlogger reload.`),
+            ];
+            if (ctx.beta) {
+                notes.push(h('p', { class: 'cfg-note cfg-note--beta' },
+                    '⚠️ You generated this for a nightly build — its config format may change before it ships in a stable release.'));
+            }
+
+            sync();
+            return h('section', { class: 'cfg-panel' }, [
+                h('h2', { class: 'cfg-title' }, 'Your files'),
+                ...notes,
+                h('div', { class: 'cfg-tabs' }, tabs),
+                langNote,
+                out,
+                h('div', { class: 'cfg-actions' }, [
+                    h('button', { class: 'cfg-btn', type: 'button', onclick: back }, 'Back'),
+                    copyBtn,
+                    dlBtn,
+                    bothBtn,
+                ]),
+            ]);
+        };
+
+        go(0);
+    }
+
+    /* ---------------- webhook test ---------------- */
+
+    async function sendTest(proxyUrl, url) {
+        const payload = testPayload();
+        try {
+            if (proxyUrl) {
+                const res = await fetch(proxyUrl, {
+                    method: 'POST',
+                    headers: { 'Content-Type': 'application/json' },
+                    body: JSON.stringify({ url: withWait(url), payload }),
+                });
+                return res.ok;
+            }
+            const res = await fetch(withWait(url), {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify(payload),
+            });
+            return res.ok;
+        } catch {
+            return false;
+        }
+    }
+
+    /* ---------------- YAML builder ---------------- */
+
+    /* One filter -> the YAML line(s) that replace its {{FILTER_key}} token,
+       including the key itself. The token owns the whole entry so an empty list
+       can collapse to `key: []` instead of a dangling key with nothing under it,
+       which is a parse error waiting to happen. */
+    function renderFilter(def, value) {
+        const IND = '  ';
+        switch (def.type) {
+            case 'bool':
+                return `${IND}${def.key}: ${value ? 'true' : 'false'}`;
+            case 'number': {
+                const n = Number(value);
+                return `${IND}${def.key}: ${Number.isFinite(n) && n >= 0 ? n : 0}`;
+            }
+            case 'text':
+                return `${IND}${def.key}: "${yamlQuote(value)}"`;
+            default: {
+                const items = (Array.isArray(value) ? value : [])
+                    .map(v => String(v).trim()).filter(Boolean);
+                if (!items.length) return `${IND}${def.key}: []`;
+
+                // Carry each choice's explanation through as an inline comment, the
+                // way the hand-written config.yml does. Column-aligned so the block
+                // reads as a block rather than a ragged edge.
+                const notes = new Map((def.choices || []).map(c => [c.value, c.note]));
+                const rendered = items.map(yamlListItem);
+                // 12 is the column the hand-written config.yml uses, so an untouched
+                // list comes out byte-identical to the file the plugin ships.
+                const width = Math.max(12, ...rendered.map(s => s.length));
+                const lines = items.map((raw, i) => {
+                    const body = `${IND}  - ${rendered[i]}`;
+                    const note = notes.get(raw);
+                    return note
+                        ? `${body}${' '.repeat(width - rendered[i].length + 2)}# ${note}`
+                        : body;
+                });
+                return `${IND}${def.key}:\n${lines.join('\n')}`;
+            }
+        }
+    }
+
+    function buildLang(state) {
+        const tokens = { GENERATED_AT: stamp() };
+        for (const g of langGroups(state)) {
+            for (const k of g.keys) {
+                tokens[`LANG_${k.key}`] = yamlQuote(state.lang[k.key] ?? k.default);
+            }
+        }
+        const out = replaceTokens(state.langTemplate || '', tokens);
+        return out.replace(/\s*$/, '') + '\n';
+    }
+
+    function buildYaml(state, ctx) {
+        const generatedAt = stamp();
+        const tokens = {
+            WEBHOOK_URL: state.webhookUrl,
+            TIME_FORMAT: state.timeFmt,
+            PLAIN_NAME: yamlQuote(state.plainName),
+            NICKNAMES: state.nicknames ? 'true' : 'false',
+            PLACEHOLDERS: state.placeholders ? 'true' : 'false',
+            EMBEDS_ENABLED: state.embedsEnabled ? 'true' : 'false',
+            EMBEDS_AUTHOR: yamlQuote(state.embedAuthor),
+            GENERATED_AT: generatedAt,
+        };
+
+        for (const def of filterDefs(state)) {
+            tokens[`FILTER_${def.key}`] = renderFilter(def, state.filters[def.key]);
+        }
+
+        for (const cat of (state.options.categories || [])) {
+            for (const item of (cat.items || [])) {
+                const k = toggleKey(item.configKey);
+                if (k) tokens[`LOG_${k}`] = state.toggles[k] ? 'true' : 'false';
+                if (item.colorKey) {
+                    tokens[`COLOR_${item.colorKey}`] = state.colors[item.colorKey] || FALLBACK_COLOR;
+                }
+                for (const extra of (item.extras || [])) {
+                    tokens[`EXTRA_${extra.key}`] = state.extras[extra.key] ? 'true' : 'false';
+                }
+                if (item.webhookKey) {
+                    const v = (state.hooks[item.webhookKey] || '').trim();
+                    // Only emit a URL that would actually work; a typo would otherwise
+                    // ship a config that silently drops that event's messages.
+                    tokens[`HOOK_${item.webhookKey}`] = isWebhookUrl(v) ? yamlQuote(v) : '';
+                }
+            }
+        }
+
+        let out = replaceTokens(state.template || '', tokens);
+
+        // Any token the template asks for but we didn't supply would ship a literal
+        // "{{TOKEN}}" into a user's config — strip those lines rather than emit them.
+        out = out.split('\n').filter(line => !/{{\s*[A-Za-z0-9._-]+\s*}}/.test(line)).join('\n');
+
+        return out.replace(/\s*$/, '') + '\n';
+    }
+
+    /* ---------------- styles ---------------- */
+
+    /* The id carries the schema. It used to say v9 here, left over from the copy
+       forward — which meant that visiting the v9 generator first and then this one
+       in the same session made every rule below a no-op, silently losing the
+       sub-option indent and everything added since. */
+    function injectStyles() {
+        if (document.getElementById(`cfg-styles-${CONFIG_VERSION}`)) return;
+        const style = document.createElement('style');
+        style.id = `cfg-styles-${CONFIG_VERSION}`;
+        style.textContent = `
+    #cfg-gen .cfg-wrap { max-width: 740px; margin: 0 auto; }
+    #cfg-gen .cfg-panel { background: var(--bg); border: 1px solid var(--border); border-radius: 12px; padding: 1.35rem 1.25rem 1.25rem; margin-bottom: 1.25rem; }
+    #cfg-gen .cfg-title { margin: 0 0 .5rem; }
+    #cfg-gen .cfg-note { color: var(--muted); }
+    #cfg-gen .cfg-note--beta { color: #b45309; }
+    html[data-theme="dark"] #cfg-gen .cfg-note--beta { color: #facc15; }
+    #cfg-gen .cfg-label { font-weight: 600; margin: .4rem 0 .25rem; display: block; }
+    #cfg-gen .cfg-input { width: 100%; max-width: 100%; box-sizing: border-box; background: var(--bg); color: var(--fg); border: 1px solid var(--border); border-radius: 10px; padding: .55rem .6rem; font: inherit; }
+    #cfg-gen .cfg-input:disabled { opacity: .6; }
+    #cfg-gen select.cfg-input--select { appearance: none; background-image: linear-gradient(45deg, transparent 50%, var(--muted) 50%), linear-gradient(135deg, var(--muted) 50%, transparent 50%); background-position: calc(100% - 18px) calc(50% - 3px), calc(100% - 13px) calc(50% - 3px); background-size: 5px 5px, 5px 5px; background-repeat: no-repeat; padding-right: 2.2rem; }
+    #cfg-gen .cfg-actions { display: flex; gap: .5rem; margin-top: 1rem; flex-wrap: wrap; }
+    #cfg-gen .cfg-actions-inline { display: flex; gap: .5rem; margin-top: .5rem; flex-wrap: wrap; }
+    #cfg-gen .cfg-btn { border: 1px solid var(--border); background: color-mix(in oklab, var(--fg) 4%, transparent); border-radius: 10px; padding: .5rem .85rem; cursor: pointer; color: var(--fg); font: inherit; }
+    #cfg-gen .cfg-btn--ghost { background: transparent; }
+    #cfg-gen .cfg-btn--primary { background: color-mix(in oklab, var(--accent) 14%, transparent); border: 1px solid color-mix(in oklab, var(--accent) 30%, var(--border)); color: var(--accent-fg); }
+    #cfg-gen .cfg-btn[disabled] { opacity: .5; cursor: not-allowed; }
+    #cfg-gen .cfg-status { margin-top: .6rem; border: 1px solid var(--border); border-radius: 10px; padding: .5rem .7rem; }
+    #cfg-gen .cfg-status.is-ok { background: rgba(22,163,74,.08); border-color: rgba(22,163,74,.2); }
+    #cfg-gen .cfg-status.is-error { background: rgba(239,68,68,.08); border-color: rgba(239,68,68,.2); }
+    #cfg-gen .cfg-radio, #cfg-gen .cfg-check { display: flex; align-items: center; gap: .45rem; margin: .3rem 0; }
+    /* Sub-options sit indented under the event they belong to. Scoped and placed
+       after the base rule because that rule uses the margin shorthand, which
+       would otherwise reset the indent back to zero. */
+    #cfg-gen .cfg-check--sub { margin-left: 1.75rem; opacity: .92; }
+    #cfg-gen .cfg-note--sub { margin: .1rem 0 .5rem 1.75rem; font-size: .85em; opacity: .75; }
+    #cfg-gen .cfg-sub { margin: .9rem 0 .3rem; }
+    #cfg-gen .cfg-colgroup { border: 1px solid var(--border); border-radius: 10px; padding: .65rem .7rem; margin-bottom: .9rem; }
+    #cfg-gen .cfg-colrow { display: flex; align-items: center; justify-content: space-between; gap: .7rem; margin: .35rem 0; }
+    #cfg-gen .cfg-colinputs { display: flex; gap: .35rem; align-items: center; }
+    #cfg-gen .cfg-input--tiny { max-width: 110px; }
+    #cfg-gen .cfg-yaml { width: 100%; min-height: 360px; border: 1px solid var(--border); border-radius: 12px; background: var(--code-bg); color: var(--fg); font-family: ui-monospace, SFMono-Regular, Menlo, Monaco, Consolas, "Liberation Mono", "Courier New", monospace; padding: .6rem .7rem; box-sizing: border-box; white-space: pre; overflow: auto; resize: vertical; }
+    #cfg-gen .cfg-progress { display: flex; gap: .3rem; margin: 0 0 1rem; }
+    #cfg-gen .cfg-progress__step { flex: 1; height: 4px; border-radius: 999px; background: var(--border); }
+    #cfg-gen .cfg-progress__step.is-done { background: color-mix(in oklab, var(--accent) 55%, var(--border)); }
+    #cfg-gen .cfg-progress__step.is-current { background: var(--accent); }
+
+    /* --- filters --- */
+    #cfg-gen .cfg-note--tight { margin: .15rem 0 .5rem; font-size: .9em; }
+    #cfg-gen .cfg-input--area { font-family: ui-monospace, SFMono-Regular, Menlo, Monaco, Consolas, "Liberation Mono", "Courier New", monospace; font-size: .92em; resize: vertical; }
+    #cfg-gen .cfg-choices { display: grid; grid-template-columns: repeat(auto-fill, minmax(190px, 1fr)); gap: .1rem .6rem; }
+    #cfg-gen .cfg-check--choice { margin: .15rem 0; font-size: .93em; }
+    #cfg-gen .cfg-check--choice span { overflow-wrap: anywhere; }
+    #cfg-gen .cfg-details { border: 1px solid var(--border); border-radius: 10px; padding: .35rem .6rem; margin: .35rem 0 .9rem; }
+    #cfg-gen .cfg-summary { cursor: pointer; padding: .25rem 0; font-weight: 600; }
+    #cfg-gen .cfg-details[open] .cfg-summary { margin-bottom: .4rem; border-bottom: 1px solid var(--border); }
+
+    /* --- messages (lang.yml) --- */
+    #cfg-gen .cfg-langrow { margin: .1rem 0 .75rem; }
+    #cfg-gen .cfg-langrow__head { display: flex; align-items: center; justify-content: space-between; gap: .5rem; }
+    #cfg-gen .cfg-langkey { font-size: .85em; opacity: .8; }
+    #cfg-gen .cfg-btn--mini { padding: .1rem .45rem; font-size: .8em; }
+    #cfg-gen .cfg-input--mono { font-family: ui-monospace, SFMono-Regular, Menlo, Monaco, Consolas, "Liberation Mono", "Courier New", monospace; font-size: .9em; }
+
+    /* --- result tabs --- */
+    #cfg-gen .cfg-tabs { display: flex; gap: .35rem; margin: .6rem 0 .5rem; flex-wrap: wrap; }
+    #cfg-gen .cfg-tab { border: 1px solid var(--border); background: transparent; color: var(--muted); border-radius: 10px 10px 0 0; padding: .4rem .8rem; cursor: pointer; font: inherit; }
+    #cfg-gen .cfg-tab.is-active { color: var(--fg); background: color-mix(in oklab, var(--accent) 12%, transparent); border-color: color-mix(in oklab, var(--accent) 30%, var(--border)); }
+    `;
+        document.head.appendChild(style);
+    }
+})();
@@ -98,9 +98,14 @@ public final class DiscordLogger extends JavaPlugin {
     @Override
     public void onDisable() {
         // Queue the stop message FIRST, then drain — shutdown() flushes what's
-        // pending, so anything queued after it would be lost.
+        // pending, so anything queued after it would be lost. Held-back repeats go
+        // ahead of it, since they happened before it, and so do events captured but
+        // not yet rendered.
+        Log.drainEvents();
+        Log.flushRepeats();
         if (events != null) events.fireServerStop();
         WebhookQueue.shutdown();
+        Log.flushConsole();
         getLogger().info("Disabled.");
     }
 
@@ -131,6 +136,7 @@ public final class DiscordLogger extends JavaPlugin {
         // picks up both the toggle and a plugin installed since startup.
         Placeholders.reload(this);
         Lang.reload(this);
+        WebhookQueue.reload(this);
 
         final String url = getConfig().getString("webhook.url", "");
         final String timePattern = getConfig().getString("format.time", "[HH:mm:ss dd:MM:yyyy]");
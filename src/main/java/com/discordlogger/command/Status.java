@@ -3,6 +3,8 @@ package com.discordlogger.command;
 import com.discordlogger.custom.CustomLogs;
 import com.discordlogger.log.Log;
 import com.discordlogger.update.BuildInfo;
+import com.discordlogger.util.Threads;
+import com.discordlogger.webhook.Circuit;
 import com.discordlogger.webhook.WebhookQueue;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -11,6 +13,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * {@code /discordlogger status} — is it working, and if not, where is it stuck.
@@ -49,7 +52,14 @@ public final class Status implements Subcommand {
                   + " — console only until webhook.url is set"));
 
         line(sender, "  Queue: " + (WebhookQueue.isRunning()
-                ? ChatColor.GREEN + "running" : ChatColor.RED + "stopped"));
+                ? ChatColor.GREEN + "running" : ChatColor.RED + "stopped")
+                + ChatColor.GRAY + " (blocking I/O on "
+                + (Threads.virtual() ? "virtual threads" : "the async scheduler") + ")");
+        final long first = WebhookQueue.firstDeliveryMs();
+        if (first >= 0) {
+            line(sender, "  First delivery: " + ChatColor.WHITE + millis(first)
+                    + ChatColor.GRAY + " after start");
+        }
 
         final List<WebhookQueue.Health> health = WebhookQueue.health();
         if (health.isEmpty()) {
@@ -57,16 +67,32 @@ public final class Status implements Subcommand {
             // normal state on a quiet server -- worth saying, or it reads as a fault.
             line(sender, "  Destinations: " + ChatColor.GRAY + "none active yet");
         } else {
-            line(sender, "  Destinations: " + ChatColor.WHITE + health.size());
+            line(sender, "  Destinations: " + ChatColor.WHITE + health.size()
+                    + ChatColor.GRAY + " (" + kb(WebhookQueue.bytesQueued()) + " queued in memory)");
             for (WebhookQueue.Health h : health) {
                 final String queued = h.queued() == 0
                         ? ChatColor.GREEN + "empty"
-                        : (h.queued() > h.capacity() / 2 ? ChatColor.RED : ChatColor.YELLOW)
-                          + String.valueOf(h.queued()) + "/" + h.capacity();
+                        : (h.bytes() > h.budget() / 2 ? ChatColor.RED : ChatColor.YELLOW)
+                          + String.valueOf(h.queued()) + " queued, "
+                          + kb(h.bytes()) + " of " + kb(h.budget())
+                          + (h.oldestMs() >= 0 ? ", oldest waiting " + millis(h.oldestMs()) : "");
                 final String wait = h.waitMs() > 0
                         ? ChatColor.YELLOW + "  rate-limited for " + (h.waitMs() / 1000) + "s"
                         : "";
                 line(sender, "    " + ChatColor.GRAY + h.id() + ": " + queued + wait);
+                if (h.requests() > 0) {
+                    line(sender, "      " + ChatColor.GRAY + h.protocol() + ", "
+                            + h.requests() + " request" + (h.requests() == 1 ? "" : "s")
+                            + " over " + h.connections() + " connection"
+                            + (h.connections() == 1 ? "" : "s")
+                            + (h.firstDeliveryMs() >= 0 ? ", first delivered in " + millis(h.firstDeliveryMs()) : ""));
+                }
+                final String latency = latency(h);
+                if (latency != null) line(sender, "      " + ChatColor.GRAY + latency);
+                final String lanes = lanes(h);
+                if (!lanes.isEmpty()) line(sender, "      " + ChatColor.GRAY + lanes);
+                final String circuit = circuit(h);
+                if (circuit != null) line(sender, "      " + ChatColor.RED + circuit);
             }
         }
 
@@ -85,6 +111,68 @@ public final class Status implements Subcommand {
         return Collections.emptyList();
     }
 
+    /**
+     * Per-priority counts for a destination, only for lanes with something to say.
+     * Empty on a healthy destination: a lane only shows once it has a backlog or has
+     * had to give way, which is exactly when the split matters.
+     */
+    static String lanes(WebhookQueue.Health h) {
+        final StringBuilder sb = new StringBuilder();
+        for (WebhookQueue.Lane l : h.lanes()) {
+            if (l.queued() == 0 && l.evicted() == 0 && l.dropped() == 0) continue;
+            if (sb.length() > 0) sb.append("; ");
+            sb.append(l.priority().name().toLowerCase(Locale.ROOT)).append(": ")
+                    .append(l.queued()).append(" queued, ").append(l.sent()).append(" sent");
+            if (l.evicted() > 0) sb.append(", ").append(l.evicted()).append(" gave way");
+            if (l.dropped() > 0) sb.append(", ").append(l.dropped()).append(" dropped");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * How long a destination's messages took to arrive lately, queued to accepted, and
+     * how much of that was the request itself — p50, p95 and p99 — or null before any
+     * have. A p99 far above the round trip means they are waiting in the queue, not on
+     * Discord.
+     */
+    static String latency(WebhookQueue.Health h) {
+        if (h.delivery().p50() < 0) return null;
+        return "Delivered in " + percentiles(h.delivery())
+                + (h.roundTrip().p50() >= 0 ? ", round trip " + percentiles(h.roundTrip()) : "")
+                + " (p50/p95/p99)";
+    }
+
+    private static String percentiles(WebhookQueue.Percentiles p) {
+        return millis(p.p50()) + " / " + millis(p.p95()) + " / " + millis(p.p99());
+    }
+
+    /**
+     * What a destination's circuit breaker is doing, or null while it is closed — the
+     * normal case says nothing. Names the cause, since the fix differs: a deleted or
+     * revoked webhook needs a new URL, an unreachable one needs nothing but time.
+     */
+    static String circuit(WebhookQueue.Health h) {
+        if (h.circuit() == Circuit.CLOSED) return null;
+        final int status = h.circuitStatus();
+        final String why = status == 404 ? "webhook deleted (404), discarding its messages"
+                : status == 401 || status == 403 ? "webhook token rejected (" + status + "), discarding its messages"
+                : "Discord unreachable (last status " + status + "), holding its messages";
+        return "Paused: " + why + (h.circuit() == Circuit.PROBING
+                ? " — checking now"
+                : " — checking again in " + Math.max(1L, h.probeInMs() / 1000L) + "s");
+    }
+
+    /** Milliseconds under a second, tenths under ten, whole seconds past that: 840 ms, 2.3 s, 41 s. */
+    static String millis(long ms) {
+        if (ms < 1000L) return ms + " ms";
+        if (ms < 10_000L) return (ms / 100L) / 10.0 + " s";
+        return ms / 1000L + " s";
+    }
+
+    private static String kb(long bytes) {
+        return (bytes + 1023) / 1024 + " KB";
+    }
+
     private static void line(CommandSender to, String msg) {
         to.sendMessage(ChatColor.GRAY + msg);
     }
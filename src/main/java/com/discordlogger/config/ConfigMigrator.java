@@ -368,6 +368,7 @@ public final class ConfigMigrator {
      *   v6→v7   colours went flat → nested, moderation colours gained their group
      *   v7→v8, v8→v9                 pure additions, nothing moved
      *   v9→v10  colours moved beside their toggle; toggles gained ".enabled"
+     *   v10→v11, v11→v12             pure additions (filters.respect_vanish; delivery)
      * </pre>
      *
      * @return the path in the target schema, or null if the key is genuinely gone
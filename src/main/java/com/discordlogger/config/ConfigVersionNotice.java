@@ -28,6 +28,9 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public final class ConfigVersionNotice implements Listener {
 
+    /** The schema from which console echo is per category, off by default. */
+    private static final int CONSOLE_OPT_IN = 12;
+
     private final int installed;
     private final int shipped;
 
@@ -42,10 +45,18 @@ public final class ConfigVersionNotice implements Listener {
      */
     public static void report(JavaPlugin plugin, ConfigMigrator.Result result) {
         switch (result.status()) {
-            case UPGRADED -> plugin.getLogger().info(
-                    "config.yml was upgraded from schema v" + result.installed()
-                            + " to v" + result.shipped() + ". Your settings were carried over; "
-                            + "the previous file is saved as config.old.yml.");
+            case UPGRADED -> {
+                plugin.getLogger().info(
+                        "config.yml was upgraded from schema v" + result.installed()
+                                + " to v" + result.shipped() + ". Your settings were carried over; "
+                                + "the previous file is saved as config.old.yml.");
+                // The one default in an upgrade that changes what an admin sees rather
+                // than adding something: said once here, or the console just goes quiet.
+                if (result.installed() < CONSOLE_OPT_IN && result.shipped() >= CONSOLE_OPT_IN) {
+                    plugin.getLogger().info("Logged events are no longer copied to this console "
+                            + "unless listed in delivery.console_categories in config.yml.");
+                }
+            }
 
             case AHEAD -> {
                 ConfigVersionNotice notice =
@@ -40,6 +40,12 @@ public final class SchemaDetector {
     public static int infer(Map<String, Object> flat) {
         if (flat == null || flat.isEmpty()) return UNKNOWN;
 
+        // v12 added the delivery section, so any key in it is decisive. A config
+        // trimmed of every one reads as v11, and migrating it forward puts them back.
+        for (String key : flat.keySet()) {
+            if (key.startsWith("delivery.")) return 12;
+        }
+
         // v11 added exactly one key, so that key is the whole marker.
         if (flat.containsKey("filters.respect_vanish")) return 11;
 
@@ -1,15 +1,17 @@
 package com.discordlogger.event;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import org.bukkit.plugin.Plugin;
 
 public final class ServerStart {
+    private static final Category CATEGORY = Category.of("Server Start");
     private ServerStart() {}
 
     private static final String THUMB_SERVER = "https://discordlogger.godtiergamers.xyz/assets/icons/server.png";
 
     public static void handle(Plugin plugin) {
         // Category string drives the color key -> "server_start"
-        Log.eventWithThumb("Server Start", "Server Started", THUMB_SERVER);
+        Log.eventWithThumb(CATEGORY, "Server Started", THUMB_SERVER);
     }
 }
\ No newline at end of file
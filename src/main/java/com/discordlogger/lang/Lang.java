@@ -2,6 +2,8 @@ package com.discordlogger.lang;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import com.discordlogger.config.ConfigMigrator;
 import com.discordlogger.util.Placeholders;
 import org.bukkit.OfflinePlayer;
@@ -12,7 +14,14 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Every message the plugin shows, loaded from {@code lang.yml}.
@@ -43,18 +52,38 @@ public final class Lang {
 
     private static final MiniMessage MINI = MiniMessage.miniMessage();
 
-    private static volatile YamlConfiguration lang = new YamlConfiguration();
-
     /**
      * The shipped English, loaded from the jar at class-load rather than in
-     * {@link #reload}.
+     * {@link #reload}, and compiled.
      *
      * <p>It is a constant of the build, so it does not need a plugin instance to
      * read — and having it available unconditionally means messages still resolve if
      * reload has not run yet, or failed. Without this every message would fall back
      * to its own key until the first successful load.
      */
-    private static final YamlConfiguration BUNDLED = loadBundled();
+    private static final Map<String, Template> BUNDLED = compile(loadBundled(), Map.of());
+
+    /**
+     * Every message by its full key — {@code discord.player-join} — compiled: the
+     * user's lang.yml over the shipped English. With them, the in-game messages parsed
+     * so far that have nothing to fill, by template, plain and behind the prefix.
+     *
+     * <p>Built whole by {@link #reload} and swapped in with one write, so the parsed
+     * messages go with the text they were parsed from: a reload starts with none,
+     * and nothing parsed from the old file, or the old prefix, can outlive it. The
+     * {@code YamlConfiguration} it is read from is never seen by anything else, so
+     * chat's async threads reading a message can neither catch a half-loaded file nor
+     * walk its tree of sections to find one.
+     */
+    private record Messages(Map<String, Template> templates,
+                            Map<Template, Component> parsed,
+                            Map<Template, Component> prefixed) {
+        Messages(Map<String, Template> templates) {
+            this(templates, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private static volatile Messages messages = new Messages(BUNDLED);
 
     private static YamlConfiguration loadBundled() {
         try (InputStream in = Lang.class.getResourceAsStream("/lang.yml")) {
@@ -66,6 +95,15 @@ public final class Lang {
         }
     }
 
+    /** Every string in a file, by full key, compiled, over {@code base}. */
+    private static Map<String, Template> compile(YamlConfiguration file, Map<String, Template> base) {
+        final Map<String, Template> out = new HashMap<>(base);
+        for (String key : file.getKeys(true)) {
+            if (file.isString(key)) out.put(key, Template.compile(file.getString(key)));
+        }
+        return Map.copyOf(out);
+    }
+
     private Lang() {}
 
     /**
@@ -86,12 +124,12 @@ public final class Lang {
         // default from the jar and the user's copy from disk, whichever they are.
         ConfigMigrator.migrateIfVersionChanged(plugin, "lang.yml", file);
 
-        lang = YamlConfiguration.loadConfiguration(file);
+        messages = new Messages(compile(YamlConfiguration.loadConfiguration(file), BUNDLED));
     }
 
     /** A message for Discord: plain text, placeholders filled, no MiniMessage. */
     public static String text(String key, Object... placeholders) {
-        return fill(raw(key), placeholders);
+        return template(messages, key).render(placeholders);
     }
 
     /**
@@ -106,58 +144,106 @@ public final class Lang {
      * which is why call sites can use it unconditionally.
      */
     public static String textFor(OfflinePlayer player, String key, Object... placeholders) {
-        return Placeholders.apply(player, fill(raw(key), placeholders));
+        return Placeholders.apply(player, template(messages, key).render(placeholders));
+    }
+
+    /**
+     * Whether {@link #textFor} could change this message: PlaceholderAPI is on and the
+     * message as written has a {@code %} in it. Expansion is PlaceholderAPI's code,
+     * reading the live player, so it has to run on the server thread; a listener that
+     * logs off that thread asks this first and fills the line there only when it must.
+     */
+    public static boolean expands(String key) {
+        return Placeholders.enabled() && template(messages, key).mayExpand();
     }
 
-    /** A message for in game: MiniMessage rendered to a Component. */
+    /**
+     * A message for in game: MiniMessage rendered to a Component.
+     *
+     * <p>Most in-game messages have nothing to fill — help headers, usage, warnings —
+     * and are parsed once per reload and the Component reused, since it is immutable.
+     * The rest are parsed each time with their values given to MiniMessage as
+     * unparsed placeholders, not spliced into the markup: a value is shown as the
+     * text it is, so an error message or a player's input with a {@code <} in it
+     * cannot restyle the message around it.
+     */
     public static Component chat(String key, Object... placeholders) {
-        return MINI.deserialize(fill(raw(key), placeholders));
+        final Messages m = messages;
+        final Template t = m.templates().get(key);
+        if (t == null) return MINI.deserialize(key);
+        if (!t.hasSlots()) return m.parsed().computeIfAbsent(t, x -> MINI.deserialize(x.source()));
+        return deserialize(placeholders, t);
     }
 
     /** As {@link #chat}, with {@code chat.prefix} in front. */
     public static Component prefixed(String key, Object... placeholders) {
-        return MINI.deserialize(fill(raw("chat.prefix") + raw(key), placeholders));
+        final Messages m = messages;
+        final Template prefix = template(m, "chat.prefix");
+        final Template t = m.templates().get(key);
+        if (t == null) return MINI.deserialize(prefix.render(placeholders) + key);
+        if (!prefix.hasSlots() && !t.hasSlots()) {
+            return m.prefixed().computeIfAbsent(t, x -> MINI.deserialize(prefix.source() + x.source()));
+        }
+        return deserialize(placeholders, prefix, t);
+    }
+
+    /**
+     * Templates in a row, parsed with their placeholders as tags resolved to the
+     * values given. A placeholder with no value is shown as written, as
+     * {@link Template#render} leaves it. A template that cannot take its placeholders
+     * as tags — one inside a click action, say — is filled as text first, as before.
+     */
+    private static Component deserialize(Object[] placeholders, Template... parts) {
+        final StringBuilder markup = new StringBuilder();
+        final List<TagResolver> resolvers = new ArrayList<>();
+        final Set<String> resolved = new HashSet<>();
+        for (Template part : parts) {
+            final String tagged = part.tagged();
+            if (tagged == null) {
+                markup.append(part.render(placeholders));
+                continue;
+            }
+            markup.append(tagged);
+            for (String slot : part.slots()) {
+                if (!resolved.add(slot)) continue;
+                final int at = Template.valueAt(slot, placeholders);
+                resolvers.add(Placeholder.unparsed(Template.TAG_PREFIX + slot,
+                        at >= 0 ? String.valueOf(placeholders[at + 1]) : "{" + slot + "}"));
+            }
+        }
+        return MINI.deserialize(markup.toString(), TagResolver.resolver(resolvers));
     }
 
     /** Whether a key exists at all, for callers that vary structure rather than wording. */
     public static boolean has(String key) {
-        return lang.isString(key) || BUNDLED.isString(key);
+        return messages.templates().containsKey(key);
     }
 
-    private static String raw(String key) {
-        final String value = lang.getString(key);
-        if (value != null) return value;
-
-        // Falls back to the shipped English so a lang.yml from an older version does
-        // not leave new messages showing as raw keys.
-        final String shipped = BUNDLED.getString(key);
-        return shipped != null ? shipped : key;
+    /**
+     * A message, compiled. The user's lang.yml falls back to the shipped English key
+     * by key, so one from an older version does not leave new messages showing as raw
+     * keys; a key in neither is its own message. Placeholders are filled by
+     * {@link Template#render}, which leaves an unknown one in the message rather than
+     * blanking it, so a typo is visible in the output.
+     */
+    private static Template template(Messages m, String key) {
+        final Template t = m.templates().get(key);
+        return t != null ? t : Template.compile(key);
     }
 
     /**
-     * Replaces {@code {name}} placeholders.
-     *
-     * <p>Takes alternating name/value pairs. An unknown placeholder is left in the
-     * message rather than blanked, so a typo is visible in the output instead of
-     * producing a sentence with a hole in it.
+     * The messages directly under a section, unfilled, for callers that enumerate
+     * (e.g. death causes). Sections within it are not included.
      */
-    private static String fill(String message, Object... placeholders) {
-        if (message == null || placeholders.length == 0) return message;
-
-        String out = message;
-        for (int i = 0; i + 1 < placeholders.length; i += 2) {
-            final String token = "{" + placeholders[i] + "}";
-            final String value = String.valueOf(placeholders[i + 1]);
-            out = out.replace(token, value);
+    public static Map<String, Object> section(String path) {
+        final String prefix = path + ".";
+        final Map<String, Object> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Template> e : messages.templates().entrySet()) {
+            final String key = e.getKey();
+            if (key.startsWith(prefix) && key.indexOf('.', prefix.length()) < 0) {
+                out.put(key.substring(prefix.length()), e.getValue().source());
+            }
         }
         return out;
     }
-
-    /** Every key under a section, for callers that enumerate (e.g. death causes). */
-    public static Map<String, Object> section(String path) {
-        final var sec = lang.getConfigurationSection(path);
-        if (sec != null) return sec.getValues(false);
-        final var fallback = BUNDLED.getConfigurationSection(path);
-        return fallback != null ? fallback.getValues(false) : Map.of();
-    }
 }
@@ -0,0 +1,166 @@
+package com.discordlogger.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One message from {@code lang.yml}, split once into the text between its
+ * placeholders and the placeholders themselves.
+ *
+ * <p>Filling a message used to be one {@code String.replace} over the whole message
+ * per placeholder given, each building its {@code {token}} and a new string, on every
+ * chat line and command. The message only changes on reload, so the scanning is
+ * done then: rendering walks the pieces once, appending text and looking each
+ * placeholder up among the values given.
+ *
+ * <p>A single pass also means a value is never scanned for placeholders itself — a
+ * player named {@code {command}} is logged as that, not as the command they ran,
+ * which the chain of replaces could do when {@code command} came after
+ * {@code player}.
+ *
+ * <p>A placeholder is a name in braces with no space or brace inside it. Anything
+ * else with a brace in it is text, kept as written.
+ *
+ * <p>For in-game messages it also keeps a MiniMessage form with each placeholder
+ * written as a tag, {@code <dl_player>}, so {@link Lang#chat} can hand the values to
+ * MiniMessage as resolvers instead of splicing them into the markup.
+ */
+final class Template {
+
+    /** What a placeholder's tag is named after its name, clear of MiniMessage's own tags. */
+    static final String TAG_PREFIX = "dl_";
+
+    /** The message as written, kept for callers that want it unfilled. */
+    private final String source;
+
+    /** The text around the placeholders: always one more than {@link #slots}. */
+    private final String[] literals;
+
+    /** Placeholder names, without braces, in the order they appear. */
+    private final String[] slots;
+
+    /** The MiniMessage form, placeholders as tags; null when one cannot be a tag. */
+    private final String tagged;
+
+    private Template(String source, String[] literals, String[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.tagged = tagged(literals, slots);
+    }
+
+    /**
+     * The message with each placeholder as a tag, or null when one of them cannot be:
+     * its name is not a valid tag name, or it sits inside a tag of its own —
+     * {@code <click:run_command:'/{label} help'>} — where a tag is not read.
+     */
+    private static String tagged(String[] literals, String[] slots) {
+        final StringBuilder out = new StringBuilder();
+        boolean inTag = false;
+        for (int i = 0; i < literals.length; i++) {
+            final String text = literals[i];
+            for (int c = 0; c < text.length(); c++) {
+                final char ch = text.charAt(c);
+                if (ch == '\\') c++;
+                else if (ch == '<') inTag = true;
+                else if (ch == '>') inTag = false;
+            }
+            out.append(text);
+            if (i == slots.length) break;
+            if (inTag || !tagName(slots[i])) return null;
+            out.append('<').append(TAG_PREFIX).append(slots[i]).append('>');
+        }
+        return out.toString();
+    }
+
+    private static boolean tagName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_' || c == '-')) return false;
+        }
+        return true;
+    }
+
+    /** Splits a message into text and placeholders. */
+    static Template compile(String source) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> slots = new ArrayList<>();
+        int from = 0;
+        int open = source.indexOf('{');
+        while (open >= 0) {
+            final int close = nameEnd(source, open + 1);
+            if (close < 0) {
+                open = source.indexOf('{', open + 1);
+                continue;
+            }
+            literals.add(source.substring(from, open));
+            slots.add(source.substring(open + 1, close));
+            from = close + 1;
+            open = source.indexOf('{', from);
+        }
+        literals.add(source.substring(from));
+        return new Template(source, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /** Where the name starting at {@code start} is closed, or -1 if it is not a placeholder. */
+    private static int nameEnd(String s, int start) {
+        for (int i = start; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '}') return i > start ? i : -1;
+            if (c == '{' || Character.isWhitespace(c)) return -1;
+        }
+        return -1;
+    }
+
+    String source() {
+        return source;
+    }
+
+    /** Whether there is anything to fill. */
+    boolean hasSlots() {
+        return slots.length > 0;
+    }
+
+    /** Whether the message as written has a {@code %} in it, for PlaceholderAPI to expand. */
+    boolean mayExpand() {
+        return source.indexOf('%') >= 0;
+    }
+
+    /** Placeholder names, in order; a name used twice is here twice. */
+    String[] slots() {
+        return slots.clone();
+    }
+
+    /** The MiniMessage form, with {@code <dl_name>} for each placeholder, or null; see {@link #tagged}. */
+    String tagged() {
+        return tagged;
+    }
+
+    /**
+     * The message with its placeholders filled from alternating name/value pairs. A
+     * placeholder with no value given is left as written, so a typo shows in the
+     * output rather than leaving a hole in the sentence.
+     */
+    String render(Object... placeholders) {
+        if (slots.length == 0 || placeholders.length == 0) return source;
+        final StringBuilder out = new StringBuilder(source.length() + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            final int at = valueAt(slots[i], placeholders);
+            if (at >= 0) {
+                out.append(placeholders[at + 1]);
+            } else {
+                out.append('{').append(slots[i]).append('}');
+            }
+        }
+        return out.append(literals[slots.length]).toString();
+    }
+
+    /** The index of the name in the pairs, or -1; the first pair for a name wins. */
+    static int valueAt(String name, Object[] placeholders) {
+        for (int i = 0; i + 1 < placeholders.length; i += 2) {
+            if (name.equals(String.valueOf(placeholders[i]))) return i;
+        }
+        return -1;
+    }
+}
@@ -1,5 +1,6 @@
 package com.discordlogger.listener.moderation;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.BanList;
@@ -19,6 +20,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class Ban implements Listener {
+    private static final Category CATEGORY = Category.of("ban");
     private final JavaPlugin plugin;
     public Ban(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -98,7 +100,7 @@ public final class Ban implements Listener {
                         (durationSnap == null || durationSnap.isBlank()) ? "N/A" : durationSnap));
 
                 Log.eventFieldsWithThumb(
-                        "ban",
+                        CATEGORY,
                         "Player Banned",
                         "Server Logs",
                         fields,
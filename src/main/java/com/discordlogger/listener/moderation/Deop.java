@@ -1,5 +1,6 @@
 package com.discordlogger.listener.moderation;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.Bukkit;
@@ -18,6 +19,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class Deop implements Listener {
+    private static final Category CATEGORY = Category.of("deop");
     private final JavaPlugin plugin;
     public Deop(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -69,7 +71,7 @@ public final class Deop implements Listener {
                 fields.add(new Log.Field("Deopped by:", moderatorName));
 
                 Log.eventFieldsWithThumb(
-                        "deop",               // colour from log.moderation.deop.color
+                        CATEGORY,             // colour from log.moderation.deop.color
                         "Player Deopped",     // title to mirror your style
                         null,                 // author -> default (embeds.author)
                         fields,
@@ -1,5 +1,6 @@
 package com.discordlogger.listener.moderation;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.Bukkit;
@@ -19,6 +20,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public final class Kick implements Listener {
+    private static final Category CATEGORY = Category.of("kick");
     private final JavaPlugin plugin;
 
     /**
@@ -106,7 +108,7 @@ public final class Kick implements Listener {
                 (data.reason() == null || data.reason().isBlank()) ? "N/A" : data.reason()));
         fields.add(new Log.Field("Kicked by:", data.actorName()));
 
-        Log.eventFieldsWithThumb("kick", "Player Kicked", null, fields, thumb);
+        Log.eventFieldsWithThumb(CATEGORY, "Player Kicked", null, fields, thumb);
     }
 
     // -------------------------------------------------------------------------
@@ -1,5 +1,6 @@
 package com.discordlogger.listener.moderation;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.Bukkit;
@@ -18,6 +19,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class Op implements Listener {
+    private static final Category CATEGORY = Category.of("op");
     private final JavaPlugin plugin;
     public Op(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -69,7 +71,7 @@ public final class Op implements Listener {
                 fields.add(new Log.Field("Opped by:", moderatorName)); // shows CONSOLE when applicable
 
                 Log.eventFieldsWithThumb(
-                        "op",                 // colour from log.moderation.op.color
+                        CATEGORY,             // colour from log.moderation.op.color
                         "Player Opped",       // title per your design
                         null,                 // author -> default (embeds.author)
                         fields,
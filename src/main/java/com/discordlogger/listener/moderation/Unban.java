@@ -1,5 +1,6 @@
 package com.discordlogger.listener.moderation;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.BanList;
@@ -19,6 +20,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class Unban implements Listener {
+    private static final Category CATEGORY = Category.of("unban");
     private final JavaPlugin plugin;
     public Unban(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -74,7 +76,7 @@ public final class Unban implements Listener {
                 fields.add(new Log.Field("Unbanned by:", moderatorName));
 
                 Log.eventFieldsWithThumb(
-                        "unban",            // color key for unban
+                        CATEGORY,           // color key for unban
                         "Player Unbanned",
                         null,               // default author
                         fields,
@@ -1,5 +1,6 @@
 package com.discordlogger.listener.moderation;
 
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.Bukkit;
@@ -18,6 +19,8 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class Whitelist implements Listener {
+    private static final Category TOGGLED = Category.of("whitelist_toggle");
+    private static final Category EDITED = Category.of("whitelist");
     private final JavaPlugin plugin;
     public Whitelist(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -109,7 +112,7 @@ public final class Whitelist implements Listener {
                 fields.add(new Log.Field("Changed by:", moderatorName));
 
                 Log.eventFieldsWithThumb(
-                        "whitelist_toggle",                  // color key
+                        TOGGLED,                             // color key
                         "Whitelist Toggled",
                         null,                                 // author -> default
                         fields,
@@ -145,7 +148,7 @@ public final class Whitelist implements Listener {
                     fields.add(new Log.Field("Whitelisted by:", moderatorName));
 
                     Log.eventFieldsWithThumb(
-                            "whitelist",                      // color key
+                            EDITED,                           // color key
                             "Player Whitelisted",
                             null,
                             fields,
@@ -156,7 +159,7 @@ public final class Whitelist implements Listener {
                     fields.add(new Log.Field("Removed by:", moderatorName));
 
                     Log.eventFieldsWithThumb(
-                            "whitelist",                      // reuse same color for edits
+                            EDITED,                           // reuse same color for edits
                             "Player Removed from Whitelist",
                             null,
                             fields,
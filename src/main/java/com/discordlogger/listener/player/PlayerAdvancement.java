@@ -1,7 +1,9 @@
 package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
 import com.discordlogger.util.Names;
 import org.bukkit.NamespacedKey;
 import org.bukkit.event.EventHandler;
@@ -16,6 +18,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class PlayerAdvancement implements Listener {
+    private static final Category CATEGORY = Category.of("player_advancement");
     private final JavaPlugin plugin;
     public PlayerAdvancement(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -32,25 +35,34 @@ public final class PlayerAdvancement implements Listener {
         // and specific advancements or whole tabs can be excluded by key.
         if (Filters.blocksAdvancement(ns + ":" + path, path)) return;
 
-        final String playerName = Names.display(e.getPlayer(), plugin);
-        final String pretty = prettyTitle(path);
+        Log.submit(new Captured(System.currentTimeMillis(), e.getPlayer().getUniqueId(),
+                Names.snapshot(e.getPlayer()), ns, path));
+    }
+
+    /** An advancement, rendered off the server thread; see {@link LogEvent}. */
+    record Captured(long capturedAt, UUID actor, Names.Snapshot player, String namespace, String path)
+            implements LogEvent {
 
-        final UUID uuid = e.getPlayer().getUniqueId();
-        final String thumb = Log.playerAvatarUrl(uuid);
+        @Override public Category category() { return CATEGORY; }
 
-        List<Log.Field> fields = new ArrayList<>();
-        fields.add(new Log.Field("Player:", playerName));
-        fields.add(new Log.Field("Advancement:", pretty));
-        fields.add(new Log.Field("Key:", ns + ":" + path, true));
+        @Override
+        public void render(JavaPlugin plugin) {
+            final List<Log.Field> fields = new ArrayList<>(3);
+            fields.add(new Log.Field("Player:", Names.display(player, plugin)));
+            fields.add(new Log.Field("Advancement:", prettyTitle(path)));
+            fields.add(new Log.Field("Key:", namespace + ":" + path, true));
 
-        // Category key -> "player_advancement" (colour: log.player.advancement.color)
-        Log.eventFieldsWithThumb(
-                "player_advancement",
-                "Advancement Unlocked",
-                null,   // author -> default embeds.author
-                fields,
-                thumb
-        );
+            // Category key -> "player_advancement" (colour: log.player.advancement.color)
+            Log.eventFieldsWithThumb(
+                    category(),
+                    "Advancement Unlocked",
+                    "",
+                    null,   // author -> default embeds.author
+                    fields,
+                    Log.playerAvatarUrl(actor),
+                    capturedAt
+            );
+        }
     }
 
     private static String prettyTitle(String path) {
@@ -2,6 +2,7 @@ package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
 import com.discordlogger.lang.Lang;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import io.papermc.paper.event.player.AsyncChatEvent;
@@ -11,6 +12,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class PlayerChat implements Listener {
+    private static final Category CATEGORY = Category.of("Player Chat");
     private final JavaPlugin plugin;
 
     public PlayerChat(JavaPlugin plugin) {
@@ -28,6 +30,6 @@ public final class PlayerChat implements Listener {
 
         String text = Log.mdEscape(plain);
         String msg  = Lang.textFor(e.getPlayer(), "discord.player-chat", "player", who, "message", text);
-        Log.eventWithThumb("Player Chat", msg, Log.playerAvatarUrl(e.getPlayer().getUniqueId()));
+        Log.eventWithThumb(CATEGORY, msg, Log.playerAvatarUrl(e.getPlayer().getUniqueId()));
     }
 }
\ No newline at end of file
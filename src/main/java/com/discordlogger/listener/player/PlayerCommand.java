@@ -2,14 +2,21 @@ package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
 import com.discordlogger.lang.Lang;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
 import com.discordlogger.util.Names;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.UUID;
+
 public final class PlayerCommand implements Listener {
+    private static final Category CATEGORY = Category.of("Player Command");
+    private static final String KEY = "discord.player-command";
     private final JavaPlugin plugin;
 
     public PlayerCommand(JavaPlugin plugin) {
@@ -25,9 +32,36 @@ public final class PlayerCommand implements Listener {
         // not reach the console echo either.
         if (Filters.blocksCommand(e.getMessage())) return;
 
-        String who = Names.display(e.getPlayer(), plugin);
-        String cmd = Log.mdEscape(Log.redactWebhooks(e.getMessage())); // includes leading '/'
-        String msg = Lang.textFor(e.getPlayer(), "discord.player-command", "player", who, "command", cmd);
-        Log.eventWithThumb("Player Command", msg, Log.playerAvatarUrl(e.getPlayer().getUniqueId()));
+        // The line is filled in where it renders, off the server thread, unless lang.yml
+        // gives it PlaceholderAPI placeholders: those resolve against the player as they
+        // are, and are server-side code the render thread must not run.
+        final Player p = e.getPlayer();
+        final String cmd = e.getMessage(); // includes leading '/'
+        final String expanded = Lang.expands(KEY)
+                ? Lang.textFor(p, KEY, "player", Names.display(p, plugin), "command", escaped(cmd))
+                : null;
+        Log.submit(new Captured(System.currentTimeMillis(), p.getUniqueId(), Names.snapshot(p), cmd, expanded));
+    }
+
+    /** The command as shown: webhook URLs redacted, Markdown escaped. */
+    private static String escaped(String command) {
+        return Log.mdEscape(Log.redactWebhooks(command));
+    }
+
+    /**
+     * A command, logged off the server thread; see {@link LogEvent}. {@code expanded}
+     * is the line already filled in, when PlaceholderAPI had to run where it was typed.
+     */
+    record Captured(long capturedAt, UUID actor, Names.Snapshot player, String command,
+                    String expanded) implements LogEvent {
+
+        @Override public Category category() { return CATEGORY; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            final String message = expanded != null ? expanded
+                    : Lang.text(KEY, "player", Names.display(player, plugin), "command", escaped(command));
+            Log.eventWithThumb(category(), message, Log.playerAvatarUrl(actor), capturedAt);
+        }
     }
 }
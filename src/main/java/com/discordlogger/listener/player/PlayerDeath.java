@@ -2,6 +2,7 @@ package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
 import com.discordlogger.lang.Lang;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.Location;
@@ -23,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 public final class PlayerDeath implements Listener {
+    private static final Category CATEGORY = Category.of("Player Death");
     private final Plugin plugin;
 
     public PlayerDeath(Plugin plugin) { this.plugin = plugin; }
@@ -50,7 +52,7 @@ public final class PlayerDeath implements Listener {
         }
 
         Log.eventFieldsWithThumb(
-                "Player Death",
+                CATEGORY,
                 "Player Death",
                 Lang.textFor(victim, "discord.death.description", "player", vName),
                 null,                       // null -> use embeds.author from config
@@ -1,7 +1,9 @@
 package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
 import com.discordlogger.util.Names;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
@@ -17,6 +19,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class PlayerGamemode implements Listener {
+    private static final Category CATEGORY = Category.of("player_gamemode");
     private final JavaPlugin plugin;
     public PlayerGamemode(JavaPlugin plugin) { this.plugin = plugin; }
 
@@ -31,23 +34,33 @@ public final class PlayerGamemode implements Listener {
 
         if (from == to) return; // no-op / redundant
 
-        final String playerName = Names.display(p, plugin);
-        final UUID uuid = p.getUniqueId();
-        final String thumb = Log.playerAvatarUrl(uuid);
-
-        List<Log.Field> fields = new ArrayList<>();
-        fields.add(new Log.Field("Player:", playerName));
-        fields.add(new Log.Field("From:", pretty(from), true));
-        fields.add(new Log.Field("To:", pretty(to), true));
-
-        // category key -> "player_gamemode" (colour: log.player.gamemode.color)
-        Log.eventFieldsWithThumb(
-                "player_gamemode",
-                "Gamemode Changed",
-                null,   // author -> default embeds.author
-                fields,
-                thumb
-        );
+        Log.submit(new Captured(System.currentTimeMillis(), p.getUniqueId(), Names.snapshot(p), from, to));
+    }
+
+    /** A gamemode change, rendered off the server thread; see {@link LogEvent}. */
+    record Captured(long capturedAt, UUID actor, Names.Snapshot player, GameMode from, GameMode to)
+            implements LogEvent {
+
+        @Override public Category category() { return CATEGORY; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            final List<Log.Field> fields = new ArrayList<>(3);
+            fields.add(new Log.Field("Player:", Names.display(player, plugin)));
+            fields.add(new Log.Field("From:", pretty(from), true));
+            fields.add(new Log.Field("To:", pretty(to), true));
+
+            // category key -> "player_gamemode" (colour: log.player.gamemode.color)
+            Log.eventFieldsWithThumb(
+                    category(),
+                    "Gamemode Changed",
+                    "",
+                    null,   // author -> default embeds.author
+                    fields,
+                    Log.playerAvatarUrl(actor),
+                    capturedAt
+            );
+        }
     }
 
     private static String pretty(GameMode gm) {
@@ -2,6 +2,7 @@ package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
 import com.discordlogger.lang.Lang;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.ClientPlatform;
 import com.discordlogger.util.Names;
@@ -12,6 +13,7 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class PlayerJoin implements Listener {
+    private static final Category CATEGORY = Category.of("Player Join");
     private final JavaPlugin plugin;
 
     public PlayerJoin(JavaPlugin plugin) { this.plugin = plugin; }
@@ -36,7 +38,7 @@ public final class PlayerJoin implements Listener {
             if (plugin.getConfig().getBoolean("log.player.join.show_platform", true)
                     && ClientPlatform.isBedrock(uuid)) {
                 Log.eventFieldsWithThumb(
-                        "Player Join",
+                        CATEGORY,
                         "Player Join",
                         msg,
                         null,
@@ -44,7 +46,7 @@ public final class PlayerJoin implements Listener {
                         thumb
                 );
             } else {
-                Log.eventWithThumb("Player Join", msg, thumb);
+                Log.eventWithThumb(CATEGORY, msg, thumb);
             }
         }, 2L);
     }
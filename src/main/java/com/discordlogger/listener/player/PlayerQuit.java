@@ -2,16 +2,23 @@ package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
 import com.discordlogger.lang.Lang;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
 import com.discordlogger.util.Names;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.UUID;
+
 public final class PlayerQuit implements Listener {
+    private static final Category CATEGORY = Category.of("Player Quit");
+    private static final String KEY = "discord.player-quit";
     private final JavaPlugin plugin;
 
     public PlayerQuit(JavaPlugin plugin) { this.plugin = plugin; }
@@ -21,12 +28,33 @@ public final class PlayerQuit implements Listener {
         if (!plugin.getConfig().getBoolean("log.player.quit.enabled", true)) return;
         if (Filters.blocksPlayer(e.getPlayer()) || Filters.blocksWorld(e.getPlayer().getWorld().getName())) return;
 
-        String who = Names.display(e.getPlayer(), plugin);
-        String msg = Lang.textFor(e.getPlayer(), "discord.player-quit", "player", who);
-        Log.eventWithThumb("Player Quit", msg, Log.playerAvatarUrl(e.getPlayer().getUniqueId()));
+        // The name is read here, before its nickname is evicted below. The line is filled
+        // in where it renders, unless lang.yml gives it PlaceholderAPI placeholders: those
+        // resolve against the player as they leave, and must not run on the render thread.
+        final Player p = e.getPlayer();
+        final String expanded = Lang.expands(KEY)
+                ? Lang.textFor(p, KEY, "player", Names.display(p, plugin))
+                : null;
+        Log.submit(new Captured(System.currentTimeMillis(), p.getUniqueId(), Names.snapshot(p), expanded));
 
         // Defer cache eviction to the next tick so that other MONITOR-priority
         // listeners on the same PlayerQuitEvent can still resolve the nickname.
         Bukkit.getScheduler().runTask(plugin, () -> Names.remove(e.getPlayer()));
     }
-}
\ No newline at end of file
+
+    /**
+     * A player leaving, logged off the server thread; see {@link LogEvent}. {@code expanded}
+     * is the line already filled in, when PlaceholderAPI had to run as they left.
+     */
+    record Captured(long capturedAt, UUID actor, Names.Snapshot player, String expanded) implements LogEvent {
+
+        @Override public Category category() { return CATEGORY; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            final String message = expanded != null ? expanded
+                    : Lang.text(KEY, "player", Names.display(player, plugin));
+            Log.eventWithThumb(category(), message, Log.playerAvatarUrl(actor), capturedAt);
+        }
+    }
+}
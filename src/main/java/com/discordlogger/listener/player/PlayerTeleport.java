@@ -1,7 +1,9 @@
 package com.discordlogger.listener.player;
 
 import com.discordlogger.filter.Filters;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
 import com.discordlogger.util.Names;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -18,6 +20,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 public final class PlayerTeleport implements Listener {
+    private static final Category CATEGORY = Category.of("player_teleport");
     private final JavaPlugin plugin;
 
     public PlayerTeleport(JavaPlugin plugin) {
@@ -30,9 +33,6 @@ public final class PlayerTeleport implements Listener {
         if (Filters.blocksPlayer(e.getPlayer()) || Filters.blocksWorld(e.getPlayer().getWorld().getName())) return;
 
         final Player p = e.getPlayer();
-        final String playerName = Names.display(p, plugin);
-        final String cause = prettyCause(e.getCause());
-
         final Location from = e.getFrom();
         final Location to = e.getTo();
 
@@ -48,40 +48,61 @@ public final class PlayerTeleport implements Listener {
             }
         }
         if (Filters.blocksTeleport(e.getCause() == null ? null : e.getCause().name(), travelled)) return;
-        final String fromStr = fmtLoc(from);
-        final String toStr = fmtLoc(to);
 
-        // Distance only when same world & both locs present
-        String distStr = "N/A";
-        if (!worldChange && from != null && to != null && from.getWorld() != null) {
-            try {
-                double d = from.distance(to);
-                distStr = String.format(Locale.ROOT, "%.1f blocks", d);
-            } catch (IllegalArgumentException ignored) {
-                // different worlds or nulls
-            }
+        Log.submit(new Captured(System.currentTimeMillis(), p.getUniqueId(), Names.snapshot(p),
+                e.getCause(), Place.of(from), Place.of(to), worldChange, travelled));
+    }
+
+    /** Where a teleport began or ended, as read off its {@link Location}. */
+    record Place(String world, int x, int y, int z) {
+        static Place of(Location loc) {
+            if (loc == null) return null;
+            final World w = loc.getWorld();
+            return new Place(w == null ? null : w.getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
         }
 
-        // Player head thumbnail
-        final UUID uuid = p.getUniqueId();
-        final String thumb = Log.playerAvatarUrl(uuid);
-
-        List<Log.Field> fields = new ArrayList<>();
-        fields.add(new Log.Field("Player:", playerName));
-        fields.add(new Log.Field("From:", fromStr));
-        fields.add(new Log.Field("To:", toStr));
-        fields.add(new Log.Field("Cause:", cause, true));
-        fields.add(new Log.Field("World Change:", worldChange ? "Yes" : "No", true));
-        fields.add(new Log.Field("Distance:", distStr, true));
-
-        // Category key -> "player_teleport" (colour: log.player.teleport.color)
-        Log.eventFieldsWithThumb(
-                "player_teleport",
-                "Player Teleport",
-                null,   // author -> default embeds.author
-                fields,
-                thumb
-        );
+        @Override
+        public String toString() {
+            return (world == null ? "unknown" : world) + " (" + x + ", " + y + ", " + z + ")";
+        }
+    }
+
+    /** A teleport, rendered off the server thread; see {@link LogEvent}. */
+    record Captured(long capturedAt, UUID actor, Names.Snapshot player,
+                    PlayerTeleportEvent.TeleportCause cause, Place from, Place to,
+                    boolean worldChange, Double distance) implements LogEvent {
+
+        @Override public Category category() { return CATEGORY; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            // Category key -> "player_teleport" (colour: log.player.teleport.color)
+            Log.eventFieldsWithThumb(
+                    category(),
+                    "Player Teleport",
+                    "",
+                    null,   // author -> default embeds.author
+                    fields(Names.display(player, plugin)),
+                    Log.playerAvatarUrl(actor),
+                    capturedAt
+            );
+        }
+
+        /** The embed's fields, given the player's name as {@link Names#display} gives it. */
+        List<Log.Field> fields(String playerName) {
+            // Distance only when same world & both locs present
+            final String distStr = distance == null ? "N/A"
+                    : String.format(Locale.ROOT, "%.1f blocks", distance);
+
+            final List<Log.Field> fields = new ArrayList<>(6);
+            fields.add(new Log.Field("Player:", playerName));
+            fields.add(new Log.Field("From:", from == null ? "Unknown" : from.toString()));
+            fields.add(new Log.Field("To:", to == null ? "Unknown" : to.toString()));
+            fields.add(new Log.Field("Cause:", prettyCause(cause), true));
+            fields.add(new Log.Field("World Change:", worldChange ? "Yes" : "No", true));
+            fields.add(new Log.Field("Distance:", distStr, true));
+            return fields;
+        }
     }
 
     private static boolean worldsDifferent(Location a, Location b) {
@@ -91,13 +112,6 @@ public final class PlayerTeleport implements Listener {
         return !wa.getName().equals(wb.getName());
     }
 
-    private static String fmtLoc(Location loc) {
-        if (loc == null) return "Unknown";
-        World w = loc.getWorld();
-        String wn = (w == null) ? "unknown" : w.getName();
-        return wn + " (" + loc.getBlockX() + ", " + loc.getBlockY() + ", " + loc.getBlockZ() + ")";
-    }
-
     private static String prettyCause(PlayerTeleportEvent.TeleportCause c) {
         if (c == null) return "Unknown";
         switch (c) {
@@ -1,6 +1,7 @@
 package com.discordlogger.listener.server;
 
 import com.discordlogger.filter.Filters;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
 import com.discordlogger.util.Names;
 import org.bukkit.Location;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.Locale;
 
 public final class Explosion implements Listener {
+    private static final Category CATEGORY = Category.of("server_explosion");
     // ---------- YOUR CDN ----------
     private static final String ICON_BASE =
             "https://discordlogger.godtiergamers.xyz/assets/icons/explosions/";
@@ -86,7 +88,7 @@ public final class Explosion implements Listener {
         fields.add(new Log.Field("Players Nearby:", playersNearbyString(w, loc)));
 
         Log.eventFieldsWithThumb(
-                "server_explosion",  // colour comes from log.server.explosion.color
+                CATEGORY,  // colour comes from log.server.explosion.color
                 "Explosion",
                 null,                // author -> default embeds.author
                 fields,
@@ -125,7 +127,7 @@ public final class Explosion implements Listener {
         fields.add(new Log.Field("Players Nearby:", playersNearbyString(w, loc)));
 
         Log.eventFieldsWithThumb(
-                "server_explosion",
+                CATEGORY,
                 "Explosion",
                 null,
                 fields,
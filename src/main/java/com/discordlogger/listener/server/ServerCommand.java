@@ -2,14 +2,20 @@ package com.discordlogger.listener.server;
 
 import com.discordlogger.filter.Filters;
 import com.discordlogger.lang.Lang;
+import com.discordlogger.log.Category;
 import com.discordlogger.log.Log;
+import com.discordlogger.log.LogEvent;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.ServerCommandEvent;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.UUID;
 
 public final class ServerCommand implements Listener {
+    private static final Category CATEGORY = Category.of("Server Command");
     private final Plugin plugin;
 
     private static final String THUMB_SERVER = "https://discordlogger.godtiergamers.xyz/assets/icons/server.png";
@@ -21,9 +27,21 @@ public final class ServerCommand implements Listener {
         if (!plugin.getConfig().getBoolean("log.server.command.enabled", true)) return;
         // Console has no player, so only the command filter applies.
         if (Filters.blocksCommand(e.getCommand())) return;
-        final String who = Log.mdEscape(e.getSender().getName()); // "Server" for console
-        final String cmd = Log.mdEscape(Log.redactWebhooks("/" + e.getCommand()));
-        Log.eventWithThumb("Server Command",
-                Lang.text("discord.server-command", "sender", who, "command", cmd), THUMB_SERVER);
+        Log.submit(new Captured(System.currentTimeMillis(), e.getSender().getName(), e.getCommand()));
+    }
+
+    /** A console or command-block command, rendered off the server thread; see {@link LogEvent}. */
+    record Captured(long capturedAt, String sender, String command) implements LogEvent {
+
+        @Override public Category category() { return CATEGORY; }
+        @Override public UUID actor() { return null; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            final String who = Log.mdEscape(sender); // "Server" for console
+            final String cmd = Log.mdEscape(Log.redactWebhooks("/" + command));
+            Log.eventWithThumb(category(),
+                    Lang.text("discord.server-command", "sender", who, "command", cmd), THUMB_SERVER, capturedAt);
+        }
     }
 }
\ No newline at end of file
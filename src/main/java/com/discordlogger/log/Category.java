@@ -0,0 +1,54 @@
+package com.discordlogger.log;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A category events are logged under — {@code "Player Chat"}, {@code "ban"} — normalised
+ * once, when it is first named, rather than on every send.
+ *
+ * <p>Every send used to take the category as a string and normalise it three or four
+ * times over (trim, lower-case, four replaces) to look up its colour, route, lane and
+ * append flag, each a fresh string hashed into a map. The strings are a fixed handful
+ * spelt out in the listeners, so a listener now holds one of these instead, made once
+ * in a static field, and what the config makes of it is compiled by {@link Log#init}
+ * into a {@link Descriptor} this carries. Sending reads that descriptor: no string work
+ * and no lookups, until a reload compiles it again.
+ *
+ * <p>One instance a name, so categories compare by reference. Names that only appear
+ * at runtime — custom logs, {@code /discordlogger test} — come through
+ * {@link #of} as well, and cost one map lookup on the name as given.
+ */
+public final class Category {
+
+    private static final ConcurrentMap<String, Category> KNOWN = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String key;
+
+    /** What the config in force makes of this category; see {@link Log#describe}. */
+    volatile Descriptor compiled;
+
+    private Category(String name) {
+        this.name = name;
+        this.key = Log.normalizeKey(name);
+    }
+
+    /** The category with this name, as listeners spell it; the same instance every time. */
+    public static Category of(String name) {
+        return KNOWN.computeIfAbsent(name == null ? "" : name, Category::new);
+    }
+
+    /** The name as given, which is also what an embed without a title is titled. */
+    public String name() { return name; }
+
+    /** Normalised, as config keys are: {@code "Player Chat"} is {@code player_chat}. */
+    String key() { return key; }
+
+    /** Every category named so far, for {@link Log#init} to compile up front. */
+    static Collection<Category> known() { return KNOWN.values(); }
+
+    @Override
+    public String toString() { return name; }
+}
@@ -0,0 +1,71 @@
+package com.discordlogger.log;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Logger;
+
+/**
+ * Logged events echoed into the server console, written in batches from an async task.
+ *
+ * <p>Every event used to be written to console as it was logged, on whichever thread
+ * logged it — most often the server thread — and through every appender the server
+ * has. That is a formatted record and a write per event, for a line that mostly
+ * repeats what the server already printed: Paper logs chat and commands itself. So
+ * the echo is now asked for per category ({@code delivery.console_categories}), and
+ * what is asked for is queued here and written twice a second, off the server thread.
+ * Each line is still its own record, so it keeps its own timestamp and level prefix
+ * in the console and latest.log, and a log filter or tool reading them line by line
+ * sees what it always saw.
+ *
+ * <p>Bounded, like {@link Render}: should the queue ever fill, a line is written where
+ * it was logged, as before this existed. {@link #stop} writes what is left, so
+ * nothing queued is lost on shutdown or reload.
+ */
+final class Console {
+
+    /** Lines that may wait before they are written where they are logged instead. */
+    static final int CAPACITY = 4096;
+
+    /** Ticks between writes: half a second. */
+    private static final long PERIOD_TICKS = 10L;
+
+    private static final BlockingQueue<String> LINES = new ArrayBlockingQueue<>(CAPACITY);
+
+    private static volatile BukkitTask task;
+
+    private Console() {}
+
+    /** Starts writing queued lines to the plugin's logger, replacing any earlier task. */
+    static synchronized void start(JavaPlugin plugin) {
+        stop(plugin.getLogger());
+        task = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+                () -> flush(plugin.getLogger()), PERIOD_TICKS, PERIOD_TICKS);
+    }
+
+    /** Stops the task and writes what it had not. */
+    static synchronized void stop(Logger logger) {
+        final BukkitTask t = task;
+        task = null;
+        if (t != null) t.cancel();
+        flush(logger);
+    }
+
+    /** Queues a line; writes it now if nothing is writing the queue, or it is full. */
+    static void echo(Logger logger, String line) {
+        if (task != null && LINES.offer(line)) return;
+        logger.info(line);
+    }
+
+    /** Everything queued, a record per line. */
+    static synchronized void flush(Logger logger) {
+        if (LINES.isEmpty()) return;
+        final List<String> batch = new ArrayList<>();
+        LINES.drainTo(batch);
+        for (String line : batch) logger.info(line);
+    }
+}
@@ -0,0 +1,17 @@
+package com.discordlogger.log;
+
+import com.discordlogger.webhook.Priority;
+
+/**
+ * A {@link Category} as one {@link Log#init} compiled it: everything sending needs to
+ * know about it, resolved once. Immutable, and replaced whole when a reload changes
+ * the config it came from, which {@code generation} tells.
+ *
+ * @param webhook where it posts, or null with no webhook configured
+ * @param append  whether its lines may be added to the message before them; whether
+ *                any are is up to {@code delivery.append_window_seconds}
+ * @param console whether it is echoed to console: when it is listed, and always while
+ *                there is no webhook, since console is then the only place it can go
+ */
+record Descriptor(int generation, String webhook, int color, Priority priority,
+                  boolean append, boolean console) {}
@@ -1,17 +1,23 @@
 package com.discordlogger.log;
 
+import com.discordlogger.util.Threads;
 import com.discordlogger.webhook.DiscordWebhook;
+import com.discordlogger.webhook.EmbedField;
+import com.discordlogger.webhook.Priority;
+import com.discordlogger.webhook.WebhookQueue;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
 
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public final class Log {
@@ -20,7 +26,7 @@ public final class Log {
     // serve stale cached values to reader threads.
     private static volatile JavaPlugin plugin;
     private static volatile String webhookUrl;
-    private static volatile DateTimeFormatter timeFmt;
+    private static volatile Stamps stamps;
     private static volatile String plainServerName;
 
     // Only send to Discord when true (valid webhook)
@@ -49,6 +55,38 @@ public final class Log {
     private static volatile Map<String, String> webhookMap = new HashMap<>();
     private static volatile int defaultColor = 0x5865F2;
 
+    /**
+     * Categories from {@code delivery.append_categories}, normalised: their lines may
+     * be added to the message before them instead of each posting their own. Swapped
+     * whole on reload, like the maps above.
+     */
+    private static volatile Set<String> appendCategories = Set.of();
+
+    /**
+     * Categories from {@code delivery.console_categories}, normalised: the ones echoed
+     * to console. For any other, the console line is never even built.
+     */
+    private static volatile Set<String> consoleCategories = Set.of();
+
+    /**
+     * Which {@link #init} the maps and sets above come from. Bumped after all of them
+     * are published, so a {@link Descriptor} compiled from an older one is seen to be
+     * stale and compiled again — see {@link #describe}.
+     */
+    private static volatile int generation;
+
+    /** Lines within this long of the same one are counted, not sent, when no key says. */
+    static final long DEFAULT_REPEAT_WINDOW_MS = 10_000L;
+
+    /**
+     * Repeated lines held back, from {@code delivery.repeat_window_seconds}. Replaced
+     * on reload, after what the old one held has been sent.
+     */
+    private static volatile Repeats repeats = new Repeats(0L);
+
+    /** Sends the summaries of runs that have ended, once a second; null while off. */
+    private static volatile BukkitTask repeatSweep;
+
     private Log() {}
 
     /** Initialize runtime config. Safe to call even if url is invalid; we'll run degraded. */
@@ -72,12 +110,13 @@ public final class Log {
         // plain-text prefix (proxy/server name)
         plainServerName = plugin.getConfig().getString("format.name", "");
 
-        // timestamp format
+        // timestamp format; a pattern naming a zone cannot format a local time, and
+        // is caught here rather than by every event after
         try {
-            timeFmt = DateTimeFormatter.ofPattern(timePattern);
-        } catch (IllegalArgumentException ex) {
+            stamps = new Stamps(DateTimeFormatter.ofPattern(timePattern), ZoneId.systemDefault());
+        } catch (IllegalArgumentException | DateTimeException ex) {
             plugin.getLogger().warning("Invalid time format in config: " + timePattern + " — using [HH:mm:ss dd:MM:yyyy]");
-            timeFmt = DateTimeFormatter.ofPattern("[HH:mm:ss dd:MM:yyyy]");
+            stamps = new Stamps(DateTimeFormatter.ofPattern("[HH:mm:ss dd:MM:yyyy]"), ZoneId.systemDefault());
         }
 
         // Embeds (author configurable; footer/thumbnail hard-coded)
@@ -125,6 +164,10 @@ public final class Log {
         // above stands.
         int currentDefault = cm.getOrDefault("server", baseDefaultColor);
         Map<String, String> wm = new HashMap<>();
+        // Routed webhook -> whether every event routed to it may arrive out of order.
+        final Set<String> unordered = new HashSet<>();
+        for (String k : plugin.getConfig().getStringList("delivery.unordered_categories")) unordered.add(normalizeKey(k));
+        final Map<String, Boolean> orderFree = new HashMap<>();
         ConfigurationSection logSec = plugin.getConfig().getConfigurationSection("log");
         if (logSec != null) {
             for (String group : logSec.getKeys(false)) {
@@ -142,6 +185,8 @@ public final class Log {
                     final String hook = eventSec.getString("webhook");
                     if (hook != null && !hook.isBlank() && isValidWebhookUrl(hook.trim())) {
                         wm.put(normalizeKey(group + "_" + event), hook.trim());
+                        orderFree.merge(WebhookQueue.canonical(hook), unordered.contains(normalizeKey(group + "_" + event)),
+                                Boolean::logicalAnd);
                         if ("moderation".equals(group)) {
                             wm.put(normalizeKey(event), hook.trim());
                             if ("whitelist_edit".equals(event)) wm.put("whitelist", hook.trim());
@@ -171,6 +216,53 @@ public final class Log {
         colorMap = cm;
         webhookMap = wm;
 
+        final Set<String> ac = new HashSet<>();
+        for (String k : plugin.getConfig().getStringList("delivery.append_categories")) ac.add(normalizeKey(k));
+        appendCategories = ac;
+
+        final Set<String> cc = new HashSet<>();
+        for (String k : plugin.getConfig().getStringList("delivery.console_categories")) {
+            final String key = normalizeKey(k);
+            cc.add(key);
+            // Moderation events log under their bare name, as with routing above.
+            if (key.startsWith("moderation_")) cc.add(key.equals("moderation_whitelist_edit")
+                    ? "whitelist" : key.substring("moderation_".length()));
+        }
+        consoleCategories = cc;
+        Console.start(plugin);
+
+        // Everything a category compiles from is in place: retire what was compiled
+        // from the config before, and compile every category already named.
+        generation++;
+        for (Category c : Category.known()) describe(c);
+
+        // Only a webhook that carries nothing else can give up order. The main one
+        // carries every event not routed elsewhere, so it always keeps it — however
+        // either is spelled, so both sides are compared as the queue keys them.
+        final String main = webhookFor(null);
+        final String mainKey = main != null ? WebhookQueue.canonical(main) : null;
+        final Set<String> relaxed = new HashSet<>();
+        for (Map.Entry<String, Boolean> e : orderFree.entrySet()) {
+            if (e.getValue() && !e.getKey().equals(mainKey)) relaxed.add(e.getKey());
+        }
+        WebhookQueue.relaxOrder(relaxed);
+
+        final long repeatSeconds = plugin.getConfig().getLong("delivery.repeat_window_seconds",
+                DEFAULT_REPEAT_WINDOW_MS / 1000L);
+        // The new window goes in before the old one is drained: a line rendered in
+        // between is then held by the table that stays, not by the one being emptied.
+        final Repeats previous = repeats;
+        repeats = new Repeats(Math.max(0L, repeatSeconds) * 1000L);
+        sendHeld(previous.drain());
+        final BukkitTask sweep = repeatSweep;
+        if (sweep != null) sweep.cancel();
+        repeatSweep = repeatSeconds > 0L
+                ? plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+                        () -> sendHeld(repeats.ended(System.currentTimeMillis())), 20L, 20L)
+                : null;
+
+        Render.start(plugin);
+
         if (!wm.isEmpty()) {
             plugin.getLogger().info("Per-event webhook routing active for "
                     + wm.size() + " categor" + (wm.size() == 1 ? "y" : "ies") + ".");
@@ -210,7 +302,12 @@ public final class Log {
         }
         if (byUrl.isEmpty()) return;
 
-        pl.getServer().getScheduler().runTaskAsynchronously(pl, () -> {
+        // Connected now, so "Server Start" and the joins after it do not each wait on
+        // a handshake. Asynchronous, and well ahead of the probes below.
+        WebhookQueue.warm(byUrl.keySet());
+
+        // One blocking probe after another, so off the shared async pool where it can.
+        Threads.runBlocking(pl, "DiscordLogger-Probe", () -> {
             for (Map.Entry<String, String> e : byUrl.entrySet()) {
                 describeProbe(pl, e.getValue(), DiscordWebhook.probe(e.getKey()));
             }
@@ -279,7 +376,7 @@ public final class Log {
         return hex(s, defaultColor);
     }
 
-    private static String normalizeKey(String k) {
+    static String normalizeKey(String k) {
         if (k == null) return "";
         return k.trim()
                 .toLowerCase()
@@ -298,18 +395,59 @@ public final class Log {
         return (routed != null && !routed.isBlank()) ? routed : webhookUrl;
     }
 
+    /**
+     * What the config in force makes of a category. Compiled on first use after each
+     * {@link #init} and kept on the category, so every send after that reads one field
+     * and compares one int. Its route is resolved here, through {@link #webhookFor}, so
+     * {@code d.webhook()} at a send site is that same resolution, made once.
+     */
+    static Descriptor describe(Category c) {
+        final int gen = generation;
+        Descriptor d = c.compiled;
+        if (d == null || d.generation() != gen) {
+            final String k = c.key();
+            d = new Descriptor(gen, webhookFor(k), colorMap.getOrDefault(k, defaultColor), priorityFor(k),
+                    appendCategories.contains(k), !ready || consoleCategories.contains(k));
+            c.compiled = d;
+        }
+        return d;
+    }
+
     // NOTE: webhookUrl must be read ONLY through webhookFor above. Every send site
-    // resolves its destination that way, including the ones that always want the
-    // main webhook (they pass null). This is enforced by
+    // resolves its destination that way — an event's through the Descriptor its
+    // category compiled to, the rest directly — including the ones that always want
+    // the main webhook (they pass null). This is enforced by
     // LogRoutingTest.everySendSiteResolvesARoute, because the first version of
     // routing missed exactly one send site — the fields embed — and the result was
     // that quit routed correctly while death and gamemode silently did not.
 
-    private static int colorFor(String categoryKey) {
-        return colorMap.getOrDefault(normalizeKey(categoryKey), defaultColor);
+    /**
+     * Which lane a category queues in when its destination is backed up. Moderation
+     * first — it is the audit trail — then deaths and the server starting or stopping,
+     * then everything else. Keyed on the same normalised category as colour and route,
+     * so the bare moderation keys ("ban", "whitelist") and the qualified ones
+     * ("moderation_ban") both land in the top lane.
+     */
+    static Priority priorityFor(String categoryKey) {
+        final String k = normalizeKey(categoryKey);
+        return switch (k) {
+            case "ban", "unban", "kick", "op", "deop", "whitelist", "whitelist_toggle" -> Priority.MODERATION;
+            case "player_death", "server_start", "server_stop" -> Priority.LIFECYCLE;
+            default -> k.startsWith("moderation_") ? Priority.MODERATION : Priority.ROUTINE;
+        };
+    }
+
+    private static String ts() { return ts(System.currentTimeMillis()); }
+
+    /** {@code format.time} for a moment, in the server's zone; see {@link Stamps}. */
+    private static String ts(long at) {
+        return stamps.local(at);
     }
 
-    private static String ts() { return LocalDateTime.now().format(timeFmt); }
+    /** ISO-8601 in UTC for a moment, as embeds carry it. */
+    private static String iso(long at) {
+        return stamps.iso(at);
+    }
 
     /** Server name segment for plain-text messages. */
     private static String nameSegment() {
@@ -360,56 +498,140 @@ public final class Log {
         }
     }
 
+    /**
+     * Logs an event captured by a listener, rendering it on the render thread rather
+     * than the caller's — see {@link LogEvent}. Before {@link #init} it is rendered
+     * here.
+     *
+     * <p>Events a listener renders itself come this way too, already text, through
+     * {@link #eventWithThumb(Category, String, String)} and
+     * {@link #eventFieldsWithThumb(Category, String, String, String, List, String)}.
+     * One queue with one thread behind it is what keeps every event in the order it
+     * happened: a {@code /kill} ahead of the death it caused, a quit ahead of the kick
+     * that ended it, whichever listener logged each.
+     */
+    public static void submit(LogEvent event) {
+        Render.offer(event, plugin);
+    }
+
+    /**
+     * Renders every event still waiting to be, before anything logged after this.
+     * Called on shutdown ahead of the server-stop message.
+     */
+    public static void drainEvents() {
+        Render.drain(plugin);
+    }
+
+    /** Writes every console line still queued, and stops queueing them. Shutdown only. */
+    public static void flushConsole() {
+        if (plugin != null) Console.stop(plugin.getLogger());
+    }
+
     /** Event logger (no thumbnail). Sends EMBED if enabled, else plain line. */
     public static void event(String category, String message) {
-        final String now = ts();
-        if (embedsEnabledFlag) {
-            plugin.getLogger().info("[" + now + "] " + category + ": " + message);
-            if (ready) {
-                DiscordWebhook.sendEmbed(
-                        plugin, webhookFor(category),
-                        /*title*/        category,
-                        /*description*/  message,
-                        /*color*/        colorFor(category),
-                        /*timestampIso*/ OffsetDateTime.now(ZoneOffset.UTC).toString(),
-                        /*author*/       embedAuthorName,
-                        /*footer*/       embedFooterText,
-                        /*thumbnailUrl*/ null
-                );
-            }
-        } else {
-            String line = "`" + now + "`" + nameSegment() + " - **" + category + "**: " + message;
-            plugin.getLogger().info(line);
-            if (ready) DiscordWebhook.sendAsync(plugin, webhookFor(category), line);
-        }
+        event(Category.of(category), message);
     }
 
-    /** Event logger with player thumbnail (avatar). */
+    /** As above, for a category held by the caller. */
+    public static void event(Category category, String message) {
+        eventWithThumb(category, message, null);
+    }
+
+    /**
+     * Event logger with player thumbnail (avatar). A line repeating the same one
+     * moments ago is still echoed to console, if its category is, but held back from
+     * Discord and counted — see {@link Repeats}.
+     */
     public static void eventWithThumb(String category, String message, String thumbnailUrl) {
-        final String now = ts();
+        eventWithThumb(Category.of(category), message, thumbnailUrl);
+    }
+
+    /**
+     * As above, for a category held by the caller: what listeners with a fixed one use.
+     * Queued behind the events captured before it; see {@link #submit}.
+     */
+    public static void eventWithThumb(Category category, String message, String thumbnailUrl) {
+        submit(new Line(category, message, thumbnailUrl, System.currentTimeMillis()));
+    }
+
+    /** An event its listener rendered to one line, waiting its turn; see {@link #submit}. */
+    private record Line(Category category, String message, String thumbnailUrl, long capturedAt)
+            implements LogEvent {
+
+        @Override public UUID actor() { return null; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            eventWithThumb(category, message, thumbnailUrl, capturedAt);
+        }
+    }
+
+    /** As above, for an event that happened at {@code at}, epoch millis: a {@link LogEvent}. */
+    public static void eventWithThumb(Category category, String message, String thumbnailUrl, long at) {
+        final Descriptor d = describe(category);
+        if (d.console()) {
+            final String now = ts(at);
+            Console.echo(plugin.getLogger(), embedsEnabledFlag
+                    ? "[" + now + "] " + category.name() + ": " + message
+                    : line(now, category.name(), message));
+        }
+        if (!ready) return;
+
+        final Repeats.Verdict v = repeats.admit(category.name(), message, thumbnailUrl, at);
+        if (v.ended() != null) sendHeld(List.of(v.ended()));
+        if (v.send()) send(category, d, message, thumbnailUrl, at);
+    }
+
+    /** One event to Discord, as an embed if enabled, else as a plain line. */
+    private static void send(Category category, Descriptor d, String message, String thumbnailUrl, long at) {
         if (embedsEnabledFlag) {
-            plugin.getLogger().info("[" + now + "] " + category + ": " + message);
-            if (ready) {
-                DiscordWebhook.sendEmbed(
-                        plugin, webhookFor(category),
-                        /*title*/        category,
-                        /*description*/  message,
-                        /*color*/        colorFor(category),
-                        /*timestampIso*/ OffsetDateTime.now(ZoneOffset.UTC).toString(),
-                        /*author*/       embedAuthorName,
-                        /*footer*/       embedFooterText,
-                        /*thumbnailUrl*/ thumbnailUrl
-                );
-            }
+            DiscordWebhook.sendEmbed(
+                    plugin, d.webhook(),
+                    /*title*/        category.name(),
+                    /*description*/  message,
+                    /*color*/        d.color(),
+                    /*timestampIso*/ iso(at),
+                    /*author*/       embedAuthorName,
+                    /*footer*/       embedFooterText,
+                    /*thumbnailUrl*/ thumbnailUrl,
+                    /*priority*/     d.priority(),
+                    /*append*/       d.append()
+            );
         } else {
-            String line = "`" + now + "`" + nameSegment() + " - **" + category + "**: " + message;
-            plugin.getLogger().info(line);
-            if (ready) DiscordWebhook.sendAsync(plugin, webhookFor(category), line);
+            DiscordWebhook.sendAsync(plugin, d.webhook(), line(ts(at), category.name(), message),
+                    d.priority(), d.append());
         }
     }
 
+    private static String line(String now, String category, String message) {
+        return "`" + now + "`" + nameSegment() + " - **" + category + "**: " + message;
+    }
+
+    /** The one line that stands for a run of held-back repeats, for each run given. */
+    private static void sendHeld(List<Repeats.Held> held) {
+        if (held.isEmpty() || !ready) return;
+        final long now = System.currentTimeMillis();
+        for (Repeats.Held h : held) {
+            final Category c = Category.of(h.category());
+            send(c, describe(c), repeated(h.message(), h.count()), h.thumbnailUrl(), now);
+        }
+    }
+
+    static String repeated(String message, int count) {
+        return message + " (repeated ×" + count + ")";
+    }
+
+    /**
+     * Sends what is being held back now, without waiting for the window to close.
+     * Called before the queue drains on shutdown, as a reload does for the window it
+     * replaces, so a run of repeats is never simply forgotten.
+     */
+    public static void flushRepeats() {
+        sendHeld(repeats.drain());
+    }
+
     /** Simple value object for embed fields. */
-    public static final class Field {
+    public static final class Field implements EmbedField {
         public final String name;
         public final String value;
         public final boolean inline;
@@ -422,6 +644,11 @@ public final class Log {
             this.value = value;
             this.inline = inline;
         }
+
+        @Override public String name() { return name; }
+        /** A missing value shows as "N/A" rather than as nothing. */
+        @Override public String value() { return value == null || value.isBlank() ? "N/A" : value; }
+        @Override public boolean inline() { return inline; }
     }
 
     /**
@@ -437,6 +664,15 @@ public final class Log {
                                             String author,
                                             List<Field> fields,
                                             String thumbnailUrl) {
+        eventFieldsWithThumb(Category.of(category), title, "", author, fields, thumbnailUrl);
+    }
+
+    /** As above, for a category held by the caller. */
+    public static void eventFieldsWithThumb(Category category,
+                                            String title,
+                                            String author,
+                                            List<Field> fields,
+                                            String thumbnailUrl) {
         eventFieldsWithThumb(category, title, "", author, fields, thumbnailUrl);
     }
 
@@ -453,46 +689,84 @@ public final class Log {
                                             String author,
                                             List<Field> fields,
                                             String thumbnailUrl) {
-        final String now = ts();
-
-        // Console echo
-        StringBuilder console = new StringBuilder();
-        console.append("[").append(now).append("] ")
-                .append(title == null || title.isBlank() ? category : title).append(": ");
-        if (description != null && !description.isBlank()) {
-            console.append(description);
-            if (fields != null && !fields.isEmpty()) console.append(" | ");
+        eventFieldsWithThumb(Category.of(category), title, description, author, fields, thumbnailUrl);
+    }
+
+    /** As above, for a category held by the caller. Queued like a line; see {@link #submit}. */
+    public static void eventFieldsWithThumb(Category category,
+                                            String title,
+                                            String description,
+                                            String author,
+                                            List<Field> fields,
+                                            String thumbnailUrl) {
+        submit(new Fields(category, title, description, author,
+                fields == null ? null : List.copyOf(fields), thumbnailUrl, System.currentTimeMillis()));
+    }
+
+    /** An event its listener rendered to fields, waiting its turn; see {@link #submit}. */
+    private record Fields(Category category, String title, String description, String author,
+                          List<Field> fields, String thumbnailUrl, long capturedAt) implements LogEvent {
+
+        @Override public UUID actor() { return null; }
+
+        @Override
+        public void render(JavaPlugin plugin) {
+            eventFieldsWithThumb(category, title, description, author, fields, thumbnailUrl, capturedAt);
         }
-        if (fields != null && !fields.isEmpty()) {
-            boolean first = true;
-            for (Field f : fields) {
-                if (!first) console.append(" | ");
-                console.append(f.name).append(" ")
-                        .append(f.value == null || f.value.isBlank() ? "N/A" : mdEscape(f.value));
-                first = false;
+    }
+
+    /**
+     * As above, for an event that happened at {@code at}, epoch millis: a {@link LogEvent}.
+     * Never held back as a repeat; see {@link Repeats} for why.
+     */
+    public static void eventFieldsWithThumb(Category category,
+                                            String title,
+                                            String description,
+                                            String author,
+                                            List<Field> fields,
+                                            String thumbnailUrl,
+                                            long at) {
+        final Descriptor d = describe(category);
+        if (d.console()) {
+            StringBuilder console = new StringBuilder();
+            console.append("[").append(ts(at)).append("] ")
+                    .append(title == null || title.isBlank() ? category.name() : title).append(": ");
+            if (description != null && !description.isBlank()) {
+                console.append(description);
+                if (fields != null && !fields.isEmpty()) console.append(" | ");
+            }
+            if (fields != null && !fields.isEmpty()) {
+                boolean first = true;
+                for (Field f : fields) {
+                    if (!first) console.append(" | ");
+                    console.append(f.name).append(" ")
+                            .append(f.value == null || f.value.isBlank() ? "N/A" : mdEscape(f.value));
+                    first = false;
+                }
             }
+            Console.echo(plugin.getLogger(), console.toString());
         }
-        plugin.getLogger().info(console.toString());
 
         if (!ready) return;
 
         if (embedsEnabledFlag) {
             DiscordWebhook.sendEmbedWithFields(
                     plugin,
-                    webhookFor(category),
-                    /*title*/        (title == null || title.isBlank()) ? category : title,
+                    d.webhook(),
+                    /*title*/        (title == null || title.isBlank()) ? category.name() : title,
                     /*description*/  description == null ? "" : description,
-                    /*color*/        colorFor(category),
-                    /*timestampIso*/ OffsetDateTime.now(ZoneOffset.UTC).toString(),
+                    /*color*/        d.color(),
+                    /*timestampIso*/ iso(at),
                     /*author*/       (author == null || author.isBlank()) ? embedAuthorName : author,
                     /*footer*/       embedFooterText,
                     /*thumbnailUrl*/ thumbnailUrl,
-                    /*fields*/       toFieldsArray(fields)
+                    /*fields*/       fields == null ? List.<Field>of() : fields,
+                    /*priority*/     d.priority()
             );
         } else {
             StringBuilder sb = new StringBuilder();
-            sb.append("`").append(now).append("`").append(nameSegment())
-                    .append(" - **").append(category).append("**: ")
+            sb.append("`").append(ts(at)).append("`").append(nameSegment())
+                    .append(" - **").append(category.name()).append("**: ")
                     .append(title == null || title.isBlank() ? "" : title + "\n");
             if (description != null && !description.isBlank()) {
                 sb.append(description).append("\n");
@@ -504,7 +778,7 @@ public final class Log {
                             .append("\n");
                 }
             }
-            DiscordWebhook.sendAsync(plugin, webhookFor(category), sb.toString().trim());
+            DiscordWebhook.sendAsync(plugin, d.webhook(), sb.toString().trim(), d.priority());
         }
     }
 
@@ -513,18 +787,6 @@ public final class Log {
         eventFieldsWithThumb(category, title, embedAuthorName, fields, null);
     }
 
-    private static String[][] toFieldsArray(List<Field> fields) {
-        if (fields == null || fields.isEmpty()) return new String[0][0];
-        String[][] arr = new String[fields.size()][3];
-        for (int i = 0; i < fields.size(); i++) {
-            Field f = fields.get(i);
-            arr[i][0] = f.name;
-            arr[i][1] = (f.value == null || f.value.isBlank()) ? "N/A" : f.value;
-            arr[i][2] = Boolean.toString(f.inline);
-        }
-        return arr;
-    }
-
     /** Build the player avatar URL from UUID (mc-heads.net). */
     public static String playerAvatarUrl(UUID uuid) {
         if (uuid == null) return null;
@@ -0,0 +1,44 @@
+package com.discordlogger.log;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.UUID;
+
+/**
+ * One event as a listener saw it: what happened, to whom, when, and the raw values
+ * that describe it — not yet text.
+ *
+ * <p>Listeners used to render their own line on the thread the event fired on, which
+ * for most of them is the server thread: display names, lang lookups, coordinates
+ * through {@code String.format}, Markdown escaping and a list of fields, then
+ * {@link Log} built the console line and the JSON body there too. None of that needs
+ * the server thread. Only reading the event does — a {@code Player} or a
+ * {@code Location} may not be touched from anywhere else — so that is all a listener
+ * now does there: read what it needs into one of these and hand it to
+ * {@link Log#submit}. The rest happens in {@link #render}, on the render thread.
+ *
+ * <p>Each listener's event is a record of its own, so what is captured is typed and
+ * fixed: Strings, numbers and UUIDs read off the event, never the Bukkit objects
+ * themselves. A message that expands PlaceholderAPI placeholders is filled in at
+ * capture and kept as text, since expansions read the live player and are server code.
+ */
+public interface LogEvent {
+
+    /** The category it logs under; a constant of the listener that captured it. */
+    Category category();
+
+    /** Who it is about, or null when that is the console or the server. */
+    UUID actor();
+
+    /**
+     * When it happened; epoch millis. What its timestamps say, however long it waited
+     * to be rendered.
+     */
+    long capturedAt();
+
+    /**
+     * Turns the captured values into a message and logs it, stamped with
+     * {@link #capturedAt}. On the render thread, so it must not touch the world.
+     */
+    void render(JavaPlugin plugin);
+}
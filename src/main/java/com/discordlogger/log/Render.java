@@ -0,0 +1,167 @@
+package com.discordlogger.log;
+
+import com.discordlogger.metrics.Counters;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * The thread {@link LogEvent}s are rendered on, and the queue in front of it.
+ *
+ * <p>One thread: rendering is a few microseconds of string work an event, so one
+ * keeps up with any server, and every event — captured as a {@link LogEvent} or
+ * rendered by its listener — reaches the webhook queue in the order it was offered.
+ * A platform thread, not a virtual one — it never waits on anything but its queue.
+ *
+ * <p>The queue is bounded. Should it ever fill, capture waits a moment for room and
+ * then drops the event, counted and warned about once — rendering it where it was
+ * captured would put it ahead of every event still queued, and a {@code /kill} would
+ * be logged after the death it caused.
+ */
+final class Render {
+
+    /** Events that may wait to be rendered before capture has to wait for room. */
+    static final int CAPACITY = 4096;
+
+    /**
+     * How long capture waits for room in a full queue before dropping the event. Short:
+     * it is the server thread waiting, and a queue this far behind is not catching up.
+     */
+    private static final long OFFER_WAIT_MS = 5L;
+
+    /** How long {@link #drain} waits for the thread to finish what it holds. */
+    private static final long DRAIN_MS = 2_000L;
+
+    private static final BlockingQueue<LogEvent> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+
+    /** Offered and not yet rendered, including the one being rendered. */
+    private static final AtomicInteger PENDING = new AtomicInteger();
+
+    private static volatile Thread thread;
+
+    /** Warn once per spell of a full queue rather than once per dropped event. */
+    private static volatile boolean warnedFull;
+
+    private Render() {}
+
+    /** Starts the thread, unless it is running. */
+    static synchronized void start(JavaPlugin plugin) {
+        if (thread != null && thread.isAlive()) return;
+        final Thread t = new Thread(() -> loop(plugin), "DiscordLogger-Render");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+    }
+
+    /**
+     * Hands an event to the thread. With the thread not running — before start, or after
+     * {@link #drain} — it is rendered here, once drain has rendered what it left.
+     */
+    static void offer(LogEvent event, JavaPlugin plugin) {
+        if (thread == null) {
+            synchronized (Render.class) {
+                render(event, plugin);
+            }
+            return;
+        }
+        PENDING.incrementAndGet();
+        boolean queued = QUEUE.offer(event);
+        if (!queued) {
+            try {
+                queued = QUEUE.offer(event, OFFER_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (queued) {
+            warnedFull = false;
+            // Drain ran between the check above and the offer; nobody else will render it.
+            if (thread == null) renderLeft(plugin);
+            return;
+        }
+        PENDING.decrementAndGet();
+        Counters.dropped();
+        if (!warnedFull) {
+            warnedFull = true;
+            log(plugin).warning("Events are arriving faster than they can be rendered ("
+                    + CAPACITY + " waiting) — dropping " + event.category().name()
+                    + " and any more until it catches up.");
+        }
+    }
+
+    /**
+     * Waits, briefly, for everything offered to be rendered, and stops the thread. Run
+     * before the server-stop message, which must not overtake the events before it.
+     * Whatever the thread has not reached by then is rendered here — once it has
+     * finished the event in its hands, so no two events are ever rendered at once.
+     */
+    static synchronized void drain(JavaPlugin plugin) {
+        final long deadline = System.currentTimeMillis() + DRAIN_MS;
+        while (PENDING.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        final Thread t = thread;
+        thread = null;
+        if (t != null) {
+            t.interrupt();
+            try {
+                t.join(DRAIN_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        renderLeft(plugin);
+    }
+
+    /** Renders, here, whatever is still queued once the thread has stopped. */
+    private static synchronized void renderLeft(JavaPlugin plugin) {
+        LogEvent left;
+        while ((left = QUEUE.poll()) != null) {
+            try {
+                render(left, plugin);
+            } finally {
+                PENDING.decrementAndGet();
+            }
+        }
+    }
+
+    private static void loop(JavaPlugin plugin) {
+        while (thread == Thread.currentThread()) {
+            final LogEvent event;
+            try {
+                event = QUEUE.poll(1L, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event == null) continue;
+            try {
+                render(event, plugin);
+            } finally {
+                PENDING.decrementAndGet();
+            }
+        }
+    }
+
+    private static void render(LogEvent event, JavaPlugin plugin) {
+        try {
+            event.render(plugin);
+        } catch (RuntimeException e) {
+            // One event that will not render must not take the thread down with it.
+            log(plugin).warning("Could not log " + event.category().name() + ": " + e);
+        }
+    }
+
+    private static Logger log(JavaPlugin plugin) {
+        return plugin != null ? plugin.getLogger() : Logger.getLogger("DiscordLogger");
+    }
+}
@@ -0,0 +1,144 @@
+package com.discordlogger.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back a line that repeats one sent moments ago, and counts it instead.
+ *
+ * <p>A spam bot, or a player holding down a macro, sends the same chat line or
+ * command dozens of times in a row, and each copy used to cost a request from a
+ * webhook budget of about thirty a minute — the ban that followed waited behind
+ * them. Now the first copy goes as usual; copies of it within the window of the one
+ * before are counted rather than sent; and once they stop, one line follows saying
+ * how many there were: {@code (repeated ×37)}.
+ *
+ * <p>A line is identified by a 64-bit hash of its category and text, and the text
+ * already names the player, so one player's spam never hides another's line. The
+ * table is a fixed array of primitives, probed in place: a line that is not a repeat
+ * — nearly all of them — costs a hash and a few array reads, and allocates nothing.
+ * Only a line that does repeat keeps anything beyond its hash, since that is the
+ * one whose text the summary needs. Full, the table gives up its stalest entry, and
+ * if that entry was holding repeats their summary goes out then rather than never.
+ *
+ * <p>Only one-line events pass through here. An event sent as fields — a teleport,
+ * a death, an explosion — carries coordinates or details that differ from one to
+ * the next, so it is almost never an exact copy, and a summary would have to keep
+ * every field rather than one line of text; those are always sent.
+ *
+ * <p>Called from the render thread as each line goes out and from the async timer
+ * that sweeps up ended runs, hence the lock; it is held for a handful of array reads.
+ */
+final class Repeats {
+
+    /** A run of repeats that has ended: the line, and how many copies were held back. */
+    record Held(String category, String message, String thumbnailUrl, int count) {}
+
+    /**
+     * What to do with a line: send it or not, and first the summary of a run that
+     * ended to make way for it, if one did. The common answers are constants, so the
+     * common case allocates nothing.
+     */
+    record Verdict(boolean send, Held ended) {
+        static final Verdict SEND = new Verdict(true, null);
+        static final Verdict HOLD = new Verdict(false, null);
+    }
+
+    /** Slots in the table. A power of two; more distinct lines than this in one window is no longer spam. */
+    static final int CAPACITY = 1024;
+
+    /** Slots looked at from a line's home slot before the stalest is given up. */
+    private static final int PROBE = 8;
+
+    private final long[] keys = new long[CAPACITY];
+    private final long[] last = new long[CAPACITY];
+    private final int[] counts = new int[CAPACITY];
+    private final Held[] lines = new Held[CAPACITY];
+
+    private final long windowMs;
+
+    Repeats(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Whether a line goes out now: not when it repeats the same line seen within the
+     * window, in which case it is counted. A run that ended, or had to make room, comes
+     * back with the verdict, to go out first.
+     */
+    synchronized Verdict admit(String category, String message, String thumbnailUrl, long now) {
+        if (windowMs <= 0L) return Verdict.SEND;
+        final long key = hash(category, message);
+        final int home = (int) (key ^ (key >>> 32)) & (CAPACITY - 1);
+
+        int free = -1;
+        int stalest = home;
+        for (int i = 0; i < PROBE; i++) {
+            final int slot = (home + i) & (CAPACITY - 1);
+            if (keys[slot] == key) {
+                if (now - last[slot] < windowMs) {
+                    last[slot] = now;
+                    if (counts[slot]++ == 0) lines[slot] = new Held(category, message, thumbnailUrl, 0);
+                    return Verdict.HOLD;
+                }
+                // The run before has ended; this starts the next one in its place.
+                return take(slot, key, now);
+            }
+            if (keys[slot] == 0L || now - last[slot] >= windowMs) {
+                if (free < 0) free = slot;
+            } else if (last[slot] < last[stalest]) {
+                stalest = slot;
+            }
+        }
+        return take(free >= 0 ? free : stalest, key, now);
+    }
+
+    /** Every run the window has closed on since the last call. */
+    synchronized List<Held> ended(long now) {
+        List<Held> out = null;
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            if (counts[slot] == 0 || now - last[slot] < windowMs) continue;
+            if (out == null) out = new ArrayList<>();
+            out.add(end(slot));
+            keys[slot] = 0L;
+        }
+        return out == null ? List.of() : out;
+    }
+
+    /** Every run still open, ended now — for shutdown, so none is lost. */
+    synchronized List<Held> drain() {
+        return ended(Long.MAX_VALUE);
+    }
+
+    /** Gives the slot to a line sent now, ending whatever run held it. */
+    private Verdict take(int slot, long key, long now) {
+        final Held ended = counts[slot] > 0 ? end(slot) : null;
+        keys[slot] = key;
+        last[slot] = now;
+        return ended == null ? Verdict.SEND : new Verdict(true, ended);
+    }
+
+    /** The run in a slot that holds repeats, counted, and the slot emptied of it. */
+    private Held end(int slot) {
+        final Held h = lines[slot];
+        final Held out = new Held(h.category(), h.message(), h.thumbnailUrl(), counts[slot]);
+        counts[slot] = 0;
+        lines[slot] = null;
+        return out;
+    }
+
+    /** FNV-1a over the category, a separator and the text. Never 0, which marks a free slot. */
+    static long hash(String category, String message) {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, category);
+        h = (h ^ 0xFFFF) * 0x100000001b3L;
+        h = mix(h, message);
+        return h == 0L ? 1L : h;
+    }
+
+    private static long mix(long h, String s) {
+        if (s == null) return h;
+        for (int i = 0; i < s.length(); i++) h = (h ^ s.charAt(i)) * 0x100000001b3L;
+        return h;
+    }
+}
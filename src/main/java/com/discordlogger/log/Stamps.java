@@ -0,0 +1,79 @@
+package com.discordlogger.log;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * An event's two timestamps — {@code format.time} in the server's zone, and ISO-8601
+ * in UTC for an embed — rendered once a second rather than once an event.
+ *
+ * <p>Both used to be a full formatter pass per event, each allocating a date, a time,
+ * a builder and the string, for a value that changes once a second while a busy
+ * server logs dozens of events in it. Now the second an event falls in is looked up
+ * first: the same second as the last event, and both strings are reused; a new one,
+ * and they are rendered once and kept. Only the milliseconds the ISO stamp carries are
+ * added per event, by hand.
+ *
+ * <p>Safe on any thread without a lock: the cached second is one immutable record in a
+ * volatile field, replaced whole. Two threads crossing into a new second together may
+ * both render it, and either result is right.
+ *
+ * <p>A {@code format.time} that shows fractions of a second ({@code SSS}) cannot be
+ * cached by the second, so it is formatted per event as before. Which kind a pattern
+ * is is found by formatting the start and the end of one second and comparing them,
+ * rather than by parsing the pattern.
+ */
+final class Stamps {
+
+    /** One second, as both stamps render it; the ISO one without its fraction. */
+    private record Second(long epochSecond, String local, String isoSeconds) {}
+
+    private static final DateTimeFormatter ISO_SECONDS = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+
+    private final DateTimeFormatter fmt;
+    private final ZoneId zone;
+
+    /** Whether {@link #fmt} shows anything finer than a second, and so cannot be cached. */
+    private final boolean subSecond;
+
+    private volatile Second last = new Second(Long.MIN_VALUE, "", "");
+
+    Stamps(DateTimeFormatter fmt, ZoneId zone) {
+        this.fmt = fmt;
+        this.zone = zone;
+        final LocalDateTime probe = LocalDateTime.of(2000, 1, 1, 0, 0);
+        this.subSecond = !fmt.format(probe).equals(fmt.format(probe.plusNanos(999_999_999L)));
+    }
+
+    /** {@code format.time} for a moment, epoch millis, in the server's zone. */
+    String local(long at) {
+        if (subSecond) return LocalDateTime.ofInstant(Instant.ofEpochMilli(at), zone).format(fmt);
+        return second(at).local();
+    }
+
+    /** ISO-8601 in UTC for a moment, to the millisecond: {@code 2026-07-31T06:00:00.123Z}. */
+    String iso(long at) {
+        final int ms = (int) Math.floorMod(at, 1000L);
+        final String s = second(at).isoSeconds();
+        final StringBuilder out = new StringBuilder(s.length() + 5).append(s).append('.');
+        if (ms < 100) out.append('0');
+        if (ms < 10) out.append('0');
+        return out.append(ms).append('Z').toString();
+    }
+
+    private Second second(long at) {
+        final long epochSecond = Math.floorDiv(at, 1000L);
+        Second s = last;
+        if (s.epochSecond() != epochSecond) {
+            final Instant instant = Instant.ofEpochSecond(epochSecond);
+            s = new Second(epochSecond,
+                    subSecond ? "" : LocalDateTime.ofInstant(instant, zone).format(fmt),
+                    ISO_SECONDS.format(LocalDateTime.ofInstant(instant, ZoneOffset.UTC)));
+            last = s;
+        }
+        return s;
+    }
+}
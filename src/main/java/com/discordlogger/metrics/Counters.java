@@ -10,7 +10,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * <p>Kept separate from {@link PluginMetrics} so the send path has one cheap,
  * dependency-free thing to call. Every counter is an {@link AtomicLong} because
- * {@code WebhookQueue} increments them from its worker threads while bStats reads
+ * {@code WebhookQueue} increments them from its delivery thread while bStats reads
  * them from its own scheduler.
  *
  * <h2>Deltas, not totals</h2>
@@ -45,6 +45,14 @@ public final class Counters {
 
     public static void sent()        { SENT.incrementAndGet(); }
     public static void failed()      { FAILED.incrementAndGet(); }
+
+    /**
+     * As above, for a request that carried several messages. Counts stay in messages,
+     * not requests — "how busy is this server" should not halve because the queue
+     * learned to batch.
+     */
+    public static void sent(int messages)   { SENT.addAndGet(messages); }
+    public static void failed(int messages) { FAILED.addAndGet(messages); }
     public static void dropped()     { DROPPED.incrementAndGet(); }
     public static void rateLimited() { RATE_LIMITED.incrementAndGet(); }
     public static void notFound()    { NOT_FOUND.incrementAndGet(); }
@@ -1,6 +1,7 @@
 package com.discordlogger.update;
 
 import com.discordlogger.log.Log;
+import com.discordlogger.util.Threads;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.net.URI;
@@ -49,7 +50,7 @@ public final class UpdateChecker {
             return;
         }
 
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+        Threads.runBlocking(plugin, "DiscordLogger-UpdateCheck", () -> {
             // Deliberately NOT try-with-resources. HttpClient only became
             // AutoCloseable in Java 21, and this is compiled for 17 so the plugin
             // loads on servers older than 1.20.5. Nothing leaks: one request is
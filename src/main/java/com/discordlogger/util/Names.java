@@ -17,17 +17,34 @@ public final class Names {
 
     private static final Map<UUID, String> NICK_CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * What {@link #display} needs from a player, read where the player may be read: the
+     * real name, the display name as it stands, and the nickname cached for them. Taken
+     * by a listener so the rest can happen off the server thread, by which time the
+     * player may have left and their cache entry gone with them.
+     */
+    public record Snapshot(String real, String displayName, String cachedNick) {}
+
+    public static Snapshot snapshot(Player player) {
+        return new Snapshot(player.getName(), player.getDisplayName(), NICK_CACHE.get(player.getUniqueId()));
+    }
+
     /** Returns either "Nick (Real)" if nicknames enabled & present, else "Real". */
     public static String display(Player player, JavaPlugin plugin) {
         if (player == null) return "";
-        final String real = player.getName();
+        return display(snapshot(player), plugin);
+    }
+
+    /** As {@link #display(Player, JavaPlugin)}, from a {@link Snapshot}; safe on any thread. */
+    public static String display(Snapshot player, JavaPlugin plugin) {
+        final String real = player.real();
         final boolean useNick = plugin.getConfig().getBoolean("format.nicknames", true);
         if (!useNick) return real;
 
         // Prefer live displayName, else cached nick
-        String nick = cleanDisplay(player.getDisplayName());
+        String nick = cleanDisplay(player.displayName());
         if (nick == null || nick.isBlank() || nick.equalsIgnoreCase(real)) {
-            nick = NICK_CACHE.get(player.getUniqueId());
+            nick = player.cachedNick();
         }
 
         if (nick == null || nick.isBlank() || nick.equalsIgnoreCase(real)) {
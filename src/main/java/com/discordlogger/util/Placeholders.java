@@ -46,6 +46,11 @@ public final class Placeholders {
         }
     }
 
+    /** Whether {@link #apply} expands anything at all: installed, and not turned off. */
+    public static boolean enabled() {
+        return enabled;
+    }
+
     /** True when PlaceholderAPI is installed and its API can be reached. */
     public static boolean available() {
         if (resolved) return setPlaceholders != null;
@@ -0,0 +1,97 @@
+package com.discordlogger.util;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for work that spends its life waiting on the network: virtual ones where
+ * the JVM has them, ordinary ones where it does not.
+ *
+ * <h2>Why not the Bukkit async scheduler</h2>
+ *
+ * <p>Webhook probes and the update check are a blocking HTTP call each — up to ten
+ * seconds apiece against an unreachable host — and the probes run one after another
+ * for every routed destination. On the scheduler's async pool that is a pool thread
+ * held for the whole time, and the pool is shared with every other plugin on the
+ * server. A virtual thread costs nothing while it waits.
+ *
+ * <h2>Why reflection, not a multi-release JAR</h2>
+ *
+ * <p>The plugin is compiled for Java 17 so it loads on servers older than 1.20.5,
+ * and most servers now run 21. A {@code META-INF/versions/21} class would need a
+ * second compiler pass and a second copy of this logic to keep in step. What differs
+ * between the two is one call — {@code Thread.ofVirtual()} — so that call is looked
+ * up once at class load, and everything past it is a plain {@link ThreadFactory}
+ * either way. On 17 the lookup fails and the caller gets the path it had before.
+ */
+public final class Threads {
+
+    /**
+     * {@code Thread.ofVirtual()}, and the two builder methods used on what it returns,
+     * or null before Java 21. Resolved once; a lookup per thread would cost more than
+     * the thread.
+     */
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+
+    static {
+        Method ofVirtual = null, name = null, factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ReflectiveOperationException | LinkageError before21) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private Threads() {}
+
+    /** Whether this JVM has virtual threads, and so whether they are being used. */
+    public static boolean virtual() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Threads named {@code prefix1}, {@code prefix2}, ... for blocking I/O. Virtual on
+     * Java 21 and later — always daemon, which is what blocking I/O threads here want
+     * anyway: none of them may hold the JVM open. Platform daemon threads otherwise.
+     */
+    public static ThreadFactory blocking(String prefix) {
+        if (OF_VIRTUAL != null) {
+            try {
+                final Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 1L);
+                return (ThreadFactory) FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Present but unusable (a preview flag, a locked-down JVM): fall through.
+            }
+        }
+        final AtomicInteger n = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, prefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Runs a blocking task off the main thread: on a virtual thread where there are
+     * any, and on the Bukkit async scheduler otherwise, as before. The task must not
+     * touch the Bukkit API either way.
+     */
+    public static void runBlocking(JavaPlugin plugin, String name, Runnable task) {
+        if (virtual()) {
+            blocking(name + "-").newThread(task).start();
+        } else {
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.discordlogger.webhook;
+
+/**
+ * One destination's circuit breaker: when to stop sending to a webhook, and when to
+ * look again.
+ *
+ * <p>A deleted webhook used to cost a request per queued message — each one posted,
+ * each one refused with 404, each one a warning in the console. A backlog of a
+ * thousand was a thousand pointless round trips and a console nobody could read.
+ * Discord being unreachable was quieter but no cheaper: every message ran its full
+ * set of retries against a host that was not answering.
+ *
+ * <p>So the breaker opens on either, and while it is open nothing is sent. Instead
+ * the webhook is checked with {@link DiscordWebhook#probe} — a GET, which posts
+ * nothing — on a doubling backoff, and the breaker closes the first time it answers.
+ * What happens to messages meanwhile depends on why it opened, and is the queue's
+ * call, not this class's: see {@link #revoked}.
+ *
+ * <p>Touched only on the delivery thread, but read by {@code /discordlogger status},
+ * hence the volatiles.
+ */
+final class Breaker {
+
+    /** Failed attempts in a row, short of a refusal, before Discord counts as unreachable. */
+    static final int FAILURE_RUN = 6;
+
+    /** The first check after opening. Short: most outages are a blip. */
+    static final long FIRST_PROBE_MS = 5_000L;
+
+    /** The longest between checks. Long enough to cost nothing, short enough to notice a fix. */
+    static final long MAX_PROBE_MS = 30L * 60_000L;
+
+    /** Discord's error code for a webhook that does not exist; see {@link #isRefusal(int, int)}. */
+    static final int UNKNOWN_WEBHOOK = 10015;
+
+    private volatile Circuit state = Circuit.CLOSED;
+
+    /** The status that opened it, or the last a check returned; 0 when closed. */
+    private volatile int status;
+
+    /** When the next check is due; epoch millis. */
+    private volatile long probeAt;
+
+    private int failures;
+    private long backoff;
+
+    Circuit state()  { return state; }
+    int status()     { return status; }
+    long probeAt()   { return probeAt; }
+
+    /**
+     * Whether the webhook itself was refused: deleted (404, unknown webhook), or its
+     * token revoked or regenerated (401, 403). Such a URL will never work again as it
+     * stands, so its messages are discarded without sending rather than kept — holding
+     * them would only fill the disk for a webhook that is not coming back. Anything
+     * else that opens the breaker is Discord being unreachable, and messages wait for it.
+     */
+    boolean revoked() {
+        return state != Circuit.CLOSED && isRefusal(status);
+    }
+
+    /** Whether a check's answer refuses the webhook. A GET has no thread to be missing. */
+    static boolean isRefusal(int status) {
+        return status == 404 || status == 401 || status == 403;
+    }
+
+    /**
+     * Whether the answer to a send refuses the webhook. A 404 only does when Discord
+     * says the webhook is unknown: a destination with {@code ?thread_id=} is also
+     * answered 404 when only its thread is gone or archived, and discarding its backlog
+     * for that would throw away what a moderator unarchiving the thread brings back.
+     */
+    static boolean isRefusal(int status, int code) {
+        return status == 404 ? code == UNKNOWN_WEBHOOK : isRefusal(status);
+    }
+
+    /**
+     * Learns from the response to a send.
+     *
+     * @param code Discord's error code from the response body, 0 if none
+     * @return true if this opened the breaker
+     */
+    boolean record(int status, int code, long now) {
+        if (status == 200 || status == 204) {
+            failures = 0;
+            return false;
+        }
+        if (isRefusal(status, code)) return open(status, now);
+        if (status == 0 || status >= 500) {
+            return ++failures >= FAILURE_RUN && open(status, now);
+        }
+        return false;   // 429, 400, a missing thread and the like say nothing about the webhook
+    }
+
+    /** A check is being made. */
+    void probing() {
+        state = Circuit.PROBING;
+    }
+
+    /**
+     * Learns from a check.
+     *
+     * @return true if the webhook answered and the breaker is closed again
+     */
+    boolean probed(int status, long now) {
+        if (status == 200) {
+            state = Circuit.CLOSED;
+            this.status = 0;
+            failures = 0;
+            return true;
+        }
+        // A refusal is worth remembering over whatever opened it; "could not ask" is not.
+        if (isRefusal(status) || !isRefusal(this.status)) this.status = status;
+        state = Circuit.OPEN;
+        backoff = Math.min(backoff * 2L, MAX_PROBE_MS);
+        probeAt = now + backoff;
+        return false;
+    }
+
+    private boolean open(int status, long now) {
+        if (state != Circuit.CLOSED) return false;
+        state = Circuit.OPEN;
+        this.status = status;
+        failures = 0;
+        backoff = FIRST_PROBE_MS;
+        probeAt = now + backoff;
+        return true;
+    }
+}
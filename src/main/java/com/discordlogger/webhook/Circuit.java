@@ -0,0 +1,17 @@
+package com.discordlogger.webhook;
+
+/**
+ * Whether a destination is being sent to, as {@code /discordlogger status} shows it.
+ *
+ * <p>A webhook that has been deleted, or that Discord cannot be reached for, is taken
+ * out of service rather than sent to message after message, and checked on a backoff
+ * until it answers again. See {@link WebhookQueue}.
+ */
+public enum Circuit {
+    /** Sending normally. */
+    CLOSED,
+    /** Not sending; waiting for the next check. */
+    OPEN,
+    /** A check is on its way to Discord. */
+    PROBING
+}
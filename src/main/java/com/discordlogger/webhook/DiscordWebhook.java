@@ -8,6 +8,12 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class DiscordWebhook {
     private DiscordWebhook() {}
@@ -18,14 +24,69 @@ public final class DiscordWebhook {
 
     private static final Duration TIMEOUT = Duration.ofSeconds(10);
 
+    /** Discord's ceiling on embeds in one webhook message. */
+    static final int MAX_EMBEDS = 10;
+
+    /** Discord's ceiling on the combined text of every embed in one message. */
+    static final int MAX_EMBED_CHARS = 6000;
+
+    /** Discord's ceiling on a plain-text message. */
+    static final int MAX_CONTENT_CHARS = 2000;
+
+    /**
+     * One client for every send, for the life of the plugin.
+     *
+     * <p>It used to be built per message, which threw away the connection pool each
+     * time: every delivery paid DNS, TCP and a TLS handshake to discord.com before it
+     * could say anything, and that — not Discord's rate limit — was what capped a
+     * busy destination at a few sends a second. A long-lived client keeps the
+     * connection open between sends and negotiates HTTP/2, where every webhook on
+     * the same host shares one multiplexed connection.
+     *
+     * <p>Volatile and replaced whole: {@link #closeClient} runs on the thread that
+     * disables the plugin while a send may still be reading it.
+     */
+    private static volatile HttpClient client;
+
+    /**
+     * The client's own threads. Supplied rather than left to the JDK default because
+     * HttpClient has no {@code close()} before Java 21 — shutting this down is the only
+     * way to release them, and a plugin reload must not leave them behind.
+     */
+    private static volatile ExecutorService clientThreads;
+
+    /**
+     * Set by {@link #closeClient} and cleared by {@link #openClient}. In between, a
+     * send fails rather than building a client: a breaker check or warm-up that lands
+     * after shutdown would otherwise leave a client and its threads that nothing is
+     * left to close.
+     */
+    private static volatile boolean closed;
+
+    private static final int HTTP_THREADS = 2;
+
     // -------------------------------------------------------------------------
     // Public API
     // -------------------------------------------------------------------------
 
     /** Plain content message. */
     public static void sendAsync(JavaPlugin plugin, String url, String content) {
+        sendAsync(plugin, url, content, Priority.ROUTINE);
+    }
+
+    /** Plain content message, in the given priority lane. */
+    public static void sendAsync(JavaPlugin plugin, String url, String content, Priority priority) {
+        sendAsync(plugin, url, content, priority, false);
+    }
+
+    /**
+     * Plain content message, in the given priority lane; with {@code append}, it may
+     * be added to the message before it rather than posted on its own.
+     */
+    public static void sendAsync(JavaPlugin plugin, String url, String content, Priority priority,
+                                 boolean append) {
         if (url == null || url.isBlank()) return;
-        dispatch(plugin, url, "{\"content\":\"" + escape(content) + "\"}");
+        for (String part : Limits.lines(content)) dispatch(plugin, url, Message.content(part, priority, append));
     }
 
     /** Single-embed message (no fields). */
@@ -34,37 +95,73 @@ public final class DiscordWebhook {
             String title, String description, int color,
             String isoTimestampUtc, String authorName, String footerText, String thumbnailUrl
     ) {
-        if (url == null || url.isBlank()) return;
+        sendEmbed(plugin, url, title, description, color, isoTimestampUtc,
+                authorName, footerText, thumbnailUrl, Priority.ROUTINE);
+    }
 
-        StringBuilder sb = new StringBuilder(1024);
-        sb.append("{\"embeds\":[{");
+    /** Single-embed message (no fields), in the given priority lane. */
+    public static void sendEmbed(
+            JavaPlugin plugin, String url,
+            String title, String description, int color,
+            String isoTimestampUtc, String authorName, String footerText, String thumbnailUrl,
+            Priority priority
+    ) {
+        sendEmbed(plugin, url, title, description, color, isoTimestampUtc,
+                authorName, footerText, thumbnailUrl, priority, false);
+    }
+
+    /**
+     * Single-embed message (no fields), in the given priority lane; with
+     * {@code append}, it may be added to the message before it rather than posted on
+     * its own.
+     */
+    public static void sendEmbed(
+            JavaPlugin plugin, String url,
+            String title, String description, int color,
+            String isoTimestampUtc, String authorName, String footerText, String thumbnailUrl,
+            Priority priority, boolean append
+    ) {
+        if (url == null || url.isBlank()) return;
 
-        if (title != null && !title.isBlank()) {
-            sb.append("\"title\":\"").append(escape(title)).append("\",");
+        for (Limits.Piece p : Limits.fit(title, description == null ? "" : description,
+                authorName, footerText, null)) {
+            dispatch(plugin, url, Message.embed(buildSimpleObject(p, color,
+                    p.tail() ? isoTimestampUtc : null, p.head() ? thumbnailUrl : null), p.chars(),
+                    priority, append));
         }
-        sb.append("\"description\":\"").append(escape(description == null ? "" : description)).append("\",");
-        sb.append("\"color\":").append(color).append(",");
+    }
+
+    /**
+     * The embed object for {@link #sendEmbed}. Unlike {@link #buildEmbedObject} it
+     * leaves out blank parts rather than only absent ones, and always has a description.
+     */
+    private static byte[] buildSimpleObject(Limits.Piece p, int color,
+                                            String isoTimestampUtc, String thumbnailUrl) {
+        final String title = p.title();
+        final String authorName = p.author();
+        final String footerText = p.footer();
+
+        final JsonWriter w = JsonWriter.get().raw('{');
+
+        if (title != null && !title.isBlank()) w.field("title", title);
+        w.field("description", p.description() == null ? "" : p.description());
+        w.raw("\"color\":").number(color).raw(',');
 
         if (authorName != null && !authorName.isBlank()) {
-            sb.append("\"author\":{\"name\":\"").append(escape(authorName)).append("\"},");
+            w.raw("\"author\":{\"name\":").string(authorName).raw("},");
         }
         if (footerText != null && !footerText.isBlank()) {
-            sb.append("\"footer\":{")
-                    .append("\"text\":\"").append(escape(footerText)).append("\",")
-                    .append("\"icon_url\":\"").append(escape(FOOTER_ICON_URL)).append("\"")
-                    .append("},");
+            w.raw("\"footer\":{").field("text", footerText)
+                    .raw("\"icon_url\":").string(FOOTER_ICON_URL).raw("},");
         }
         if (thumbnailUrl != null && !thumbnailUrl.isBlank()) {
-            sb.append("\"thumbnail\":{\"url\":\"").append(escape(thumbnailUrl)).append("\"},");
+            w.raw("\"thumbnail\":{\"url\":").string(thumbnailUrl).raw("},");
         }
         if (isoTimestampUtc != null && !isoTimestampUtc.isBlank()) {
-            sb.append("\"timestamp\":\"").append(escape(isoTimestampUtc)).append("\",");
+            w.field("timestamp", isoTimestampUtc);
         }
 
-        trimComma(sb);
-        sb.append("}]}");
-
-        dispatch(plugin, url, sb.toString());
+        return w.trimComma().raw('}').toBytes();
     }
 
     /** Embed with structured fields. */
@@ -79,16 +176,58 @@ public final class DiscordWebhook {
             String footer,
             String thumbnailUrl,
             String[][] fields // each element: { name, value, inline("true"/"false") }
+    ) {
+        sendEmbedWithFields(plugin, url, title, description, color, timestampIso,
+                author, footer, thumbnailUrl, fields, Priority.ROUTINE);
+    }
+
+    /** Embed with structured fields, in the given priority lane. */
+    public static void sendEmbedWithFields(
+            JavaPlugin plugin,
+            String url,
+            String title,
+            String description,
+            int color,
+            String timestampIso,
+            String author,
+            String footer,
+            String thumbnailUrl,
+            String[][] fields,
+            Priority priority
+    ) {
+        sendEmbedWithFields(plugin, url, title, description, color, timestampIso,
+                author, footer, thumbnailUrl, Limits.fields(fields), priority);
+    }
+
+    /**
+     * Embed with structured fields, in the given priority lane. The fields are written
+     * into the request as they are, with no copy unless one is too long for Discord.
+     */
+    public static void sendEmbedWithFields(
+            JavaPlugin plugin,
+            String url,
+            String title,
+            String description,
+            int color,
+            String timestampIso,
+            String author,
+            String footer,
+            String thumbnailUrl,
+            List<? extends EmbedField> fields,
+            Priority priority
     ) {
         if (url == null || url.isBlank()) return;
-        dispatch(plugin, url, buildEmbedJson(title, description, color, timestampIso,
-                author, footer, thumbnailUrl, fields));
+        for (Message m : embeds(title, description, color, timestampIso,
+                author, footer, thumbnailUrl, fields, priority)) {
+            dispatch(plugin, url, m);
+        }
     }
 
     /**
-     * Builds the embed payload. Split from the send so the exact JSON that reaches
-     * Discord can be asserted in a test — it is the user-visible output format, and
-     * a silent change to it is not something a compiler catches.
+     * Builds the payload for one embed. Split from the send so the exact JSON that
+     * reaches Discord can be asserted in a test — it is the user-visible output format,
+     * and a silent change to it is not something a compiler catches. An embed too
+     * large for Discord comes back as every embed it was split into.
      */
     static String buildEmbedJson(
             String title,
@@ -100,53 +239,96 @@ public final class DiscordWebhook {
             String thumbnailUrl,
             String[][] fields
     ) {
-        StringBuilder sb = new StringBuilder(512);
-        sb.append("{\"content\":null,\"embeds\":[{");
+        return new String(payload(embeds(title, description, color, timestampIso,
+                author, footer, thumbnailUrl, Limits.fields(fields), Priority.ROUTINE)), StandardCharsets.UTF_8);
+    }
 
-        if (title != null)       sb.append("\"title\":\"").append(escape(title)).append("\",");
-        if (description != null) sb.append("\"description\":\"").append(escape(description)).append("\",");
-        sb.append("\"color\":").append(color).append(",");
+    /** One embed as queued messages: one, or several if {@link Limits} had to split it. */
+    static List<Message> embeds(String title, String description, int color, String timestampIso,
+                                String author, String footer, String thumbnailUrl,
+                                List<? extends EmbedField> fields, Priority priority) {
+        final List<Limits.Piece> pieces = Limits.fit(title, description, author, footer, fields);
+        final List<Message> out = new ArrayList<>(pieces.size());
+        for (Limits.Piece p : pieces) {
+            out.add(Message.embed(buildEmbedObject(p.title(), p.description(), color,
+                    p.tail() ? timestampIso : null, p.author(), p.footer(),
+                    p.head() ? thumbnailUrl : null, p.fields()), p.chars(), priority));
+        }
+        return out;
+    }
+
+    /** The embed object alone, {@code {...}}, ready to sit in an {@code embeds} array. */
+    private static byte[] buildEmbedObject(
+            String title,
+            String description,
+            int color,
+            String timestampIso,
+            String author,
+            String footer,
+            String thumbnailUrl,
+            List<EmbedField> fields
+    ) {
+        final JsonWriter w = JsonWriter.get().raw('{');
+
+        if (title != null)       w.field("title", title);
+        if (description != null) w.field("description", description);
+        w.raw("\"color\":").number(color).raw(',');
 
         if (author != null) {
-            sb.append("\"author\":{")
-                    .append("\"name\":\"").append(escape(author)).append("\"")
-                    .append("},");
+            w.raw("\"author\":{\"name\":").string(author).raw("},");
         }
         if (footer != null) {
-            sb.append("\"footer\":{")
-                    .append("\"text\":\"").append(escape(footer)).append("\",")
-                    .append("\"icon_url\":\"").append(escape(FOOTER_ICON_URL)).append("\"")
-                    .append("},");
+            w.raw("\"footer\":{").field("text", footer)
+                    .raw("\"icon_url\":").string(FOOTER_ICON_URL).raw("},");
         }
         if (thumbnailUrl != null) {
-            sb.append("\"thumbnail\":{")
-                    .append("\"url\":\"").append(escape(thumbnailUrl)).append("\"")
-                    .append("},");
+            w.raw("\"thumbnail\":{\"url\":").string(thumbnailUrl).raw("},");
         }
         if (timestampIso != null) {
-            sb.append("\"timestamp\":\"").append(escape(timestampIso)).append("\",");
+            w.field("timestamp", timestampIso);
+        }
+
+        if (fields != null && !fields.isEmpty()) {
+            w.raw("\"fields\":[");
+            for (int i = 0; i < fields.size(); i++) {
+                final EmbedField f = fields.get(i);
+                if (i > 0) w.raw(',');
+                w.raw('{').field("name", f.name()).field("value", f.value())
+                        .raw("\"inline\":").bool(f.inline()).raw('}');
+            }
+            w.raw("],");
         }
 
-        if (fields != null && fields.length > 0) {
-            sb.append("\"fields\":[");
-            boolean first = true;
-            for (String[] f : fields) {
-                if (f == null || f.length < 3) continue;
-                if (!first) sb.append(',');
-                first = false;
-                boolean inline = "true".equalsIgnoreCase(f[2]);
-                sb.append('{')
-                        .append("\"name\":\"").append(escape(f[0])).append("\",")
-                        .append("\"value\":\"").append(escape(f[1])).append("\",")
-                        .append("\"inline\":").append(inline)
-                        .append('}');
+        return w.trimComma().raw('}').toBytes();
+    }
+
+    /**
+     * Wraps one or more queued messages into a single request body, in queue order,
+     * as the UTF-8 that is sent. Each message is already bytes, so this only copies:
+     * an embed as it is, a line escaped on the way.
+     *
+     * <p>Plain-text lines become one message, one per line. Embeds share the envelope.
+     * A batch is all one kind, and the caller is responsible for keeping it within
+     * Discord's limits, since only it knows what is still waiting.
+     */
+    static byte[] payload(List<Message> batch) {
+        final JsonWriter w = JsonWriter.get();
+        final Message first = batch.get(0);
+        if (first.kind == Message.Kind.CONTENT) {
+            w.raw("{\"content\":\"");
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) w.raw("\\n");
+                w.chars(batch.get(i).body);
             }
-            sb.append("],");
+            return w.raw("\"}").toBytes();
         }
 
-        trimComma(sb);
-        sb.append("}],\"attachments\":[]}");
-        return sb.toString();
+        w.raw("{\"content\":null,\"embeds\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) w.raw(',');
+            w.raw(batch.get(i).body);
+        }
+        return w.raw("],\"attachments\":[]}").toBytes();
     }
 
     // -------------------------------------------------------------------------
@@ -158,16 +340,26 @@ public final class DiscordWebhook {
      * against Discord's rate limits and retries transient failures. Returns
      * immediately — callers may be on the main thread and must never wait on HTTP.
      */
-    private static void dispatch(JavaPlugin plugin, String url, String json) {
-        WebhookQueue.enqueue(url, json);
+    private static void dispatch(JavaPlugin plugin, String url, Message message) {
+        WebhookQueue.enqueue(url, message);
     }
 
-    /** Outcome of a single POST, with the rate-limit facts the queue needs to pace itself. */
+    /**
+     * Outcome of a single POST or edit, with the rate-limit facts the queue needs to
+     * pace itself.
+     */
     public record Response(
             int status,
             Long remaining,      // X-RateLimit-Remaining, null if absent
+            Long limit,          // X-RateLimit-Limit: requests per window, null if absent
             Long resetAfterMs,   // X-RateLimit-Reset-After, null if absent
-            long retryAfterMs    // from Retry-After on a 429; 0 otherwise
+            long retryAfterMs,   // from Retry-After on a 429; 0 otherwise
+            String bucket,       // X-RateLimit-Bucket, null if absent
+            boolean global,      // a 429 that applies to every request, not just this webhook
+            String protocol,     // "HTTP/2" or "HTTP/1.1"; null when Discord was never reached
+            long connection,     // identifies the TLS session the request went over; 0 if unknown
+            String messageId,    // the message posted or edited, when Discord returned it; else null
+            int code             // Discord's error code from a refusal's body, e.g. 10015; 0 if none
     ) {
         public boolean success()      { return status == 200 || status == 204; }
         public boolean rateLimited()  { return status == 429; }
@@ -176,40 +368,285 @@ public final class DiscordWebhook {
     }
 
     /**
-     * Performs one POST. Reports the outcome instead of logging it — the queue owns
-     * the decision to retry, wait or give up, and only it knows the surrounding context.
+     * Starts one POST and returns at once. Reports the outcome instead of logging it —
+     * the queue owns the decision to retry, wait or give up, and only it knows the
+     * surrounding context.
+     *
+     * <p>Asynchronous so that no thread waits out the round trip: the queue's one
+     * scheduler thread serves every destination, and a blocking send would hold all
+     * of them up behind the slowest. The future never completes exceptionally; a
+     * request that never reached Discord completes with status 0.
+     *
+     * <p>With {@code wait}, Discord answers 200 with the message it created instead of
+     * 204 with nothing, and the response carries its id — which is what a later
+     * {@link #editAsync} needs.
      */
-    static Response post(String url, String json) {
+    static CompletableFuture<Response> postAsync(String url, byte[] json, boolean wait) {
+        final HttpRequest req;
         try {
-            HttpClient client = HttpClient.newBuilder()
-                    .connectTimeout(TIMEOUT)
+            req = HttpRequest.newBuilder(URI.create(wait ? withQuery(url, "wait=true") : url))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json))
                     .build();
-            HttpRequest req = HttpRequest.newBuilder(URI.create(url))
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(unreachable());
+        }
+        return exchange(req);
+    }
+
+    /**
+     * Starts one edit of a message this webhook posted, replacing its content or
+     * embeds with {@code json}, and returns at once. Same contract as
+     * {@link #postAsync}.
+     *
+     * <p>Discord meters edits in a bucket of their own, apart from posting, so the
+     * queue paces them separately — see {@link RateLimits#reserve(String, boolean)}.
+     */
+    static CompletableFuture<Response> editAsync(String url, String messageId, byte[] json) {
+        final HttpRequest req;
+        try {
+            req = HttpRequest.newBuilder(URI.create(messageUrl(url, messageId)))
                     .timeout(TIMEOUT)
                     .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(json))
                     .build();
-            HttpResponse<String> res = client.send(req, HttpResponse.BodyHandlers.ofString());
-
-            final int status = res.statusCode();
-            final Long remaining = headerAsLong(res, "x-ratelimit-remaining", 1.0);
-            final Long resetAfterMs = headerAsLong(res, "x-ratelimit-reset-after", 1000.0);
-
-            long retryAfterMs = 0L;
-            if (status == 429) {
-                // Retry-After is seconds (possibly fractional); reset-after is the same
-                // value under a different name. Fall back to a second if neither parses.
-                final Long fromRetryAfter = headerAsLong(res, "retry-after", 1000.0);
-                retryAfterMs = (fromRetryAfter != null) ? fromRetryAfter
-                        : (resetAfterMs != null ? resetAfterMs : 1000L);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(unreachable());
+        }
+        return exchange(req);
+    }
+
+    private static CompletableFuture<Response> exchange(HttpRequest req) {
+        final HttpClient c;
+        try {
+            c = client();
+        } catch (IllegalStateException stopped) {
+            return CompletableFuture.completedFuture(unreachable());
+        }
+        KeepWarm.used(req.uri());
+        return c.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .handle((res, err) -> err != null ? unreachable() : readResponse(res));
+    }
+
+    /**
+     * {@link #toResponse}, or unreachable if reading it throws. The queue only moves a
+     * destination on when its future completes normally; one completed exceptionally
+     * would leave that destination waiting on a response that never comes, for good.
+     */
+    private static Response readResponse(HttpResponse<String> res) {
+        try {
+            return toResponse(res);
+        } catch (RuntimeException e) {
+            return unreachable();
+        }
+    }
+
+    /**
+     * The URL of one message this webhook posted: {@code .../messages/{id}}, keeping
+     * the query, since a message in a thread is only found with its {@code thread_id}.
+     */
+    static String messageUrl(String url, String messageId) {
+        final int q = url.indexOf('?');
+        return q < 0 ? url + "/messages/" + messageId
+                : url.substring(0, q) + "/messages/" + messageId + url.substring(q);
+    }
+
+    /** The URL with one more query parameter, whether or not it already has a query. */
+    static String withQuery(String url, String param) {
+        return url + (url.indexOf('?') < 0 ? '?' : '&') + param;
+    }
+
+    /** The rate-limit facts out of a response, whatever its status. */
+    private static Response toResponse(HttpResponse<String> res) {
+        final int status = res.statusCode();
+        final Long remaining = headerAsLong(res, "x-ratelimit-remaining", 1.0);
+        final Long limit = headerAsLong(res, "x-ratelimit-limit", 1.0);
+        final Long resetAfterMs = headerAsLong(res, "x-ratelimit-reset-after", 1000.0);
+
+        final String bucket = res.headers().firstValue("x-ratelimit-bucket").orElse(null);
+
+        long retryAfterMs = 0L;
+        boolean global = false;
+        if (status == 429) {
+            // A global limit says so in a header, in the scope header, or only in
+            // the body, depending on which part of Discord's edge refused us.
+            global = res.headers().firstValue("x-ratelimit-global").isPresent()
+                    || "global".equals(res.headers().firstValue("x-ratelimit-scope").orElse(null))
+                    || res.body().replace(" ", "").contains("\"global\":true");
+            // Retry-After is seconds (possibly fractional); reset-after is the same
+            // value under a different name. Fall back to a second if neither parses.
+            final Long fromRetryAfter = headerAsLong(res, "retry-after", 1000.0);
+            retryAfterMs = (fromRetryAfter != null) ? fromRetryAfter
+                    : (resetAfterMs != null ? resetAfterMs : 1000L);
+        }
+
+        return new Response(status, remaining, limit, resetAfterMs, retryAfterMs, bucket, global,
+                res.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1",
+                connectionOf(res), status == 200 ? messageId(res.body()) : null,
+                status >= 400 && status != 429 ? errorCode(res.body()) : 0);
+    }
+
+    /** Status 0 = never reached Discord (DNS, timeout, TLS). Retryable. */
+    private static Response unreachable() {
+        return new Response(0, null, null, null, 0L, null, false, null, 0L, null, 0);
+    }
+
+    /**
+     * The {@code id} of the message object in a response body, or null.
+     *
+     * <p>Only the top-level one: the message also holds its author, its channel and
+     * its webhook, each with an id of its own, and Discord makes no promise about the
+     * order of keys. So this walks the object rather than searching the text, skipping
+     * strings and anything nested.
+     */
+    static String messageId(String body) {
+        return topLevel(body, "id");
+    }
+
+    /**
+     * The {@code code} of an error body, or 0 if it has none. A 404 means different
+     * things by it: {@link Breaker#UNKNOWN_WEBHOOK} is the webhook gone, while a
+     * thread that is gone or archived answers with a code of its own.
+     */
+    static int errorCode(String body) {
+        final String code = topLevel(body, "code");
+        if (code == null) return 0;
+        try {
+            return Integer.parseInt(code);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /** A key's value in the top-level object of a body, string or number, as text; or null. */
+    private static String topLevel(String body, String key) {
+        if (body == null) return null;
+        int depth = 0;
+        for (int i = 0; i < body.length(); i++) {
+            final char c = body.charAt(i);
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c == '"') {
+                final int end = stringEnd(body, i);
+                if (end < 0) return null;
+                final boolean match = depth == 1 && end - i - 1 == key.length()
+                        && body.startsWith(key, i + 1);
+                i = end;
+                if (!match) continue;
+                // The key as a key, not as some other key's value.
+                int v = skipSpace(body, end + 1);
+                if (v >= body.length() || body.charAt(v) != ':') continue;
+                v = skipSpace(body, v + 1);
+                if (v >= body.length()) return null;
+                if (body.charAt(v) != '"') {
+                    int close = v;
+                    while (close < body.length() && (Character.isLetterOrDigit(body.charAt(close))
+                            || body.charAt(close) == '-' || body.charAt(close) == '.')) close++;
+                    return close > v ? body.substring(v, close) : null;
+                }
+                final int close = stringEnd(body, v);
+                return close < 0 ? null : body.substring(v + 1, close);
             }
+        }
+        return null;
+    }
 
-            return new Response(status, remaining, resetAfterMs, retryAfterMs);
+    private static int skipSpace(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
 
-        } catch (Exception e) {
-            // Status 0 = never reached Discord (DNS, timeout, TLS). Retryable.
-            return new Response(0, null, null, 0L);
+    /** Index of the quote closing the JSON string opened at {@code open}, or -1. */
+    private static int stringEnd(String s, int open) {
+        for (int i = open + 1; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '"') return i;
         }
+        return -1;
+    }
+
+    /**
+     * Which connection a response arrived on, as far as the JDK will say.
+     *
+     * <p>HttpClient does not expose its connections, but each one carries the TLS
+     * session its handshake produced, stamped with when that happened. A reused
+     * connection reports the same stamp as the request before it; a fresh one does
+     * not. That is enough to show reuse in {@code /discordlogger status} without
+     * reaching into JDK internals.
+     */
+    private static long connectionOf(HttpResponse<?> res) {
+        return res.sslSession().map(s -> s.getCreationTime()).orElse(0L);
+    }
+
+    /**
+     * The shared client, built on first use if the queue has not started yet.
+     *
+     * @throws IllegalStateException once {@link #closeClient} has run, until the next
+     *         {@link #openClient}
+     */
+    private static HttpClient client() {
+        final HttpClient c = client;
+        return (c != null) ? c : lazyClient();
+    }
+
+    private static synchronized HttpClient lazyClient() {
+        if (closed) throw new IllegalStateException("webhook client is closed");
+        return build();
+    }
+
+    /**
+     * Builds the shared client if there is none, and lets sends build it again after a
+     * {@link #closeClient}. Called from {@code WebhookQueue.start}; a probe that runs
+     * before the queue starts builds it lazily, and still gets the pooled client rather
+     * than a throwaway one.
+     */
+    static synchronized HttpClient openClient() {
+        closed = false;
+        return build();
+    }
+
+    private static HttpClient build() {
+        if (client != null) return client;
+
+        final AtomicInteger n = new AtomicInteger();
+        // Fixed and small: sends are asynchronous, so these only ever parse a response
+        // and hand it back to the queue — two are plenty however many webhooks there
+        // are, and the count must not grow with them.
+        final ExecutorService threads = Executors.newFixedThreadPool(HTTP_THREADS, r -> {
+            final Thread t = new Thread(r, "DiscordLogger-HTTP-" + n.incrementAndGet());
+            // Daemon: these only ever serve a request the queue is already tracking,
+            // and the queue's drain is what shutdown bounds, not these.
+            t.setDaemon(true);
+            return t;
+        });
+        clientThreads = threads;
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)   // falls back to 1.1 if not offered
+                .connectTimeout(TIMEOUT)
+                .executor(threads)
+                .build();
+        return client;
+    }
+
+    /**
+     * Drops the shared client and stops its threads. Called from
+     * {@code WebhookQueue.shutdown} once nothing is left to send; sends fail from here
+     * until the next {@link #openClient}.
+     *
+     * <p>On Java 17 this does not stop the client's selector thread, which is the
+     * JDK's own and not on {@link #clientThreads}: it exits once the dropped client has
+     * been garbage collected, and not before.
+     */
+    static synchronized void closeClient() {
+        closed = true;
+        client = null;
+        final ExecutorService threads = clientThreads;
+        clientThreads = null;
+        if (threads != null) threads.shutdownNow();
     }
 
     /**
@@ -227,17 +664,44 @@ public final class DiscordWebhook {
      */
     public static int probe(String url) {
         try {
-            HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
             HttpRequest req = HttpRequest.newBuilder(URI.create(url))
                     .timeout(TIMEOUT)
                     .GET()
                     .build();
-            return client.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+            KeepWarm.used(req.uri());
+            return client().send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
         } catch (Exception unreachable) {
             return 0;
         }
     }
 
+    /**
+     * Opens a connection to the webhook's host, or keeps one open, at the cost of one
+     * small request. The same GET as {@link #probe}, but asynchronous and with its
+     * answer ignored: whatever the status, a connection now exists, and that is all
+     * this is for. Completes with the status, 0 if nothing came back.
+     */
+    static CompletableFuture<Integer> warmAsync(String url) {
+        final HttpRequest req;
+        try {
+            req = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(0);
+        }
+        final HttpClient c;
+        try {
+            c = client();
+        } catch (IllegalStateException stopped) {
+            return CompletableFuture.completedFuture(0);
+        }
+        KeepWarm.used(req.uri());
+        return c.sendAsync(req, HttpResponse.BodyHandlers.discarding())
+                .handle((res, err) -> err != null ? 0 : res.statusCode());
+    }
+
     /** Reads a numeric header and scales it (headers are in seconds; we work in millis). */
     private static Long headerAsLong(HttpResponse<String> res, String name, double scale) {
         return res.headers().firstValue(name)
@@ -250,32 +714,4 @@ public final class DiscordWebhook {
                 })
                 .orElse(null);
     }
-
-    /** JSON string escaper. Handles all control characters correctly. */
-    private static String escape(String s) {
-        if (s == null) return "";
-        StringBuilder sb = new StringBuilder(s.length() + 16);
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            switch (c) {
-                case '\\': sb.append("\\\\"); break;
-                case '"':  sb.append("\\\""); break;
-                case '\n': sb.append("\\n");  break;
-                case '\r': sb.append("\\r");  break;
-                case '\t': sb.append("\\t");  break;
-                default:
-                    if (c < 0x20) {
-                        // Encode remaining control characters as Unicode escapes
-                        sb.append(String.format("\\u%04x", (int) c));
-                    } else {
-                        sb.append(c);
-                    }
-            }
-        }
-        return sb.toString();
-    }
-
-    private static void trimComma(StringBuilder sb) {
-        if (sb.charAt(sb.length() - 1) == ',') sb.setLength(sb.length() - 1);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.discordlogger.webhook;
+
+/**
+ * One field of an embed, as {@link DiscordWebhook#sendEmbedWithFields} takes it.
+ *
+ * <p>An interface rather than a class so the caller's own field objects can be
+ * passed as they are: {@code Log.Field} implements it, and is written straight into
+ * the request instead of being copied into a {@code String[][]} on the way.
+ */
+public interface EmbedField {
+
+    String name();
+
+    String value();
+
+    boolean inline();
+}
@@ -0,0 +1,224 @@
+package com.discordlogger.webhook;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes JSON straight to UTF-8 bytes, escaping as it goes.
+ *
+ * <p>A message used to be a string several times over before it left: built in a
+ * {@code StringBuilder}, each value escaped through a {@code StringBuilder} of its
+ * own, turned into a {@code String}, encoded to bytes for the queue, decoded back to
+ * a {@code String} to be wrapped in its payload, and encoded once more by
+ * {@code BodyPublishers.ofString}. Every step copied every character. Here each
+ * character is escaped and encoded once, into a buffer that is kept and reused, and
+ * the only copy is the finished {@code byte[]} — which is what the queue holds, what
+ * the spool writes and what is sent.
+ *
+ * <p>One writer per thread, from {@link #get}. Not reentrant: finish one document
+ * with {@link #toBytes} before starting another on the same thread. A buffer grown
+ * past {@link #RETAIN} by an unusually large message is let go rather than kept for
+ * the life of the thread.
+ */
+final class JsonWriter {
+
+    /** The most a writer keeps between uses. A full batch of embeds is well under it. */
+    static final int RETAIN = 64 * 1024;
+
+    private static final int INITIAL = 2048;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<JsonWriter> POOL = ThreadLocal.withInitial(JsonWriter::new);
+
+    private byte[] buf = new byte[INITIAL];
+    private int len;
+
+    private JsonWriter() {}
+
+    /** This thread's writer, emptied. */
+    static JsonWriter get() {
+        final JsonWriter w = POOL.get();
+        w.len = 0;
+        return w;
+    }
+
+    /** The document so far, as its own array; the writer is free to reuse after. */
+    byte[] toBytes() {
+        final byte[] out = Arrays.copyOf(buf, len);
+        if (buf.length > RETAIN) buf = new byte[INITIAL];
+        len = 0;
+        return out;
+    }
+
+    int length() {
+        return len;
+    }
+
+    /** One structural character: a brace, bracket, comma or colon. */
+    JsonWriter raw(char c) {
+        ensure(1);
+        buf[len++] = (byte) c;
+        return this;
+    }
+
+    /** Structure or a key, already valid JSON and ASCII, written as it is. */
+    JsonWriter raw(String ascii) {
+        final int n = ascii.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) buf[len++] = (byte) ascii.charAt(i);
+        return this;
+    }
+
+    /** Bytes that are already JSON, such as a queued embed object. */
+    JsonWriter raw(byte[] json) {
+        ensure(json.length);
+        System.arraycopy(json, 0, buf, len, json.length);
+        len += json.length;
+        return this;
+    }
+
+    /** Removes a trailing comma, if the last thing written was one. */
+    JsonWriter trimComma() {
+        if (len > 0 && buf[len - 1] == ',') len--;
+        return this;
+    }
+
+    JsonWriter number(int n) {
+        return raw(Integer.toString(n));
+    }
+
+    JsonWriter bool(boolean b) {
+        return raw(b ? "true" : "false");
+    }
+
+    /** {@code "key":"value",} — the shape every field of an embed takes. */
+    JsonWriter field(String key, String value) {
+        raw('"').raw(key).raw("\":");
+        return string(value).raw(',');
+    }
+
+    /** A quoted, escaped string; null is written as empty, as it always has been. */
+    JsonWriter string(String s) {
+        raw('"');
+        if (s != null) chars(s);
+        return raw('"');
+    }
+
+    /**
+     * The characters of a string, escaped but not quoted.
+     *
+     * <p>Most of what is written is plain ASCII with nothing to escape — names, coords,
+     * the bulk of a chat line — so runs of it are found first and copied in one go,
+     * and only the characters between runs are looked at one at a time.
+     */
+    @SuppressWarnings("deprecation")
+    JsonWriter chars(String s) {
+        final int n = s.length();
+        // Room for the usual case, one byte a character; escapes and multi-byte
+        // characters make room for themselves.
+        ensure(n);
+        int i = 0;
+        while (i < n) {
+            final int start = i;
+            while (i < n && plain(s.charAt(i))) i++;
+            if (i > start) {
+                ensure(i - start);
+                // The low byte of each char, which for ASCII is all of it: a bulk
+                // copy with no encoder behind it, the reason this old method is used.
+                s.getBytes(start, i, buf, len);
+                len += i - start;
+            }
+            if (i == n) break;
+            final char c = s.charAt(i);
+            if (c >= 0x80) i = encode(s, i, c);
+            else escape(c);
+            i++;
+        }
+        return this;
+    }
+
+    /**
+     * Text already encoded as UTF-8, escaped but not quoted. Bytes of a multi-byte
+     * character are all 0x80 or above, so they never need escaping and go across
+     * unchanged — there is no decoding to do.
+     */
+    JsonWriter chars(byte[] utf8) {
+        final int n = utf8.length;
+        ensure(n);
+        int i = 0;
+        while (i < n) {
+            final int start = i;
+            while (i < n && (utf8[i] < 0 || plain((char) utf8[i]))) i++;
+            if (i > start) {
+                ensure(i - start);
+                System.arraycopy(utf8, start, buf, len, i - start);
+                len += i - start;
+            }
+            if (i == n) break;
+            escape((char) utf8[i++]);
+        }
+        return this;
+    }
+
+    /** ASCII that goes into a JSON string as it is. */
+    private static boolean plain(char c) {
+        return c >= 0x20 && c < 0x80 && c != '"' && c != '\\';
+    }
+
+    private void escape(char c) {
+        ensure(6);
+        buf[len++] = '\\';
+        switch (c) {
+            case '"' -> buf[len++] = '"';
+            case '\\' -> buf[len++] = '\\';
+            case '\n' -> buf[len++] = 'n';
+            case '\r' -> buf[len++] = 'r';
+            case '\t' -> buf[len++] = 't';
+            default -> {
+                buf[len++] = 'u';
+                buf[len++] = '0';
+                buf[len++] = '0';
+                buf[len++] = HEX[c >> 4];
+                buf[len++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    /**
+     * Encodes the non-ASCII character at {@code i}, and its low surrogate if it has
+     * one. A surrogate without its other half becomes {@code ?}, as
+     * {@code String.getBytes} would have made it.
+     *
+     * @return the index of the last character consumed
+     */
+    private int encode(String s, int i, char c) {
+        ensure(4);
+        if (c < 0x800) {
+            buf[len++] = (byte) (0xC0 | c >> 6);
+            buf[len++] = (byte) (0x80 | c & 0x3F);
+            return i;
+        }
+        if (!Character.isSurrogate(c)) {
+            buf[len++] = (byte) (0xE0 | c >> 12);
+            buf[len++] = (byte) (0x80 | c >> 6 & 0x3F);
+            buf[len++] = (byte) (0x80 | c & 0x3F);
+            return i;
+        }
+        if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            final int cp = Character.toCodePoint(c, s.charAt(i + 1));
+            buf[len++] = (byte) (0xF0 | cp >> 18);
+            buf[len++] = (byte) (0x80 | cp >> 12 & 0x3F);
+            buf[len++] = (byte) (0x80 | cp >> 6 & 0x3F);
+            buf[len++] = (byte) (0x80 | cp & 0x3F);
+            return i + 1;
+        }
+        buf[len++] = '?';
+        return i;
+    }
+
+    private void ensure(int more) {
+        if (len + more <= buf.length) return;
+        buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + more));
+    }
+}
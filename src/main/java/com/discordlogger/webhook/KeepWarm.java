@@ -0,0 +1,92 @@
+package com.discordlogger.webhook;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Which connections to keep open, and which have sat idle long enough to need it.
+ *
+ * <p>The first message after a boot — "Server Start", and the join storm right after
+ * it — used to pay for DNS, TCP and a TLS handshake before Discord saw a byte. So did
+ * the first message after a quiet night, since the far end closes a connection left
+ * idle long enough. Both are the moments staff are watching the channel.
+ *
+ * <p>Tracked by origin ({@code https://discord.com}), not by webhook: the shared
+ * client pools connections per origin, and over HTTP/2 every webhook on it shares
+ * one. Warming each webhook separately would only send the same handshake's worth of
+ * requests down the same connection. Any request counts as use — a send, an edit or a
+ * probe keeps a connection as warm as a warm-up would.
+ */
+final class KeepWarm {
+
+    /** Origin to the configured webhooks on it, in config order. Replaced whole. */
+    private static volatile Map<String, List<String>> tracked = Map.of();
+
+    /** Origin to when a request last went to it; epoch millis. */
+    private static final Map<String, Long> USED = new ConcurrentHashMap<>();
+
+    private KeepWarm() {}
+
+    /** The webhooks to keep a connection open for, replacing any before. */
+    static void track(Collection<String> urls) {
+        final Map<String, List<String>> next = new LinkedHashMap<>();
+        for (String url : urls) {
+            final String origin = origin(url);
+            if (origin != null) next.computeIfAbsent(origin, o -> new ArrayList<>()).add(url);
+        }
+        tracked = next;
+    }
+
+    /** Records a request to an origin. */
+    static void used(URI uri) {
+        final String origin = origin(uri);
+        if (origin != null) USED.put(origin, System.currentTimeMillis());
+    }
+
+    /**
+     * One webhook for each tracked origin nothing has gone to for {@code idleMs}: the
+     * first {@code usable} accepts. An origin none of whose webhooks is usable is
+     * skipped rather than warmed through a webhook known to be dead.
+     */
+    static List<String> due(long now, long idleMs, Predicate<String> usable) {
+        final List<String> out = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : tracked.entrySet()) {
+            final Long last = USED.get(e.getKey());
+            if (last != null && now - last < idleMs) continue;
+            for (String url : e.getValue()) {
+                if (!usable.test(url)) continue;
+                out.add(url);
+                break;
+            }
+        }
+        return out;
+    }
+
+    /** Forgets when anything was last used, so the next start warms everything. */
+    static void clear() {
+        USED.clear();
+    }
+
+    /** {@code scheme://host:port}, or null for a URL that will not parse. */
+    static String origin(String url) {
+        try {
+            return origin(URI.create(url));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String origin(URI u) {
+        if (u.getHost() == null || u.getScheme() == null) return null;
+        final String scheme = u.getScheme().toLowerCase(Locale.ROOT);
+        final int port = u.getPort() >= 0 ? u.getPort() : "http".equals(scheme) ? 80 : 443;
+        return scheme + "://" + u.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
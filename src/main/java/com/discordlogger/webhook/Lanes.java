@@ -0,0 +1,140 @@
+package com.discordlogger.webhook;
+
+import java.util.ArrayDeque;
+
+/**
+ * One destination's in-memory queue, split into a FIFO lane per {@link Priority}.
+ *
+ * <p>Taking always serves the highest non-empty lane, so a ban queued behind a
+ * thousand chat lines goes next rather than last. Within a lane, order is arrival
+ * order — the narrative guarantee still holds for anything that competes on equal
+ * terms. The budget is shared: lanes are not reserved space, they are the order in
+ * which room is given up when it runs out.
+ *
+ * <p>The budget is bytes, not messages. A count treated a forty-byte chat line and a
+ * six-kilobyte explosion embed alike, so the memory an outage could pin varied a
+ * hundredfold with what happened to be queued. Measured by {@link Message#size},
+ * the ceiling is the ceiling whatever the traffic.
+ *
+ * <p>Thread-safety is one monitor. Producers are the server and listener threads,
+ * the consumer is the delivery scheduler, and every operation is a handful
+ * of deque calls — nothing that would contend enough to justify anything finer.
+ */
+final class Lanes {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final ArrayDeque<Message>[] lanes;
+    private volatile long budget;
+    private int size;
+    private long bytes;
+
+    // Per-lane tallies for /discordlogger status. Guarded by this.
+    private final long[] sent = new long[PRIORITIES.length];
+    private final long[] evicted = new long[PRIORITIES.length];
+    private final long[] dropped = new long[PRIORITIES.length];
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Lanes(long budget) {
+        this.budget = budget;
+        this.lanes = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = new ArrayDeque<>();
+    }
+
+    /**
+     * Adds to the tail of its lane, unless it would take the lanes past their budget.
+     * An empty destination always takes a message, however large — otherwise one
+     * bigger than the whole budget could never be sent at all.
+     */
+    synchronized boolean offer(Message m) {
+        if (size > 0 && bytes + m.size() > budget) return false;
+        lanes[m.priority.ordinal()].addLast(m);
+        size++;
+        bytes += m.size();
+        return true;
+    }
+
+    /**
+     * Makes room for a message of {@code priority} by taking one out of the
+     * lowest-priority non-empty lane that gives way to it.
+     *
+     * @param sameLane whether an entry of the same priority may give way too
+     * @param oldest   take the lane's oldest entry rather than its newest
+     * @return the entry removed, or null if nothing gives way
+     */
+    synchronized Message evict(Priority priority, boolean sameLane, boolean oldest) {
+        final int floor = priority.ordinal() + (sameLane ? 0 : 1);
+        for (int i = lanes.length - 1; i >= floor; i--) {
+            final ArrayDeque<Message> lane = lanes[i];
+            if (lane.isEmpty()) continue;
+            final Message m = oldest ? lane.pollFirst() : lane.pollLast();
+            size--;
+            bytes -= m.size();
+            evicted[i]++;
+            return m;
+        }
+        return null;
+    }
+
+    /**
+     * Undoes an {@link #evict}, putting the entry back where it was taken from.
+     * Entries must be restored in the reverse of the order they were evicted.
+     */
+    synchronized void restore(Message m, boolean atHead) {
+        final ArrayDeque<Message> lane = lanes[m.priority.ordinal()];
+        if (atHead) lane.addFirst(m);
+        else lane.addLast(m);
+        size++;
+        bytes += m.size();
+        evicted[m.priority.ordinal()]--;
+    }
+
+    /** The head of the highest non-empty lane, or null. */
+    synchronized Message poll() {
+        for (ArrayDeque<Message> lane : lanes) {
+            final Message m = lane.pollFirst();
+            if (m != null) {
+                size--;
+                bytes -= m.size();
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /** When the longest-waiting message was queued, or {@link Long#MAX_VALUE} with none. */
+    synchronized long oldest() {
+        long oldest = Long.MAX_VALUE;
+        for (ArrayDeque<Message> lane : lanes) {
+            final Message head = lane.peekFirst();
+            if (head != null) oldest = Math.min(oldest, head.queuedAt);
+        }
+        return oldest;
+    }
+
+    synchronized int size()        { return size; }
+    synchronized boolean isEmpty() { return size == 0; }
+    synchronized long bytes()      { return bytes; }
+    long budget()                  { return budget; }
+
+    /**
+     * Takes effect for the next message offered. Lowering it below what is already
+     * held evicts nothing: the excess drains in the normal way.
+     */
+    void budget(long budget)       { this.budget = budget; }
+
+    synchronized int size(Priority p)     { return lanes[p.ordinal()].size(); }
+    synchronized long sent(Priority p)    { return sent[p.ordinal()]; }
+    synchronized long evicted(Priority p) { return evicted[p.ordinal()]; }
+    synchronized long dropped(Priority p) { return dropped[p.ordinal()]; }
+
+    /** Records messages delivered, by lane. */
+    synchronized void countSent(Iterable<Message> batch) {
+        for (Message m : batch) sent[m.priority.ordinal()]++;
+    }
+
+    /** Records a message turned away with nowhere to go. */
+    synchronized void countDropped(Message m) {
+        dropped[m.priority.ordinal()]++;
+    }
+}
@@ -0,0 +1,109 @@
+package com.discordlogger.webhook;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How long something took, over the last few minutes, as a histogram cheap enough to
+ * feed on every message.
+ *
+ * <p>{@code /discordlogger status} used to say how much was queued and nothing about
+ * how long it waited, so a webhook delivering in four minutes looked the same as one
+ * delivering in two hundred milliseconds until staff noticed the channel was behind.
+ * Percentiles say it plainly: p50 is the usual case, p99 the one someone complains
+ * about.
+ *
+ * <p>Buckets are logarithmic, four to each doubling: 0–3 ms exactly, then 4, 5, 6, 7,
+ * then 8–9, 10–11 and so on, each about a fifth wider than the one before. That is
+ * precise where precision means something and coarse where it does not — nobody
+ * needs to tell 61 seconds from 62 — and the whole range, up to some nine hours, is a
+ * hundred counters. Anything longer lands in the last.
+ *
+ * <p>Two windows of {@link #WINDOW_MS}, the current one and the one before, and
+ * percentiles read across both: long enough to mean something on a quiet server,
+ * short enough that an outage an hour ago does not colour the figures now. Only the
+ * delivery thread records, and recording is a few shifts and one atomic increment, no
+ * lock; a reader may catch a window mid-reset and miss a handful of samples, which a
+ * status readout can afford.
+ */
+final class Latency {
+
+    /** How long a window lasts. Percentiles cover between one and two of them. */
+    static final long WINDOW_MS = 5L * 60_000L;
+
+    /** Sub-buckets per doubling, as a power of two. */
+    private static final int SUB_BITS = 2;
+    private static final int SUB = 1 << SUB_BITS;
+
+    /** The largest value told apart from those above it: 2^25 ms, a little over nine hours. */
+    private static final long MAX = (1L << 25) - 1;
+
+    static final int BUCKETS = bucket(MAX) + 1;
+
+    private final AtomicLongArray[] windows = { new AtomicLongArray(BUCKETS), new AtomicLongArray(BUCKETS) };
+
+    /** Which window each of {@link #windows} holds, by {@code now / WINDOW_MS}. */
+    private final long[] epochs = { -1L, -1L };
+
+    /** Counts one value, in milliseconds, observed at {@code now}. */
+    void record(long ms, long now) {
+        final long epoch = now / WINDOW_MS;
+        final int w = (int) (epoch & 1);
+        if (epochs[w] != epoch) {
+            // A new window: what this slot held is two windows old.
+            final AtomicLongArray stale = windows[w];
+            for (int i = 0; i < BUCKETS; i++) stale.set(i, 0L);
+            epochs[w] = epoch;
+        }
+        windows[w].incrementAndGet(bucket(ms));
+    }
+
+    /**
+     * The value {@code p} of the recent samples are at or under — the top of the bucket
+     * it falls in, so never an understatement — or -1 with nothing recorded.
+     *
+     * @param p between 0 and 1; 0.99 for p99
+     */
+    long percentile(double p, long now) {
+        final long epoch = now / WINDOW_MS;
+        final long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for (int w = 0; w < windows.length; w++) {
+            if (epochs[w] != epoch && epochs[w] != epoch - 1) continue;
+            for (int i = 0; i < BUCKETS; i++) {
+                final long c = windows[w].get(i);
+                counts[i] += c;
+                total += c;
+            }
+        }
+        if (total == 0L) return -1L;
+
+        final long rank = Math.max(1L, (long) Math.ceil(p * total));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return upper(i);
+        }
+        return upper(BUCKETS - 1);
+    }
+
+    /** The bucket a value falls in. */
+    static int bucket(long ms) {
+        final long v = Math.max(0L, Math.min(ms, MAX));
+        if (v < SUB) return (int) v;
+        final int exp = 63 - Long.numberOfLeadingZeros(v);
+        final int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    /** The smallest value in a bucket. */
+    static long lower(int bucket) {
+        if (bucket < SUB) return bucket;
+        final int exp = bucket / SUB + SUB_BITS - 1;
+        return (long) (SUB + bucket % SUB) << (exp - SUB_BITS);
+    }
+
+    /** The largest value in a bucket. */
+    static long upper(int bucket) {
+        return bucket + 1 < BUCKETS ? lower(bucket + 1) - 1 : MAX;
+    }
+}
@@ -0,0 +1,195 @@
+package com.discordlogger.webhook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Discord's size limits, applied before anything is queued.
+ *
+ * <p>Nothing used to check them. A long chat line, a custom-log template that
+ * expanded further than expected, or an explosion with a crowd in its "Players
+ * Nearby" list produced a payload Discord was always going to refuse with 400 — and
+ * a 400 is not retried, so the event was simply lost, after a request had been spent
+ * learning that.
+ *
+ * <p>Lengths are UTF-16 code units, which is how Discord counts and what
+ * {@link String#length} already returns; an emoji outside the Basic Multilingual
+ * Plane is two. Cuts never land between the two halves of one.
+ *
+ * <p>What does not fit is split where splitting keeps everything readable, and cut
+ * short with {@link #MARKER} where it cannot:
+ * <ul>
+ *   <li>a long description continues in further embeds, broken at a line end where
+ *       there is one;</li>
+ *   <li>fields past 25, or past the 6000-character total, move to further embeds;</li>
+ *   <li>a title, author, footer, field name or field value over its own limit is
+ *       truncated — one field value spread over several fields would read worse than
+ *       one that ends in an ellipsis;</li>
+ *   <li>plain text over 2000 characters is sent as several messages.</li>
+ * </ul>
+ * The first embed keeps the title, author and thumbnail; the last takes the footer
+ * and timestamp, so a split reads top to bottom like the embed it came from.
+ */
+final class Limits {
+
+    static final int TITLE = 256;
+    static final int DESCRIPTION = 4096;
+    static final int FIELDS = 25;
+    static final int FIELD_NAME = 256;
+    static final int FIELD_VALUE = 1024;
+    static final int FOOTER = 2048;
+    static final int AUTHOR = 256;
+    static final int TOTAL = DiscordWebhook.MAX_EMBED_CHARS;
+    static final int CONTENT = DiscordWebhook.MAX_CONTENT_CHARS;
+
+    /** Ends anything cut short, so a reader knows there was more. */
+    static final String MARKER = "\u2026";
+
+    /**
+     * Discord refuses a field with an empty name or value. A zero-width space shows
+     * as nothing, which is what an empty one meant.
+     */
+    static final String BLANK = "\u200B";
+
+    private Limits() {}
+
+    /**
+     * One embed of what may have become several. {@code head} carries the title,
+     * author and thumbnail; {@code tail} the footer and timestamp. An embed that fit
+     * is both. {@code fields} is null when the embed had none to give.
+     */
+    record Piece(String title, String description, String author, String footer,
+                 List<EmbedField> fields, boolean head, boolean tail, int chars) {}
+
+    /** A field that had to be changed to fit; one that fit is passed on as it came. */
+    record Field(String name, String value, boolean inline) implements EmbedField {}
+
+    /**
+     * Fields given as {@code {name, value, inline}}, the shape the public API has
+     * always taken. Malformed entries are skipped, as the JSON builder always has.
+     */
+    static List<EmbedField> fields(String[][] fields) {
+        if (fields == null) return null;
+        final List<EmbedField> out = new ArrayList<>(fields.length);
+        for (String[] f : fields) {
+            if (f == null || f.length < 3) continue;
+            out.add(new Field(f[0], f[1], "true".equalsIgnoreCase(f[2])));
+        }
+        return out;
+    }
+
+    /**
+     * Fits one embed's text to Discord's limits, as one or more embeds. A field is
+     * copied only if it had to change; null fields, or null entries, are skipped.
+     */
+    static List<Piece> fit(String title, String description, String author, String footer,
+                           List<? extends EmbedField> fields) {
+        title = truncate(title, TITLE);
+        author = truncate(author, AUTHOR);
+        footer = truncate(footer, FOOTER);
+        // Kept free in every embed, so whichever turns out to be last has room for it.
+        final int reserve = length(footer);
+
+        final List<Piece> out = new ArrayList<>(1);
+        String desc = null;
+        int chars = length(title) + length(author);
+        List<EmbedField> taken = new ArrayList<>();
+
+        String rest = description;
+        while (rest != null) {
+            final int room = Math.min(DESCRIPTION, TOTAL - reserve - chars);
+            if (rest.length() <= room) {
+                desc = rest;
+                chars += rest.length();
+                break;
+            }
+            final int cut = breakAt(rest, room);
+            desc = rest.substring(0, cut);
+            chars += desc.length();
+            out.add(piece(out.isEmpty(), title, desc, author, taken, chars));
+            // The line break the cut was made at is the boundary between embeds.
+            rest = rest.substring(cut < rest.length() && rest.charAt(cut) == '\n' ? cut + 1 : cut);
+            desc = null;
+            chars = 0;
+        }
+
+        if (fields != null) {
+            for (EmbedField f : fields) {
+                if (f == null) continue;
+                final String name = nonEmpty(truncate(f.name(), FIELD_NAME));
+                final String value = nonEmpty(truncate(f.value(), FIELD_VALUE));
+                final int size = name.length() + value.length();
+                if (taken.size() == FIELDS || chars + size + reserve > TOTAL) {
+                    out.add(piece(out.isEmpty(), title, desc, author, taken, chars));
+                    desc = null;
+                    chars = 0;
+                    taken = new ArrayList<>();
+                }
+                taken.add(name == f.name() && value == f.value() ? f : new Field(name, value, f.inline()));
+                chars += size;
+            }
+        }
+
+        final boolean head = out.isEmpty();
+        out.add(new Piece(head ? title : null, desc, head ? author : null, footer,
+                fields == null ? null : taken, head, true, chars + reserve));
+        return out;
+    }
+
+    private static Piece piece(boolean head, String title, String desc, String author,
+                               List<EmbedField> fields, int chars) {
+        return new Piece(head ? title : null, desc, head ? author : null, null,
+                fields.isEmpty() ? null : fields, head, false, chars);
+    }
+
+    /**
+     * Plain text as messages Discord will take: the text itself if it fits, otherwise
+     * consecutive parts broken at line ends where possible. Empty text is no message at
+     * all, since Discord refuses one.
+     */
+    static List<String> lines(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+        if (text.length() <= CONTENT) return List.of(text);
+        final List<String> out = new ArrayList<>();
+        String rest = text;
+        while (rest.length() > CONTENT) {
+            final int cut = breakAt(rest, CONTENT);
+            out.add(rest.substring(0, cut));
+            rest = rest.substring(cut < rest.length() && rest.charAt(cut) == '\n' ? cut + 1 : cut);
+        }
+        if (!rest.isEmpty()) out.add(rest);
+        return out;
+    }
+
+    /** The text, or as much as fits in {@code max} ending with {@link #MARKER}. */
+    static String truncate(String s, int max) {
+        if (s == null || s.length() <= max) return s;
+        return s.substring(0, safe(s, max - MARKER.length())) + MARKER;
+    }
+
+    /**
+     * Where to end a part of at most {@code max} characters: at the last line break in
+     * the second half if there is one, else after the last space there, else at
+     * {@code max} itself — never inside a surrogate pair.
+     */
+    static int breakAt(String s, int max) {
+        final int nl = s.lastIndexOf('\n', max);
+        if (nl > max / 2) return nl;
+        final int sp = s.lastIndexOf(' ', max - 1);
+        if (sp > max / 2) return sp + 1;
+        return safe(s, max);
+    }
+
+    /** {@code at}, or one less if that would split a surrogate pair. */
+    private static int safe(String s, int at) {
+        return at > 0 && Character.isHighSurrogate(s.charAt(at - 1)) ? at - 1 : at;
+    }
+
+    private static String nonEmpty(String s) {
+        return s == null || s.isEmpty() ? BLANK : s;
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
@@ -0,0 +1,127 @@
+package com.discordlogger.webhook;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One queued message, kept in a form that can still be combined with its neighbours.
+ *
+ * <p>The queue used to hold finished JSON payloads, which made every message its own
+ * request: an embed already wrapped in its envelope cannot share a POST with the next
+ * one. Holding the embed <em>object</em> instead, and wrapping it only when it is
+ * sent, is what lets {@link WebhookQueue} put up to ten of them in one request.
+ *
+ * <p>The body is held as UTF-8 bytes rather than a {@code String}. A backlog is what
+ * the queue exists to hold, and Java strings of anything beyond Latin-1 cost two
+ * bytes a character; UTF-8 is also the form it is written to disk and sent in. It
+ * makes {@link #size} an honest measure of what a message costs to keep.
+ */
+final class Message {
+
+    /** What the body is, which decides what it may be combined with. */
+    enum Kind {
+        /** A single embed object, {@code {...}}, not yet wrapped in a payload. */
+        EMBED,
+        /** One line of plain text for the {@code content} field, unescaped. */
+        CONTENT
+    }
+
+    final Kind kind;
+    final Priority priority;
+
+    /**
+     * Whether it may be added to the message posted before it by editing that message,
+     * rather than posted as one of its own. Set for the categories in
+     * {@code delivery.append_categories}; see {@link WebhookQueue}.
+     */
+    final boolean append;
+
+    /** UTF-8. Use {@link #text()} for the string. */
+    final byte[] body;
+
+    /**
+     * For an embed, the characters it counts against Discord's 6000-per-message total:
+     * title, description, author, footer and every field name and value. Not the
+     * JSON length — escaping and structure are free. For plain text, its length.
+     */
+    final int chars;
+
+    /**
+     * Position in the destination's {@link Spool}, set when it is written there; -1
+     * for a message that is only in memory. What delivery acks once it is done.
+     */
+    long seq = -1L;
+
+    /**
+     * When it was queued; epoch millis. What its delivery time is counted from, in
+     * {@code /discordlogger status}. A message read back from the {@link Spool} gets
+     * the time the spool has for it, not the time it was read.
+     */
+    long queuedAt = System.currentTimeMillis();
+
+    /**
+     * Roughly what a queued message costs beyond its body: the object, its array
+     * header and its slot in a lane. An estimate, but a fixed one — it keeps a flood
+     * of one-word chat lines from looking free against the byte budget.
+     */
+    static final int OVERHEAD = 64;
+
+    private Message(Kind kind, Priority priority, boolean append, byte[] body, int chars) {
+        this.kind = kind;
+        this.priority = priority;
+        this.append = append;
+        this.body = body;
+        this.chars = chars;
+    }
+
+    private Message(Kind kind, Priority priority, boolean append, String body, int chars) {
+        this(kind, priority, append, body.getBytes(StandardCharsets.UTF_8), chars);
+    }
+
+    /** The body as text. Decoded on each call; only the sending side needs it. */
+    String text() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /** What holding this message in memory costs against a destination's byte budget. */
+    int size() {
+        return body.length + OVERHEAD;
+    }
+
+    static Message embed(String embedObject, int chars) {
+        return embed(embedObject, chars, Priority.ROUTINE);
+    }
+
+    static Message embed(String embedObject, int chars, Priority priority) {
+        return embed(embedObject, chars, priority, false);
+    }
+
+    static Message embed(String embedObject, int chars, Priority priority, boolean append) {
+        return new Message(Kind.EMBED, priority, append, embedObject, chars);
+    }
+
+    /** An embed object already written as UTF-8, as {@link JsonWriter} produces it. */
+    static Message embed(byte[] embedObject, int chars, Priority priority) {
+        return embed(embedObject, chars, priority, false);
+    }
+
+    static Message embed(byte[] embedObject, int chars, Priority priority, boolean append) {
+        return new Message(Kind.EMBED, priority, append, embedObject, chars);
+    }
+
+    static Message content(String text) {
+        return content(text, Priority.ROUTINE);
+    }
+
+    static Message content(String text, Priority priority) {
+        return content(text, priority, false);
+    }
+
+    static Message content(String text, Priority priority, boolean append) {
+        return new Message(Kind.CONTENT, priority, append, text, text.length());
+    }
+
+    /** A message read back from the spool, exactly as it was written. */
+    static Message restore(Kind kind, Priority priority, boolean append, byte[] body, int chars) {
+        return new Message(kind, priority, append, body, chars);
+    }
+}
@@ -0,0 +1,21 @@
+package com.discordlogger.webhook;
+
+/**
+ * How much a message matters when there is not room for all of them.
+ *
+ * <p>A destination's queue is bounded, and a chat flood is exactly when it fills. Left
+ * to arrival order, a ban landing at that moment was refused in favour of a thousand
+ * chat lines already waiting — the one entry an admin would go looking for. Each
+ * destination now keeps a lane per priority: higher lanes are sent first, and when
+ * memory is full, room is made at the expense of the lowest.
+ *
+ * <p>Declared highest first; {@link #ordinal()} is the lane index.
+ */
+public enum Priority {
+    /** Bans, kicks, op changes, whitelist edits — the audit trail. */
+    MODERATION,
+    /** Deaths, and the server starting or stopping. */
+    LIFECYCLE,
+    /** Everything else: chat, commands, teleports, joins. Gives way first. */
+    ROUTINE
+}
@@ -0,0 +1,236 @@
+package com.discordlogger.webhook;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Discord's rate-limit budgets, shared by every destination that draws on them.
+ *
+ * <p>Pacing used to live on each destination, keyed by its URL string. That is not
+ * how Discord counts. A budget belongs to a <em>bucket</em> (the
+ * {@code X-RateLimit-Bucket} hash) together with the webhook it applies to, so two
+ * destinations for one webhook — a second thread via {@code ?thread_id=}, or the same
+ * URL spelled {@code discordapp.com} in one place and {@code discord.com} in another —
+ * spend one budget while each believed it had its own, and raced each other into
+ * 429s. And a global limit, which stops every request from this IP, only paused the
+ * one destination that happened to be refused.
+ *
+ * <p>Here each budget is kept once, keyed by canonical webhook id and bucket, and
+ * every destination asks it before sending. A reservation counts down the remaining
+ * requests Discord last reported, so two destinations sharing a budget of one do not both
+ * go. Until the first response names the bucket, a webhook's budget is keyed by its
+ * id alone — Discord has a single bucket for executing a webhook, so that is the
+ * same budget by another name.
+ *
+ * <p>Editing a message the webhook posted is a different route, with a bucket and a
+ * budget of its own. It is kept apart under the id with {@link #EDIT} appended, so
+ * edits neither spend nor wait on the budget for posting, and the other way round.
+ */
+final class RateLimits {
+
+    private RateLimits() {}
+
+    /** Every spelling Discord accepts for its API host. */
+    private static final Pattern HOST =
+            Pattern.compile("^https://(?:ptb\\.|canary\\.)?discord(?:app)?\\.com/");
+
+    /** Canonical webhook id → the bucket Discord last said it belongs to. */
+    private static final Map<String, String> BUCKETS = new ConcurrentHashMap<>();
+
+    /** {@link #key} → budget. */
+    private static final Map<String, Budget> BUDGETS = new ConcurrentHashMap<>();
+
+    /** Marks the edit route's budget apart from posting's for the same webhook. */
+    private static final String EDIT = "/edit";
+
+    /** Epoch millis before which nothing may be sent to Discord at all. */
+    private static volatile long globalUntil = 0L;
+
+    /**
+     * What is left of a pacer's share after a 429 that was not global: halved, down to
+     * this. A budget that keeps being refused still sends, just slowly.
+     */
+    static final double MIN_SHARE = 0.1;
+
+    /** What a pacer's share gains back with every request Discord takes. */
+    static final double SHARE_STEP = 0.05;
+
+    /**
+     * One bucket's budget, as last reported by Discord and counted down since, and the
+     * pace at which it is spent.
+     *
+     * <p>Counting down alone meant bursting: a backlog went out as fast as responses
+     * came back until Discord said none were left, then waited out the rest of the
+     * window, so one message took milliseconds and the next several seconds. Once
+     * Discord has said how many requests a window holds ({@code X-RateLimit-Limit})
+     * and how long a window lasts (the reset-after of its first request), sends are
+     * spaced evenly across it instead — a token bucket that holds one request and
+     * refills at the window's rate. A lone message after a quiet spell still goes at
+     * once; a backlog goes steadily, and every wait lets the batch being built take in
+     * more of it, so when more is asked than the budget supplies each request simply
+     * carries more.
+     *
+     * <p>Not every limit is in the headers: a channel also takes only so many
+     * messages a minute, whichever webhook posts them. A 429 that was not global
+     * halves the share of the window's rate this budget uses, and every success wins
+     * a little back, so the pace settles just under whatever Discord actually allows
+     * rather than on the figure it advertises.
+     */
+    private static final class Budget {
+        /** Requests left before {@link #resetAt}; -1 when Discord has not said. */
+        int remaining = -1;
+        long resetAt = 0L;
+
+        /** Requests a window holds, and how long one lasts; 0 until Discord says. */
+        int limit = 0;
+        long periodMs = 0L;
+
+        /** The send the bucket holds, in part or whole; refilled at {@link #rate}. */
+        double tokens = 1.0;
+        long refilledAt = 0L;
+
+        /** The fraction of the advertised rate in use; see the class comment. */
+        double share = 1.0;
+
+        synchronized long reserve(long now) {
+            if (now >= resetAt) {
+                remaining = -1;   // window over; the next response will say what is left
+            } else if (remaining == 0) {
+                return resetAt - now;
+            }
+            if (limit > 0 && periodMs > 0L) {
+                final double rate = rate();
+                tokens = Math.min(1.0, tokens + (now - refilledAt) * rate);
+                refilledAt = now;
+                if (tokens < 1.0) return Math.max(1L, (long) Math.ceil((1.0 - tokens) / rate));
+                tokens -= 1.0;
+            }
+            if (remaining > 0) remaining--;
+            return 0L;
+        }
+
+        /** Sends per millisecond. */
+        private double rate() {
+            return share * limit / periodMs;
+        }
+
+        synchronized void update(long now, Long left, Long limit, Long resetAfterMs) {
+            if (left == null || resetAfterMs == null) return;
+            if (limit != null && limit > 0) {
+                this.limit = (int) Math.min(Integer.MAX_VALUE, limit);
+                // The first request of a window sees the whole of it still to run.
+                if (left == limit - 1 || periodMs == 0L) periodMs = Math.max(periodMs, resetAfterMs);
+            }
+            share = Math.min(1.0, share + SHARE_STEP);
+            // Responses arrive out of order when several destinations share a budget; the
+            // lower count is the one that has seen more of the window.
+            final long at = now + resetAfterMs;
+            if (at > resetAt + 1_000L || remaining < 0) {
+                remaining = (int) Math.min(Integer.MAX_VALUE, left);
+            } else {
+                remaining = (int) Math.min(remaining, left);
+            }
+            resetAt = at;
+        }
+
+        synchronized void exhaust(long until) {
+            remaining = 0;
+            resetAt = Math.max(resetAt, until);
+            share = Math.max(MIN_SHARE, share / 2.0);
+        }
+    }
+
+    /**
+     * The URL with its host spelled one way, so the spellings Discord treats as one
+     * webhook are one destination here too. Path and query are kept as they are.
+     */
+    static String canonical(String url) {
+        return HOST.matcher(url).replaceFirst("https://discord.com/");
+    }
+
+    /** The webhook id, which is what a budget is tied to. Never the token. */
+    static String webhookId(String url) {
+        final String path = stripQuery(url);
+        final String[] parts = path.split("/");
+        return parts.length >= 2 ? parts[parts.length - 2] : "unknown";
+    }
+
+    /**
+     * How long to wait before sending to this URL; 0 means go now, and the send has
+     * been counted against its budget — the one for editing when {@code edit}.
+     */
+    static long reserve(String url, boolean edit) {
+        final long now = System.currentTimeMillis();
+        final long global = globalUntil - now;
+        if (global > 0) return global;
+        return budget(route(url, edit)).reserve(now);
+    }
+
+    /** How long a send to this URL would currently wait, without reserving anything. */
+    static long waitMs(String url) {
+        final long now = System.currentTimeMillis();
+        long wait = globalUntil - now;
+        final Budget b = BUDGETS.get(key(webhookId(url)));
+        if (b != null) {
+            synchronized (b) {
+                if (b.remaining == 0) wait = Math.max(wait, b.resetAt - now);
+            }
+        }
+        return Math.max(0L, wait);
+    }
+
+    /**
+     * Learns from a response: which bucket the webhook is in, how much of its budget
+     * is left, and — on a 429 — how long everyone sharing that budget, or on a global
+     * limit everyone at all, must hold off. {@code edit} says which budget the
+     * request spent.
+     */
+    static void update(String url, boolean edit, DiscordWebhook.Response res) {
+        final String id = route(url, edit);
+        if (res.bucket() != null && !res.bucket().equals(BUCKETS.put(id, res.bucket()))) {
+            // First sighting of this bucket for this webhook: carry over what was
+            // learned under the id alone rather than starting blind.
+            final Budget before = BUDGETS.remove(id);
+            if (before != null) BUDGETS.putIfAbsent(key(id), before);
+        }
+
+        final long now = System.currentTimeMillis();
+        if (res.rateLimited()) {
+            final long until = now + res.retryAfterMs();
+            if (res.global()) {
+                globalUntil = Math.max(globalUntil, until);
+            } else {
+                budget(id).exhaust(until);
+            }
+            return;
+        }
+        budget(id).update(now, res.remaining(), res.limit(), res.resetAfterMs());
+    }
+
+    /** Forgets everything; budgets learned on one run say nothing about the next. */
+    static void clear() {
+        BUCKETS.clear();
+        BUDGETS.clear();
+        globalUntil = 0L;
+    }
+
+    /** What a route's budget is filed under: the webhook id, marked for edits. */
+    private static String route(String url, boolean edit) {
+        return edit ? webhookId(url) + EDIT : webhookId(url);
+    }
+
+    private static Budget budget(String id) {
+        return BUDGETS.computeIfAbsent(key(id), k -> new Budget());
+    }
+
+    private static String key(String id) {
+        final String bucket = BUCKETS.get(id);
+        return bucket != null ? bucket + ":" + id : id;
+    }
+
+    private static String stripQuery(String url) {
+        final int q = url.indexOf('?');
+        return q >= 0 ? url.substring(0, q) : url;
+    }
+}
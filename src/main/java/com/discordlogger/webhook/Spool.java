@@ -0,0 +1,483 @@
+package com.discordlogger.webhook;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * One destination's messages on disk, kept until Discord has accepted them.
+ *
+ * <p>The in-memory queue alone lost everything a restart or crash caught in flight,
+ * and everything past its cap during an outage. For a moderation audit trail that is
+ * the one failure that matters: a ban that never reached the channel is a ban with no
+ * record. So every message is written here as it is queued, and only forgotten once
+ * it has been delivered (or refused outright, which no retry would change).
+ *
+ * <p>Layout, under {@code plugins/DiscordLogger/spool/<webhook id>/}:
+ * <ul>
+ *   <li>{@code destination} — the webhook URL, so a replay knows where to send.</li>
+ *   <li>{@code <first seq>.seg} — append-only records. A new segment is started at
+ *       every open and whenever the current one passes {@link #SEGMENT_BYTES}, so a
+ *       file is never appended to after a crash may have torn its tail.</li>
+ *   <li>{@code <first seq>.ack} — the sequence numbers of that segment's records that
+ *       are done with. Acks are a list rather than a watermark because delivery is
+ *       not strictly in sequence: a message can be refused while later ones succeed.
+ *       A segment and its acks are deleted together once every record is acked.</li>
+ * </ul>
+ *
+ * <p>Nothing here touches the disk on the caller's thread. {@link #append} and
+ * {@link #ack} only buffer; {@link #sync}, run every
+ * {@code WebhookQueue.SYNC_INTERVAL_MS} by one background thread, writes and fsyncs
+ * the lot. A crash can therefore lose the last fraction of a second — the price of
+ * not making the server thread wait on a disk.
+ *
+ * <p>Delivery is at-least-once: a crash between a send and its ack being synced
+ * replays that message on the next start. A duplicate in the channel is the better
+ * failure than a gap in it.
+ */
+final class Spool {
+
+    /** Roll to a new segment past this size, so acked history can be deleted. */
+    private static final long SEGMENT_BYTES = 1L << 20;
+
+    /**
+     * Ceiling on one destination's backlog on disk. A week-long outage on a busy
+     * server should not be what fills the disk the world is saved to.
+     */
+    static final long MAX_BYTES = 256L << 20;
+
+    /**
+     * length, seq, kind (low three bits), append (bit 3) and priority (high nibble),
+     * chars, crc.
+     */
+    private static final int HEADER = 4 + 8 + 1 + 4 + 4;
+
+    /**
+     * One record in this many has the time it was appended kept in memory, and the
+     * rest are taken to have been appended then too: close enough for a latency
+     * figure, at an eighth of a byte a record rather than eight. A power of two.
+     */
+    static final int STAMP_EVERY = 64;
+
+    /** The header bit for {@link Message#append}. Clear in every record written before it existed. */
+    private static final int APPEND_BIT = 0x08;
+
+    private static final String DESTINATION = "destination";
+    private static final String SEG = ".seg";
+    private static final String ACK = ".ack";
+
+    final File dir;
+    final String url;
+
+    /** By first sequence number. Guarded by {@code this}. */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long nextSeq;
+    private long bytes;
+
+    /** Buffered for {@link #sync}. Guarded by {@code this}. */
+    private List<Record> unwrittenRecords = new ArrayList<>();
+    private List<Long> unwrittenAcks = new ArrayList<>();
+
+    /** Serialises {@link #sync} against itself and {@link #close}; never held by callers of append. */
+    private final Object io = new Object();
+
+    private static final class Segment {
+        final long first;
+        final File seg;
+        final File ack;
+        int records;
+        int acked;
+        long bytes;
+        /** Acks already on disk when the spool was opened; what a replay must skip. */
+        final Set<Long> ackedAtOpen;
+        FileChannel out;
+
+        /**
+         * When every {@link #STAMP_EVERY}th record was appended, from the first; only
+         * for records appended by this run, since the file does not keep the time.
+         */
+        long[] stamps = new long[4];
+        int stampCount;
+
+        /**
+         * For a record without a stamp — one an earlier run left — when the segment was
+         * last written, which is as late as it can have been queued.
+         */
+        long since = System.currentTimeMillis();
+
+        /** When a record of this segment was queued, as near as is known. */
+        long queuedAt(long seq) {
+            final long i = (seq - first) / STAMP_EVERY;
+            return i >= 0 && i < stampCount ? stamps[(int) i] : since;
+        }
+
+        void stamp(long now) {
+            if (stampCount == stamps.length) stamps = Arrays.copyOf(stamps, stampCount * 2);
+            stamps[stampCount++] = now;
+        }
+
+        Segment(File dir, long first, Set<Long> ackedAtOpen) {
+            this.first = first;
+            this.seg = new File(dir, name(first) + SEG);
+            this.ack = new File(dir, name(first) + ACK);
+            this.ackedAtOpen = ackedAtOpen;
+        }
+
+        boolean done() {
+            return acked >= records;
+        }
+    }
+
+    private record Record(Segment segment, ByteBuffer data) {}
+
+    private Spool(File dir, String url) {
+        this.dir = dir;
+        this.url = url;
+    }
+
+    /**
+     * Opens (or creates) the spool for a webhook, loading whatever an earlier run left.
+     * Reads every segment, so it is called from the delivery thread, never the one
+     * queueing a message.
+     *
+     * @param name the directory name — the webhook id, never anything secret
+     */
+    static Spool open(File root, String name, String url) throws IOException {
+        final File dir = new File(root, name);
+        Files.createDirectories(dir.toPath());
+        Files.writeString(new File(dir, DESTINATION).toPath(), url, StandardCharsets.UTF_8);
+
+        final Spool spool = new Spool(dir, url);
+        spool.load();
+        return spool;
+    }
+
+    /** Every spool an earlier run left behind, keyed by the URL it was for. */
+    static Map<String, File> existing(File root) {
+        final Map<String, File> out = new TreeMap<>();
+        final File[] dirs = root.listFiles(File::isDirectory);
+        if (dirs == null) return out;
+        for (File d : dirs) {
+            final File dest = new File(d, DESTINATION);
+            if (!dest.isFile()) continue;
+            try {
+                final String url = Files.readString(dest.toPath(), StandardCharsets.UTF_8).trim();
+                if (!url.isEmpty()) out.put(url, d);
+            } catch (IOException ignored) {
+                // Unreadable: leave it for a human rather than guess.
+            }
+        }
+        return out;
+    }
+
+    private void load() throws IOException {
+        final File[] files = dir.listFiles((d, n) -> n.endsWith(SEG));
+        long maxSeq = 0L;
+        if (files != null) {
+            for (File f : files) {
+                final long first;
+                try {
+                    first = Long.parseLong(f.getName().substring(0, f.getName().length() - SEG.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                final Segment s = new Segment(dir, first, readAcks(new File(dir, name(first) + ACK)));
+                final List<Message> records = readRecords(s, 0L, Integer.MAX_VALUE, null);
+                for (Message m : records) {
+                    s.records++;
+                    if (s.ackedAtOpen.contains(m.seq)) s.acked++;
+                    maxSeq = Math.max(maxSeq, m.seq);
+                }
+                s.bytes = f.length();
+                s.since = f.lastModified();
+                if (s.done()) {
+                    delete(s);
+                    continue;
+                }
+                segments.put(first, s);
+                bytes += s.bytes;
+            }
+        }
+        nextSeq = maxSeq + 1;
+    }
+
+    /** Whether anything on disk is still waiting to be delivered. */
+    synchronized boolean hasPending() {
+        for (Segment s : segments.values()) {
+            if (!s.done()) return true;
+        }
+        return !unwrittenRecords.isEmpty();
+    }
+
+    /**
+     * When the record with a sequence number was queued, as near as is known; see
+     * {@link #STAMP_EVERY}. {@link Long#MAX_VALUE} for one no segment holds.
+     */
+    synchronized long queuedAt(long seq) {
+        final Map.Entry<Long, Segment> e = segments.floorEntry(seq);
+        return e != null ? e.getValue().queuedAt(seq) : Long.MAX_VALUE;
+    }
+
+    /**
+     * The lowest sequence number not yet acked, or -1 if there is none. The segments
+     * are read outside the lock {@link #append} takes, as {@link #read} does, so the
+     * server thread does not wait on the disk for this.
+     */
+    long firstPending() {
+        final List<Segment> pending = new ArrayList<>();
+        synchronized (this) {
+            for (Segment s : segments.values()) {
+                if (!s.done()) pending.add(s);
+            }
+        }
+        synchronized (io) {
+            for (Segment s : pending) {
+                for (Message m : readQuietly(s)) {
+                    if (!s.ackedAtOpen.contains(m.seq)) return m.seq;
+                }
+            }
+        }
+        return -1L;
+    }
+
+    /** The sequence number the next append will get; everything below it has been appended. */
+    synchronized long nextSeq() {
+        return nextSeq;
+    }
+
+    /**
+     * Buffers a message to be written, stamping it with its sequence number.
+     *
+     * @return false if the disk backlog is at {@link #MAX_BYTES} and it was not taken
+     */
+    synchronized boolean append(Message m) {
+        final byte[] body = m.body;
+        final int size = HEADER + body.length;
+        if (bytes + size > MAX_BYTES) return false;
+
+        if (active == null || active.bytes >= SEGMENT_BYTES) {
+            active = new Segment(dir, nextSeq, Set.of());
+            segments.put(active.first, active);
+        }
+
+        if ((active.records & (STAMP_EVERY - 1)) == 0) active.stamp(m.queuedAt);
+        m.seq = nextSeq++;
+        final CRC32 crc = new CRC32();
+        crc.update(body);
+        final ByteBuffer buf = ByteBuffer.allocate(size)
+                .putInt(body.length)
+                .putLong(m.seq)
+                .put((byte) (m.priority.ordinal() << 4 | (m.append ? APPEND_BIT : 0) | m.kind.ordinal()))
+                .putInt(m.chars)
+                .putInt((int) crc.getValue())
+                .put(body);
+        buf.flip();
+
+        active.records++;
+        active.bytes += size;
+        bytes += size;
+        unwrittenRecords.add(new Record(active, buf));
+        return true;
+    }
+
+    /** Buffers the fact that a message is done with, delivered or not. */
+    synchronized void ack(long seq) {
+        if (seq < 0) return;
+        unwrittenAcks.add(seq);
+    }
+
+    /**
+     * Writes everything buffered and fsyncs it, then deletes fully acked segments.
+     * Called on an interval by the spool thread, and by delivery about to read back.
+     */
+    void sync() throws IOException {
+        synchronized (io) {
+            final List<Record> records;
+            final List<Long> acks;
+            synchronized (this) {
+                records = unwrittenRecords;
+                acks = unwrittenAcks;
+                if (records.isEmpty() && acks.isEmpty()) return;
+                unwrittenRecords = new ArrayList<>();
+                unwrittenAcks = new ArrayList<>();
+            }
+
+            final Set<Segment> touched = new HashSet<>();
+            for (Record r : records) {
+                final Segment s = r.segment();
+                if (s.out == null) {
+                    s.out = FileChannel.open(s.seg.toPath(), StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                while (r.data().hasRemaining()) s.out.write(r.data());
+                touched.add(s);
+            }
+            for (Segment s : touched) s.out.force(false);
+
+            // Acks only after the records are durable. A record is always acked after it
+            // was appended, but both can land in the same sync, and an ack that reached
+            // disk ahead of its record would point at nothing after a crash.
+            final Map<Segment, List<Long>> bySegment = new TreeMap<>((a, b) -> Long.compare(a.first, b.first));
+            synchronized (this) {
+                for (Long seq : acks) {
+                    final Map.Entry<Long, Segment> e = segments.floorEntry(seq);
+                    if (e == null) continue;
+                    bySegment.computeIfAbsent(e.getValue(), k -> new ArrayList<>()).add(seq);
+                }
+            }
+            for (Map.Entry<Segment, List<Long>> e : bySegment.entrySet()) {
+                final ByteBuffer buf = ByteBuffer.allocate(e.getValue().size() * 8);
+                for (Long seq : e.getValue()) buf.putLong(seq);
+                buf.flip();
+                try (FileChannel ch = FileChannel.open(e.getKey().ack.toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    while (buf.hasRemaining()) ch.write(buf);
+                    ch.force(false);
+                }
+            }
+
+            final List<Segment> finished = new ArrayList<>();
+            synchronized (this) {
+                for (Map.Entry<Segment, List<Long>> e : bySegment.entrySet()) {
+                    e.getKey().acked += e.getValue().size();
+                }
+                for (Segment s : segments.values()) {
+                    if (s.done() && s.records > 0) finished.add(s);
+                }
+                for (Segment s : finished) {
+                    segments.remove(s.first);
+                    bytes -= s.bytes;
+                    if (s == active) active = null;
+                }
+            }
+            for (Segment s : finished) delete(s);
+        }
+    }
+
+    /**
+     * Reads back up to {@code max} records with a sequence number of at least
+     * {@code fromSeq}, in order, skipping any acked before this run began.
+     * Only what {@link #sync} has already written is visible.
+     */
+    List<Message> read(long fromSeq, int max) throws IOException {
+        final List<Segment> candidates = new ArrayList<>();
+        synchronized (this) {
+            final Long start = segments.floorKey(fromSeq);
+            candidates.addAll(segments.tailMap(start != null ? start : fromSeq, true).values());
+        }
+        final List<Message> out = new ArrayList<>();
+        synchronized (io) {
+            for (Segment s : candidates) {
+                if (out.size() >= max) break;
+                final List<Message> part = readRecords(s, fromSeq, max - out.size(), s.ackedAtOpen);
+                synchronized (this) {
+                    for (Message m : part) m.queuedAt = s.queuedAt(m.seq);
+                }
+                out.addAll(part);
+            }
+        }
+        return out;
+    }
+
+    /** Writes what is buffered and releases the files. Unacked records stay for next time. */
+    void close() throws IOException {
+        sync();
+        synchronized (io) {
+            for (Segment s : segments.values()) {
+                if (s.out != null) {
+                    s.out.close();
+                    s.out = null;
+                }
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+
+    private List<Message> readQuietly(Segment s) {
+        try {
+            return readRecords(s, 0L, Integer.MAX_VALUE, null);
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Reads a segment's intact records. Stops at the first one that is incomplete or
+     * fails its checksum: that is a tail torn by a crash, or a write still in flight,
+     * and either way nothing after it can be trusted.
+     */
+    private static List<Message> readRecords(Segment s, long fromSeq, int max, Set<Long> skip)
+            throws IOException {
+        final List<Message> out = new ArrayList<>();
+        if (!s.seg.isFile()) return out;
+
+        final byte[] all = Files.readAllBytes(s.seg.toPath());
+        final ByteBuffer buf = ByteBuffer.wrap(all);
+        final Message.Kind[] kinds = Message.Kind.values();
+        final Priority[] priorities = Priority.values();
+        while (buf.remaining() >= HEADER && out.size() < max) {
+            final int len = buf.getInt();
+            final long seq = buf.getLong();
+            final int packed = buf.get() & 0xFF;
+            final int kind = packed & 0x07;
+            final int priority = packed >>> 4;
+            final int chars = buf.getInt();
+            final int crc = buf.getInt();
+            if (len < 0 || len > buf.remaining() || kind >= kinds.length
+                    || priority >= priorities.length) break;
+
+            final byte[] body = new byte[len];
+            buf.get(body);
+            final CRC32 check = new CRC32();
+            check.update(body);
+            if ((int) check.getValue() != crc) break;
+
+            if (seq < fromSeq || (skip != null && skip.contains(seq))) continue;
+            final Message m = Message.restore(kinds[kind], priorities[priority],
+                    (packed & APPEND_BIT) != 0, body, chars);
+            m.seq = seq;
+            out.add(m);
+        }
+        return out;
+    }
+
+    private static Set<Long> readAcks(File f) throws IOException {
+        final Set<Long> out = new HashSet<>();
+        if (!f.isFile()) return out;
+        final ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(f.toPath()));
+        while (buf.remaining() >= 8) out.add(buf.getLong());
+        return out;
+    }
+
+    private static void delete(Segment s) {
+        try {
+            if (s.out != null) s.out.close();
+        } catch (IOException ignored) {
+            // Deleting it anyway.
+        }
+        s.out = null;
+        // The segment first. Acks left without their segment are ignored; a segment
+        // left without its acks would replay everything in it as undelivered.
+        if (!s.seg.delete() && s.seg.exists()) return;
+        s.ack.delete();
+    }
+
+    /** Zero-padded so a directory listing sorts in sequence order. */
+    private static String name(long first) {
+        return String.format("%016d", first);
+    }
+}
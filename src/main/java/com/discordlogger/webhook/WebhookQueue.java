@@ -1,21 +1,33 @@
 package com.discordlogger.webhook;
 
 import com.discordlogger.metrics.Counters;
+import com.discordlogger.util.Threads;
 
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Serialises every webhook send through one worker thread so Discord's rate
- * limits are respected instead of discovered.
+ * Serialises every webhook send per destination so Discord's rate limits are
+ * respected instead of discovered.
  *
  * <p>Before this existed, each message was posted on its own async scheduler
  * task: a busy server could fire several at once, Discord answered HTTP 429,
@@ -24,27 +36,69 @@ import java.util.concurrent.TimeUnit;
  *
  * <p>Design notes worth preserving:
  * <ul>
- *   <li><b>One worker per destination</b> — also the ordering guarantee. Logs are
- *       a narrative; delivering them out of order is its own bug. Ordering only
- *       means anything <i>within</i> a channel, though, so destinations are
- *       independent: a channel being throttled must not hold up a different one.
- *       With a single shared worker, one slow or dead webhook stalled every
- *       other, which per-event routing turns from a corner case into the normal
- *       case.</li>
+ *   <li><b>One request in flight per destination</b> — also the ordering
+ *       guarantee. Logs are a narrative; delivering them out of order is its own
+ *       bug. Ordering only means anything <i>within</i> a channel, though, so
+ *       destinations are independent: a channel being throttled must not hold up a
+ *       different one. A channel can also give up order, and keep sending while a
+ *       failed message waits out its backoff; see {@link #relaxOrder}.</li>
+ *   <li><b>One delivery thread, not one per destination.</b> Each destination used
+ *       to own a thread that slept through its linger, its rate-limit waits and
+ *       every HTTP round trip. Per-event routing made a thread per configured
+ *       webhook and thread, so the count grew with the config. Now every
+ *       destination is a small state machine driven by a single scheduler: sends
+ *       are asynchronous, waits are timed wake-ups, and the thread only ever does
+ *       the few microseconds of bookkeeping in between. A destination idle for
+ *       {@link #IDLE_RETIRE_MS} is dropped and made again on its next message; its
+ *       spool stays open.</li>
+ *   <li><b>Circuit breaker.</b> A webhook that has been deleted or revoked, or that
+ *       Discord has stopped answering for, is taken out of service rather than sent
+ *       every message in turn: a deleted webhook's backlog is discarded without a
+ *       request each, an unreachable one's waits where it is, and either way the
+ *       webhook is checked on a backoff until it answers. See {@link Breaker}.</li>
  *   <li><b>Proactive pacing.</b> Discord reports how many requests remain in the
  *       current window ({@code X-RateLimit-Remaining}) and when it resets. When
- *       the budget is spent we wait for the reset rather than earning a 429.</li>
- *   <li><b>Not a Bukkit scheduler task.</b> The worker must keep draining during
+ *       the budget is spent we wait for the reset rather than earning a 429. The
+ *       budget is Discord's, not ours to divide: destinations that share one, and
+ *       every destination under a global limit, pace together through
+ *       {@link RateLimits}.</li>
+ *   <li><b>Not a Bukkit scheduler task.</b> Delivery must keep draining during
  *       {@code onDisable} (the "server stopped" message is queued there), and
  *       scheduler tasks are refused once the plugin is disabled.</li>
- *   <li><b>Bounded queue.</b> If Discord is unreachable, an unbounded queue
- *       would grow until the server dies. Beyond the cap we drop and say so.</li>
+ *   <li><b>Batching.</b> Embeds waiting back to back go out together, up to
+ *       Discord's ten per message, so a backlog costs a tenth of the requests; plain
+ *       lines are packed into one message up to its 2000 characters. The listeners
+ *       never see it: {@code Log} still queues one message per event.</li>
+ *   <li><b>Appending.</b> For the categories in {@code delivery.append_categories},
+ *       a message is posted with {@code ?wait=true} so Discord returns its id, and
+ *       whatever follows within {@code delivery.append_window_seconds} is added to it
+ *       by editing it, until it is as full as Discord allows. A busy chat channel
+ *       gets a handful of growing messages an hour instead of hundreds. Edits are
+ *       metered apart from posts, so they also draw on a budget the rest of the
+ *       channel's traffic does not. Anything else posted in between ends it: adding
+ *       to a message above a newer one would tell the story out of order.</li>
+ *   <li><b>Priority lanes.</b> Within a destination, moderation goes before deaths
+ *       and server lifecycle, which go before chat and everything routine; order
+ *       holds within each lane. When memory is full the lowest lane gives way, so
+ *       a chat flood cannot crowd out a ban. See {@link Priority}.</li>
+ *   <li><b>Bounded queue, durable backlog.</b> If Discord is unreachable, an
+ *       unbounded queue would grow until the server dies. Every message is also
+ *       written to a {@link Spool} on disk, so past the cap the backlog waits there
+ *       and is read back as the queue drains, and a restart or crash replays what
+ *       was never delivered. Only if the disk is unusable do we drop and say so.</li>
  * </ul>
  */
 public final class WebhookQueue {
 
-    /** Enough to absorb a long burst; small enough that a dead webhook can't exhaust memory. */
-    private static final int CAPACITY = 1000;
+    /**
+     * Memory each destination may hold, when {@code delivery.queue_kb} does not say.
+     * Enough to absorb a long burst; small enough that a dead webhook can't exhaust
+     * memory. What does not fit waits in the spool.
+     */
+    static final long DEFAULT_QUEUE_BYTES = 1024L * 1024L;
+
+    /** Floor on the configured budget: below this a single embed barely fits. */
+    private static final long MIN_QUEUE_BYTES = 64L * 1024L;
 
     /** Attempts for transient server-side failures (5xx, network) before giving up on a message. */
     private static final int MAX_ATTEMPTS = 4;
@@ -52,9 +106,59 @@ public final class WebhookQueue {
     /** Ceiling on any single wait, so a hostile/blank Retry-After can't stall the queue for hours. */
     private static final long MAX_WAIT_MS = 60_000L;
 
-    /** How long {@link #shutdown} will keep draining before abandoning the rest. */
+    /** How long a plain-text line waits for others to share its message. */
+    private static final long LINGER_MS = 250L;
+
+    /** How long {@link #shutdown} will keep draining before leaving the rest on disk. */
     private static final long SHUTDOWN_DRAIN_MS = 5_000L;
 
+    /**
+     * How often spooled messages are fsynced. One sync per interval rather than per
+     * message is what makes writing every message affordable; it is also the most a
+     * crash can lose.
+     */
+    static final long SYNC_INTERVAL_MS = 200L;
+
+    /** How many spooled messages to read back into memory at a time. */
+    private static final int REFILL_BATCH = 100;
+
+    /**
+     * How long a destination may sit with nothing to do before it is dropped. Its
+     * pacing lives in {@link RateLimits} and its spool in {@link #SPOOLS}, not here, so
+     * nothing worth keeping goes with it — only the per-lane tallies in
+     * {@code /discordlogger status}.
+     */
+    private static final long IDLE_RETIRE_MS = 5L * 60_000L;
+
+    /** How often idle destinations are looked for. */
+    private static final long IDLE_SWEEP_MS = 60_000L;
+
+    /**
+     * Keep-warm interval when {@code delivery.keep_warm_seconds} does not say. Short
+     * enough that the far end has not yet given up on an idle connection; one small
+     * GET per host per interval, and only while nothing else is going there.
+     */
+    static final long DEFAULT_KEEP_WARM_MS = 120_000L;
+
+    /** How often connections are checked for having gone idle. */
+    private static final long WARM_SWEEP_MS = 15_000L;
+
+    /**
+     * Most messages discarded for a revoked webhook in one step, so a large backlog
+     * gives way to the other destinations now and then instead of holding the thread.
+     */
+    private static final int DISCARD_STEP = 1_000;
+
+    /**
+     * Most failed batches one relaxed destination sets aside at once. Past it, a
+     * failure holds the destination as in strict order: a webhook failing everything
+     * is the breaker's business, not something to queue a second backlog for.
+     */
+    static final int MAX_SET_ASIDE = 8;
+
+    /** Where breaker checks run: {@link DiscordWebhook#probe} blocks, and the scheduler must not. */
+    private static final ThreadFactory PROBES = Threads.blocking("DiscordLogger-Probe-");
+
     /**
      * One per distinct webhook URL. Discord's rate limits are per webhook, so the
      * pacing state has to be too — a shared counter would throttle a quiet channel
@@ -62,43 +166,311 @@ public final class WebhookQueue {
      */
     private static final Map<String, Destination> DESTINATIONS = new ConcurrentHashMap<>();
 
+    /**
+     * Every spool opened this run, by canonical URL, kept until {@link #shutdown}. A
+     * destination that retires leaves its spool here, so waking up again does not
+     * mean reading it from disk again. Added to on the scheduler thread only.
+     */
+    private static final Map<String, Spool> SPOOLS = new ConcurrentHashMap<>();
+
     private static volatile JavaPlugin plugin;
     private static volatile boolean running;
 
+    /** Per-destination memory budget, from {@code delivery.queue_kb}. */
+    private static volatile long queueBytes = DEFAULT_QUEUE_BYTES;
+
+    /**
+     * How long after posting a message it may still be appended to, from
+     * {@code delivery.append_window_seconds}; 0 turns appending off.
+     */
+    private static volatile long appendWindowMs = 0L;
+
+    /**
+     * How long a connection may sit unused before a warm-up request is sent down it,
+     * from {@code delivery.keep_warm_seconds}; 0 turns keeping warm off.
+     */
+    private static volatile long keepWarmMs = DEFAULT_KEEP_WARM_MS;
+
+    /**
+     * Canonical URLs of destinations that may deliver out of order; see
+     * {@link #relaxOrder}. Replaced whole.
+     */
+    private static volatile Set<String> relaxed = Set.of();
+
+    /** When the queue last went from stopped to running; epoch millis. */
+    private static volatile long startedAt;
+
+    /** From {@link #startedAt} to the first message Discord accepted, or -1 until then. */
+    private static volatile long firstDeliveryMs = -1L;
+
+    /** {@code plugins/DiscordLogger/spool}, once {@link #start} has run. */
+    private static volatile File spoolRoot;
+
+    /** Fsyncs every spool on {@link #SYNC_INTERVAL_MS}. */
+    private static volatile ScheduledExecutorService spoolSync;
+
+    /**
+     * Runs every destination's delivery, one step at a time. A single thread is also
+     * the synchronisation: delivery state is touched only here, so it needs no locks.
+     */
+    private static volatile ScheduledExecutorService scheduler;
+
+    /**
+     * How requests reach Discord. A seam, not a setting: the plugin only ever uses
+     * {@link #DISCORD}, and tests stand in canned responses to drive delivery.
+     */
+    interface Transport {
+        CompletableFuture<DiscordWebhook.Response> post(String url, byte[] json, boolean wait);
+        CompletableFuture<DiscordWebhook.Response> edit(String url, String messageId, byte[] json);
+        int probe(String url);
+    }
+
+    private static final Transport DISCORD = new Transport() {
+        @Override
+        public CompletableFuture<DiscordWebhook.Response> post(String url, byte[] json, boolean wait) {
+            return DiscordWebhook.postAsync(url, json, wait);
+        }
+
+        @Override
+        public CompletableFuture<DiscordWebhook.Response> edit(String url, String messageId, byte[] json) {
+            return DiscordWebhook.editAsync(url, messageId, json);
+        }
+
+        @Override
+        public int probe(String url) {
+            return DiscordWebhook.probe(url);
+        }
+    };
+
+    private static volatile Transport transport = DISCORD;
+
     private WebhookQueue() {}
 
     private static final class Destination {
         final String url;
-        final BlockingQueue<String> queue = new ArrayBlockingQueue<>(CAPACITY);
-        final Thread worker;
+        final Lanes lanes = new Lanes(queueBytes);
+
+        /**
+         * A message taken off the queue that did not fit the batch being built. It is
+         * next in line, so it is sent before polling again.
+         */
+        Message carry;
+
+        // Delivery state. Touched only on the scheduler thread, except where volatile.
+
+        /** The batch being assembled or sent; null between batches. */
+        List<Message> batch;
+
+        /**
+         * Its payload as sent, UTF-8, fixed once the first attempt goes out so retries
+         * send the same.
+         */
+        byte[] json;
+
+        /** Whether the batch came from {@link #singles} and must not be added to. */
+        boolean single;
+
+        int attempt = 1;
+        int held = 0;
+
+        /** Plain text may wait for company until then; epoch millis. */
+        long lingerUntil;
+
+        /** Backing off after a failure: nothing is sent before then. */
+        long notBefore;
+
+        /** When the pending timed wake-up fires, or 0 if there is none. */
+        long wakeAt;
+
+        /**
+         * Messages of a combined batch Discord rejected with 400, to be sent one at a
+         * time ahead of everything else — they were first in line.
+         */
+        final ArrayDeque<Message> singles = new ArrayDeque<>();
+
+        /**
+         * Batches that failed and are waiting out their backoff to one side, so what
+         * was queued behind them goes meanwhile. Only ever filled in relaxed order; at
+         * most {@link #MAX_SET_ASIDE}.
+         */
+        final List<Retry> retries = new ArrayList<>();
+
+        /** How many {@link #retries} there are, as of the last step, for other threads. */
+        volatile int setAside;
+
+        /** A request is on the wire; its response will move things on. */
+        volatile boolean inFlight;
+
+        /** Nothing to send and nothing in flight, as of the last step. */
+        volatile boolean idle = true;
+
+        /** A step is already queued on the scheduler; further kicks are redundant. */
+        final AtomicBoolean kicked = new AtomicBoolean();
+
+        final Breaker breaker = new Breaker();
+
+        /** A breaker check is scheduled or running. */
+        boolean probeScheduled;
+
+        /** The last message posted, while it may still be appended to; null otherwise. */
+        String openId;
+
+        /** What that message holds, since an edit replaces it whole. */
+        List<Message> openParts;
+
+        /** Appending to it ends then; epoch millis. */
+        long openUntil;
+
+        /** Whether the batch in hand goes as an edit of {@link #openId} rather than a post. */
+        boolean editing;
+
+        volatile long lastActive = System.currentTimeMillis();
+
+        /** When this destination was created: first used, or first used again after retiring. */
+        final long created = System.currentTimeMillis();
+
+        /** From {@link #created} to its first delivered message, or -1 until then. */
+        volatile long firstDeliveryMs = -1L;
 
-        /** Epoch millis before which the next request to THIS webhook must not be sent. */
-        volatile long nextSendAt = 0L;
+        /** Dropped from {@link #DESTINATIONS}; enqueue must look again. Guarded by this. */
+        boolean retired;
 
         /** Warn once per outage rather than once per dropped message. */
         volatile boolean warnedFull = false;
 
+        /**
+         * Null until {@link #opened}, and after it when the disk is unusable, in which
+         * case this destination is memory-only.
+         */
+        volatile Spool spool;
+
+        /**
+         * Whether the spool has been opened — or found unusable — on the scheduler
+         * thread. Set under this.
+         */
+        volatile boolean opened;
+
+        /**
+         * Messages queued before the spool was open, oldest first, and what they hold.
+         * Guarded by this.
+         */
+        final ArrayDeque<Message> early = new ArrayDeque<>();
+        long earlyBytes;
+
+        /**
+         * Per lane, the sequence number of its oldest message that is on disk but not
+         * in memory, or -1. While set, that lane's new messages go to disk only —
+         * letting them into memory ahead of older ones still on disk would deliver the
+         * lane out of order. Every message of the lane from there on is disk-only.
+         * Guarded by this.
+         */
+        final long[] spilledFrom = newSpill();
+
+        /** Warn once per outage when Discord keeps failing and messages are held. */
+        boolean warnedHolding = false;
+
+        /** From queued to accepted by Discord, per message; and the HTTP exchange alone, per request. */
+        final Latency delivered = new Latency();
+        final Latency roundTrip = new Latency();
+
+        /** When the request in flight went out; epoch millis. */
+        long sentAt;
+
+        /**
+         * When the oldest message in the batch in hand, or set aside, was queued, or
+         * {@link Long#MAX_VALUE} with none; as of the last step. The queue knows its own.
+         */
+        volatile long handSince = Long.MAX_VALUE;
+
+        // Connection reuse, for /discordlogger status. Written only by the scheduler.
+        volatile long requests = 0L;
+        volatile long connections = 0L;
+        volatile String protocol;
+        private long lastConnection = 0L;
+
         Destination(String url) {
             this.url = url;
-            this.worker = new Thread(() -> runLoop(this), "DiscordLogger-Webhook-" + shortId(url));
-            // Not a daemon: a queued message should still get its chance if the JVM
-            // is winding down. shutdown() bounds how long that can take.
-            this.worker.setDaemon(false);
-            this.worker.start();
         }
     }
 
     /**
-     * The webhook id, for a readable thread name. Never the token — thread names
-     * show up in stack traces and thread dumps, which get pasted into issues.
+     * A failed batch set aside until it is due again: sent as it was, and carrying the
+     * count of attempts it has had, so its backoff goes on growing.
+     */
+    private record Retry(List<Message> batch, byte[] json, boolean single,
+                         int attempt, int held, long dueAt) {}
+
+    /**
+     * The webhook id, for log lines and file names. Never the token — logs get
+     * pasted into issues.
      */
     private static String shortId(String url) {
-        final String[] parts = url.split("/");
-        return parts.length >= 2 ? parts[parts.length - 2] : "unknown";
+        return RateLimits.webhookId(url);
+    }
+
+    private static long[] newSpill() {
+        final long[] spill = new long[Priority.values().length];
+        Arrays.fill(spill, -1L);
+        return spill;
+    }
+
+    /** The lowest spill position across lanes, or -1 if no lane has spilled. */
+    private static long spillStart(long[] spilledFrom) {
+        long min = -1L;
+        for (long s : spilledFrom) {
+            if (s >= 0 && (min < 0 || s < min)) min = s;
+        }
+        return min;
+    }
+
+    /**
+     * One destination's live state, for {@code /discordlogger status}.
+     *
+     * <p>{@code connections} counts the connections its requests have gone over, so
+     * {@code requests / connections} is how often the shared client reused one rather
+     * than paying a new handshake. Close to 1 means something keeps closing them.
+     *
+     * <p>{@code circuitStatus} is the HTTP status that opened the breaker, or the last
+     * a check returned (0 for unreachable); {@code probeInMs} is when it is next
+     * checked. Both mean nothing while {@code circuit} is {@link Circuit#CLOSED}.
+     *
+     * <p>{@code firstDeliveryMs} is how long its first message took to reach Discord,
+     * counted from when the destination was created — at startup, or on the first
+     * message after it retired for being idle — or -1 if none has yet. It is the figure
+     * keeping connections warm exists to bring down.
+     *
+     * <p>{@code delivery} is how long its messages took from being queued to being
+     * accepted, and {@code roundTrip} how long its requests took on the wire, over the
+     * last five to ten minutes; the difference is time spent waiting in the queue.
+     * {@code oldestMs} is how long the message that has waited longest has been
+     * waiting, or -1 with nothing queued — the figure that climbs first when a webhook
+     * falls behind.
+     */
+    public record Health(String id, int queued, long bytes, long budget, long waitMs,
+                         long requests, long connections, String protocol,
+                         List<Lane> lanes, Circuit circuit, int circuitStatus, long probeInMs,
+                         long firstDeliveryMs, Percentiles delivery, Percentiles roundTrip,
+                         long oldestMs) {}
+
+    /**
+     * The median, the one in twenty and the one in a hundred, in milliseconds; each -1
+     * with nothing recorded. Each is the top of the range its figure falls in, so they
+     * can read a little high but never low.
+     */
+    public record Percentiles(long p50, long p95, long p99) {
+
+        static Percentiles of(Latency l, long now) {
+            return new Percentiles(l.percentile(0.50, now), l.percentile(0.95, now),
+                    l.percentile(0.99, now));
+        }
     }
 
-    /** One destination's live state, for {@code /discordlogger status}. */
-    public record Health(String id, int queued, int capacity, long waitMs) {}
+    /**
+     * One priority lane of a destination. {@code evicted} counts messages moved out
+     * of memory to make room for a higher lane — deferred to disk when there is a
+     * spool, and then also counted in {@code dropped}, which is everything lost.
+     */
+    public record Lane(Priority priority, int queued, long sent, long evicted, long dropped) {}
 
     /**
      * A snapshot of every destination, for reporting only.
@@ -106,19 +478,87 @@ public final class WebhookQueue {
      * <p>Returns the webhook <em>id</em>, never the URL. A status readout is the kind
      * of thing an admin pastes into a support thread, and the URL is a bearer
      * credential — the id is enough to tell two destinations apart and useless to
-     * anyone who reads it. Same reasoning as the worker thread names.
+     * anyone who reads it. Same reasoning as the log lines.
      */
     public static List<Health> health() {
-        final long now = System.currentTimeMillis();
         final List<Health> out = new ArrayList<>();
+        final long now = System.currentTimeMillis();
         for (Destination d : DESTINATIONS.values()) {
-            out.add(new Health(shortId(d.url), d.queue.size(), CAPACITY,
-                    Math.max(0L, d.nextSendAt - now)));
+            final List<Lane> lanes = new ArrayList<>();
+            for (Priority p : Priority.values()) {
+                lanes.add(new Lane(p, d.lanes.size(p), d.lanes.sent(p),
+                        d.lanes.evicted(p), d.lanes.dropped(p)));
+            }
+            out.add(new Health(shortId(d.url), d.lanes.size(), d.lanes.bytes(), d.lanes.budget(),
+                    RateLimits.waitMs(d.url),
+                    d.requests, d.connections, d.protocol, lanes,
+                    d.breaker.state(), d.breaker.status(),
+                    Math.max(0L, d.breaker.probeAt() - now),
+                    d.firstDeliveryMs, Percentiles.of(d.delivered, now), Percentiles.of(d.roundTrip, now),
+                    oldestMs(d, now)));
         }
         out.sort(Comparator.comparing(Health::id));
         return out;
     }
 
+    /**
+     * How long the longest-waiting message for a destination has waited: in hand, in
+     * memory, or on disk behind a spill. -1 with nothing waiting.
+     */
+    private static long oldestMs(Destination d, long now) {
+        long oldest = Math.min(d.handSince, d.lanes.oldest());
+        final Spool spool = d.spool;
+        final long spilled;
+        synchronized (d) {
+            spilled = spillStart(d.spilledFrom);
+        }
+        if (spool != null && spilled >= 0) oldest = Math.min(oldest, spool.queuedAt(spilled));
+        return oldest == Long.MAX_VALUE ? -1L : Math.max(0L, now - oldest);
+    }
+
+    /**
+     * How long after the queue started the first message reached Discord, or -1 if
+     * none has since. Mostly connection setup, on a server that logs anything at start.
+     */
+    public static long firstDeliveryMs() {
+        return firstDeliveryMs;
+    }
+
+    /**
+     * Memory held by every destination's queue together. The per-destination budget
+     * bounds each one; this is what they add up to, which is the figure that matters
+     * to the server when several webhooks are down at once.
+     */
+    public static long bytesQueued() {
+        long total = 0L;
+        for (Destination d : DESTINATIONS.values()) total += d.lanes.bytes();
+        return total;
+    }
+
+    /**
+     * Reads {@code delivery.*}. Called from {@code applyRuntimeConfig} on startup and
+     * every reload, before anything is queued; a new budget applies to destinations
+     * that already exist from their next message on.
+     */
+    public static void reload(JavaPlugin pl) {
+        final long kb = pl.getConfig().getLong("delivery.queue_kb", DEFAULT_QUEUE_BYTES / 1024L);
+        if (kb * 1024L < MIN_QUEUE_BYTES) {
+            pl.getLogger().warning("delivery.queue_kb is " + kb + " — using the minimum of "
+                    + (MIN_QUEUE_BYTES / 1024L) + " instead.");
+        }
+        configure(kb * 1024L,
+                pl.getConfig().getLong("delivery.append_window_seconds", 0L) * 1000L,
+                pl.getConfig().getLong("delivery.keep_warm_seconds", DEFAULT_KEEP_WARM_MS / 1000L) * 1000L);
+    }
+
+    /** {@link #reload}, once the values are read; each is clamped to what makes sense. */
+    static void configure(long bytes, long appendWindow, long keepWarm) {
+        queueBytes = Math.max(MIN_QUEUE_BYTES, bytes);
+        for (Destination d : DESTINATIONS.values()) d.lanes.budget(queueBytes);
+        appendWindowMs = Math.max(0L, appendWindow);
+        keepWarmMs = Math.max(0L, keepWarm);
+    }
+
     /** Whether the queue is accepting work at all. */
     public static boolean isRunning() {
         return running;
@@ -127,32 +567,363 @@ public final class WebhookQueue {
     /**
      * Accept work. Safe to call again on reload.
      *
-     * <p>Workers are created per destination on first use rather than here, because
-     * which webhooks exist is a config question that can change on reload.
+     * <p>Destinations are created on first use rather than here, because which
+     * webhooks exist is a config question that can change on reload.
      */
     public static synchronized void start(JavaPlugin pl) {
         plugin = pl;
+        start(new File(pl.getDataFolder(), "spool"), DISCORD);
+    }
+
+    /**
+     * {@link #start(JavaPlugin)}, spooling under {@code root} and sending through
+     * {@code via} — which is always {@link #DISCORD} but in tests.
+     */
+    static synchronized void start(File root, Transport via) {
+        transport = via;
+        if (via == DISCORD) DiscordWebhook.openClient();
+        if (!running) {
+            startedAt = System.currentTimeMillis();
+            firstDeliveryMs = -1L;
+        }
+
+        if (spoolRoot == null) {
+            spoolRoot = root;
+            spoolSync = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "DiscordLogger-Spool");
+                t.setDaemon(true);
+                return t;
+            });
+            spoolSync.scheduleWithFixedDelay(WebhookQueue::syncSpools,
+                    SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread t = new Thread(r, "DiscordLogger-Delivery");
+                // Not a daemon: a queued message should still get its chance if the JVM
+                // is winding down. shutdown() bounds how long that can take.
+                t.setDaemon(false);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(WebhookQueue::retireIdle,
+                    IDLE_SWEEP_MS, IDLE_SWEEP_MS, TimeUnit.MILLISECONDS);
+            scheduler.scheduleWithFixedDelay(() -> keepWarm(keepWarmMs),
+                    WARM_SWEEP_MS, WARM_SWEEP_MS, TimeUnit.MILLISECONDS);
+        }
         running = true;
+        onScheduler(WebhookQueue::replaySpools);
+        // Anything queued before start — during enable, say — has been waiting for this.
+        for (Destination dest : DESTINATIONS.values()) kick(dest);
+        // Whatever was being kept warm before a restart, connected again now rather
+        // than by the first message.
+        onScheduler(() -> keepWarm(keepWarmMs));
+    }
+
+    /**
+     * Opens a connection to every host the given webhooks are on, unless one is
+     * already open, and keeps it open from then on. Called with the configured
+     * webhooks once they are known, so the first messages after a boot find a
+     * connection waiting instead of each paying for the handshake. Replaces whatever
+     * was being kept warm.
+     */
+    public static void warm(Collection<String> urls) {
+        final List<String> canonical = new ArrayList<>(urls.size());
+        for (String url : urls) canonical.add(RateLimits.canonical(url));
+        KeepWarm.track(canonical);
+        onScheduler(() -> keepWarm(keepWarmMs));
+    }
+
+    /**
+     * A webhook URL as destinations are keyed: trimmed, with its host spelled one way.
+     * Two URLs share one queue, and one order, exactly when these are equal.
+     */
+    public static String canonical(String url) {
+        return RateLimits.canonical(url.trim());
+    }
+
+    /**
+     * The webhooks that may deliver out of order, replacing any before.
+     *
+     * <p>By default a destination keeps strict order: a message that fails is retried
+     * before anything queued behind it, so one flaky request holds up everything
+     * after it for its whole backoff — half a second, then one, then two. That is
+     * right for a channel that tells a story, and wasted on one that does not: a feed
+     * of teleports reads the same whichever arrives first. A destination listed here
+     * sets a failed batch aside instead, sends on, and sends the batch again once its
+     * backoff is up. Rate limits are not failures and still hold everything, since
+     * they hold the whole budget; an edit is never set aside, since what it replaces
+     * would no longer be what the channel shows.
+     */
+    public static void relaxOrder(Collection<String> urls) {
+        final Set<String> next = new HashSet<>();
+        for (String url : urls) next.add(RateLimits.canonical(url));
+        relaxed = next;
+    }
+
+    /**
+     * Sends a warm-up down every kept connection nothing has used for {@code idleMs}.
+     * Nothing goes through a webhook whose breaker is open — a dead webhook gets its
+     * checks from the breaker, on the breaker's backoff.
+     */
+    private static void keepWarm(long idleMs) {
+        if (!running || keepWarmMs == 0L) return;
+        for (String url : KeepWarm.due(System.currentTimeMillis(), idleMs, u -> {
+            final Destination d = DESTINATIONS.get(RateLimits.canonical(u));
+            return d == null || d.breaker.state() == Circuit.CLOSED;
+        })) {
+            DiscordWebhook.warmAsync(url);
+        }
+    }
+
+    private static void syncSpools() {
+        for (Spool spool : SPOOLS.values()) {
+            try {
+                spool.sync();
+            } catch (IOException e) {
+                log().warning("[DiscordWebhook] Could not write the on-disk queue for webhook ..."
+                        + shortId(spool.url) + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queue a message. Never blocks the caller — the main thread must not wait on
+     * Discord, nor on the disk: the spool only buffers here, and writes on its own thread.
+     */
+    static void enqueue(String url, Message message) {
+        if (url == null || url.isBlank() || message == null) return;
+
+        Destination dest;
+        final List<Message> gaveWay = new ArrayList<>(1);
+        final List<Message> lost = new ArrayList<>(1);
+        boolean deferred;
+        while (true) {
+            dest = destination(url);
+            synchronized (dest) {
+                if (!dest.retired) {
+                    deferred = dest.opened ? place(dest, message, gaveWay, lost) : hold(dest, message, lost);
+                    break;
+                }
+            }
+            // Retired between the lookup and the lock; it is out of the map by now.
+        }
+
+        if (deferred) warnFull(dest, true);
+        for (Message m : lost) dest.lanes.countDropped(m);
+        if (!lost.isEmpty()) warnFull(dest, false);
+        kick(dest);
+    }
+
+    /**
+     * Keeps a message in memory until the destination's spool is open, when it takes
+     * its place as if it had just arrived. Called holding the destination's lock.
+     * Bounded by the destination's budget, like the lanes; past it, the message is lost.
+     *
+     * @return false: nothing is on disk yet
+     */
+    private static boolean hold(Destination dest, Message message, List<Message> lost) {
+        if (!dest.early.isEmpty() && dest.earlyBytes + message.size() > dest.lanes.budget()) {
+            lost.add(message);
+        } else {
+            dest.early.addLast(message);
+            dest.earlyBytes += message.size();
+        }
+        return false;
+    }
+
+    /**
+     * Decides where a new message waits: memory, disk, or nowhere. Called holding the
+     * destination's lock.
+     *
+     * @return whether anything is now waiting on disk rather than in memory
+     */
+    private static boolean place(Destination dest, Message message,
+                                 List<Message> gaveWay, List<Message> lost) {
+        final Spool spool = dest.spool;
+        final boolean onDisk = spool != null && spool.append(message);
+        final int lane = message.priority.ordinal();
+
+        boolean deferred = false;
+        if (dest.spilledFrom[lane] >= 0) {
+            // This lane is already waiting on disk; join the back of it there.
+            if (!onDisk) lost.add(message);
+        } else if (admit(dest, message, gaveWay)) {
+            if (gaveWay.isEmpty()) dest.warnedFull = false;
+            for (Message m : gaveWay) {
+                // Still on disk: deferred, not lost.
+                if (m.seq >= 0) deferred = true;
+                else lost.add(m);
+            }
+        } else if (onDisk) {
+            dest.spilledFrom[lane] = message.seq;
+            deferred = true;
+        } else {
+            lost.add(message);
+        }
+        return deferred;
     }
 
-    /** Queue a payload. Never blocks the caller — the main thread must not wait on Discord. */
-    public static void enqueue(String url, String json) {
-        if (url == null || url.isBlank() || json == null) return;
+    /**
+     * Puts a message in memory, making room at the expense of lower lanes if it has
+     * to. Called holding the destination's lock.
+     *
+     * <p>With a spool, what gives way is a lower lane's NEWEST entry, which steps back
+     * to disk: that lane stays in order and nothing is lost. Without one something
+     * must be lost, and the oldest of the lowest lane — the message's own lane
+     * included — is the least missed. Bytes, not entries, decide when to stop: one
+     * large embed may need several chat lines to give way.
+     *
+     * @param gaveWay receives every entry evicted
+     * @return false if not enough would give way, in which case nothing has
+     */
+    private static boolean admit(Destination dest, Message message, List<Message> gaveWay) {
+        if (dest.lanes.offer(message)) return true;
 
-        final Destination dest = DESTINATIONS.computeIfAbsent(url, Destination::new);
+        final boolean durable = dest.spool != null;
+        final List<Message> evicted = new ArrayList<>();
+        while (true) {
+            final Message victim = durable
+                    ? dest.lanes.evict(message.priority, false, false)
+                    : dest.lanes.evict(message.priority, true, true);
+            if (victim == null) break;
+            evicted.add(victim);
+            if (dest.lanes.offer(message)) {
+                for (Message v : evicted) {
+                    if (v.seq < 0) continue;
+                    final int i = v.priority.ordinal();
+                    dest.spilledFrom[i] = dest.spilledFrom[i] < 0 ? v.seq : Math.min(dest.spilledFrom[i], v.seq);
+                }
+                gaveWay.addAll(evicted);
+                return true;
+            }
+        }
+        // Not enough room even so; put back what was taken, in its place.
+        for (int i = evicted.size() - 1; i >= 0; i--) dest.lanes.restore(evicted.get(i), !durable);
+        return false;
+    }
 
-        if (!dest.queue.offer(json)) {
-            Counters.dropped();
+    /**
+     * Says, once per outage, that a destination's memory is full — and whether that
+     * means messages are waiting on disk or being lost.
+     */
+    private static void warnFull(Destination dest, boolean holding) {
+        if (holding) {
             if (!dest.warnedFull) {
                 dest.warnedFull = true;
-                log().warning("[DiscordWebhook] Send queue for webhook ..." + shortId(url)
-                        + " is full (" + CAPACITY + " pending) — dropping messages until it "
-                        + "drains. Discord may be unreachable, or this server is logging "
-                        + "faster than that webhook allows.");
+                log().warning("[DiscordWebhook] Send queue for webhook ..." + shortId(dest.url)
+                        + " is full (" + (dest.lanes.budget() / 1024L) + " KB queued) — holding further messages "
+                        + "on disk until it drains. Discord may be unreachable, or this "
+                        + "server is logging faster than that webhook allows.");
             }
             return;
         }
-        dest.warnedFull = false;
+
+        Counters.dropped();
+        final String url = dest.url;
+        if (!dest.warnedFull) {
+            dest.warnedFull = true;
+            log().warning("[DiscordWebhook] Send queue for webhook ..." + shortId(url)
+                    + " is full (" + (dest.lanes.budget() / 1024L) + " KB queued"
+                    + (dest.spool != null ? ", and its disk backlog is at its limit" : "")
+                    + ") — dropping messages until it drains. Discord may be unreachable, "
+                    + "or this server is logging faster than that webhook allows.");
+        }
+    }
+
+    /**
+     * The destination for a URL, created on first use. Its spool is not opened here —
+     * that is disk work, and this runs on whatever thread queued the message — but by
+     * its first step; see {@link #open}.
+     */
+    private static Destination destination(String url) {
+        return DESTINATIONS.computeIfAbsent(RateLimits.canonical(url), Destination::new);
+    }
+
+    /**
+     * Opens a destination's spool, on the scheduler thread, and lets the messages held
+     * meanwhile take their places. Whatever an earlier run left on disk goes ahead of
+     * them: order across a restart is the same guarantee as order within one.
+     *
+     * <p>A spool kept from before the destination retired is taken as it is: a
+     * destination only retires with nothing left to deliver.
+     */
+    private static void open(Destination dest) {
+        Spool spool = SPOOLS.get(dest.url);
+        final long first;
+        if (spool != null) {
+            first = -1L;
+        } else {
+            spool = openSpool(dest.url);
+            if (spool != null) SPOOLS.put(dest.url, spool);
+            first = spool != null ? spool.firstPending() : -1L;
+        }
+
+        final List<Message> gaveWay = new ArrayList<>();
+        final List<Message> lost = new ArrayList<>();
+        boolean deferred = false;
+        synchronized (dest) {
+            dest.spool = spool;
+            if (first >= 0) Arrays.fill(dest.spilledFrom, first);
+            dest.opened = true;
+            Message m;
+            while ((m = dest.early.pollFirst()) != null) {
+                deferred |= place(dest, m, gaveWay, lost);
+                gaveWay.clear();
+            }
+            dest.earlyBytes = 0L;
+        }
+
+        if (first >= 0) {
+            log().info("[DiscordWebhook] Sending messages for webhook ..." + shortId(dest.url)
+                    + " left undelivered when the server last stopped.");
+        }
+        if (deferred) warnFull(dest, true);
+        for (Message m : lost) dest.lanes.countDropped(m);
+        if (!lost.isEmpty()) warnFull(dest, false);
+    }
+
+    /**
+     * The spool for a webhook, or null if there is no usable disk — in which case the
+     * destination still works, as it did before spooling existed, just without the
+     * guarantee. Named by webhook id: the directory listing must not hold the token.
+     */
+    private static Spool openSpool(String url) {
+        final File root = spoolRoot;
+        if (root == null) return null;
+        try {
+            return Spool.open(root, spoolName(url), url);
+        } catch (IOException e) {
+            log().warning("[DiscordWebhook] Could not open the on-disk queue for webhook ..."
+                    + shortId(url) + " (" + e.getMessage() + ") — its messages will be held "
+                    + "in memory only, and lost if the server stops before they are sent.");
+            return null;
+        }
+    }
+
+    /**
+     * The spool directory for a destination: the webhook id, plus a hash of the query
+     * when there is one, since {@code ?thread_id=} makes one webhook several
+     * destinations and each needs its own order on disk.
+     */
+    private static String spoolName(String url) {
+        final int q = url.indexOf('?');
+        return q < 0 ? shortId(url)
+                : shortId(url) + "-" + Integer.toHexString(url.substring(q).hashCode());
+    }
+
+    /**
+     * Picks up whatever an earlier run left on disk, by making a destination for every
+     * spool there: opening it finds what was never delivered. Runs on the scheduler
+     * thread, since it lists the spool directory.
+     */
+    private static void replaySpools() {
+        final File root = spoolRoot;
+        if (root == null) return;
+
+        for (String url : Spool.existing(root).keySet()) {
+            if (!url.startsWith("https://")) continue;
+            kick(destination(url));
+        }
     }
 
     /**
@@ -162,142 +933,767 @@ public final class WebhookQueue {
     public static void shutdown() {
         running = false;
 
-        // The drain budget is shared, not per destination: destinations drain in
-        // parallel, so waiting SHUTDOWN_DRAIN_MS on each in turn would multiply the
-        // shutdown delay by however many webhooks are configured.
+        // Wake every destination: one lingering over plain text sends it now, since
+        // the deadline is better spent sending than waiting for lines that are not
+        // coming. Destinations drain side by side, so one budget covers them all.
+        for (Destination dest : DESTINATIONS.values()) kick(dest);
         final long deadline = System.currentTimeMillis() + SHUTDOWN_DRAIN_MS;
-        for (Destination dest : DESTINATIONS.values()) {
-            final long left = deadline - System.currentTimeMillis();
-            if (left <= 0) break;
+        while (busy() && System.currentTimeMillis() < deadline) {
             try {
-                dest.worker.join(left);
+                Thread.sleep(25L);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
             }
         }
 
+        final ScheduledExecutorService delivery = scheduler;
+        scheduler = null;
+        if (delivery != null) {
+            delivery.shutdownNow();
+            try {
+                delivery.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
         for (Destination dest : DESTINATIONS.values()) {
-            if (dest.worker.isAlive()) {
-                final int pending = dest.queue.size();
-                if (pending > 0) {
-                    log().warning("[DiscordWebhook] Shutting down with " + pending
-                            + " message(s) still queued for webhook ..." + shortId(dest.url)
-                            + " — they will not be delivered.");
-                }
-                dest.worker.interrupt();
+            int pending = dest.lanes.size() + dest.singles.size() + dest.early.size()
+                    + (dest.carry != null ? 1 : 0) + (dest.batch != null ? dest.batch.size() : 0);
+            for (Retry r : dest.retries) pending += r.batch().size();
+            if (pending > 0) {
+                log().warning("[DiscordWebhook] Shutting down with " + pending
+                        + " message(s) still queued for webhook ..." + shortId(dest.url)
+                        + (dest.spool != null
+                            ? " — they are kept on disk and will be sent on the next start."
+                            : " — they will not be delivered."));
+            }
+        }
+
+        final ScheduledExecutorService sync = spoolSync;
+        spoolSync = null;
+        if (sync != null) {
+            // Not shutdownNow: interrupting a sync mid-write closes its file channel, and
+            // what it had taken to write — records and acks alike — would be lost.
+            sync.shutdown();
+            try {
+                sync.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Spool spool : SPOOLS.values()) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                log().warning("[DiscordWebhook] Could not write the on-disk queue for webhook ..."
+                        + shortId(spool.url) + " while stopping: " + e.getMessage());
             }
         }
+        spoolRoot = null;
+        SPOOLS.clear();
         DESTINATIONS.clear();
+        RateLimits.clear();
+        KeepWarm.clear();
+
+        // Last, so a send still finishing is not cut off mid-request.
+        DiscordWebhook.closeClient();
+        transport = DISCORD;
     }
 
     // -------------------------------------------------------------------------
 
-    private static void runLoop(Destination dest) {
-        while (true) {
-            final String json;
-            try {
-                if (running) {
-                    // Poll rather than take() so a stopped queue can notice and exit.
-                    json = dest.queue.poll(250, TimeUnit.MILLISECONDS);
-                    if (json == null) continue;
-                } else {
-                    // Draining: leave as soon as the backlog is clear.
-                    json = dest.queue.poll();
-                    if (json == null) return;
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+    /**
+     * Whether any destination still has something it can send. One whose breaker is
+     * open has nothing it can send, so a shutdown does not wait on it.
+     */
+    private static boolean busy() {
+        for (Destination dest : DESTINATIONS.values()) {
+            if (dest.breaker.state() != Circuit.CLOSED) continue;
+            if (!dest.opened || !dest.idle || dest.inFlight || !dest.lanes.isEmpty() || dest.setAside > 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Asks the scheduler to move a destination on. Cheap and safe from any thread, and
+     * as often as you like: a step already queued absorbs the rest.
+     */
+    private static void kick(Destination dest) {
+        final ScheduledExecutorService s = scheduler;
+        if (s == null || !dest.kicked.compareAndSet(false, true)) return;
+        try {
+            s.execute(() -> pump(dest));
+        } catch (RejectedExecutionException e) {
+            dest.kicked.set(false);   // shutting down; what is left stays queued or on disk
+        }
+    }
+
+    /** Steps a destination again once {@code delayMs} has passed. */
+    private static void wake(Destination dest, long delayMs) {
+        final ScheduledExecutorService s = scheduler;
+        if (s == null) return;
+        final long at = System.currentTimeMillis() + delayMs;
+        // One already due sooner will step it anyway, and find out the rest then.
+        if (dest.wakeAt != 0L && dest.wakeAt <= at) return;
+        dest.wakeAt = at;
+        try {
+            s.schedule(() -> {
+                if (dest.wakeAt == at) dest.wakeAt = 0L;
+                pump(dest);
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            dest.wakeAt = 0L;
+        }
+    }
+
+    /**
+     * One step of a destination's delivery, on the scheduler thread: pick up the next
+     * batch if there is none, let it gather company, wait out its budget, send it.
+     * Anything that has to wait returns and arranges to be stepped again — a response,
+     * a wake-up, or a new message — rather than holding the thread.
+     */
+    private static void pump(Destination dest) {
+        try {
+            step(dest);
+        } finally {
+            dest.handSince = handSince(dest);
+            dest.setAside = dest.retries.size();
+        }
+    }
+
+    /** {@link #pump}, less keeping {@link Destination#handSince} and {@link Destination#setAside} up to date. */
+    private static void step(Destination dest) {
+        dest.kicked.set(false);
+        if (dest.inFlight || dest.retired) return;
+        try {
+            if (!dest.opened) open(dest);
+            long now = System.currentTimeMillis();
+            if (dest.breaker.state() != Circuit.CLOSED) {
+                // Out of service. A revoked webhook's messages are discarded as they
+                // come; an unreachable one's stay where they are.
+                if (dest.breaker.revoked()) discard(dest);
+                scheduleProbe(dest);
+                return;
+            }
+            if (now < dest.notBefore) {
+                wake(dest, dest.notBefore - now);
                 return;
             }
 
-            try {
-                deliver(dest, json);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            if (dest.batch == null && !resume(dest, now)) {
+                final Message next = next(dest);
+                if (next == null) {
+                    dest.idle = dest.retries.isEmpty();
+                    if (!dest.idle) wake(dest, Math.max(1L, firstDue(dest) - now));
+                    return;
+                }
+                dest.idle = false;
+                dest.lastActive = now;
+                dest.batch = new ArrayList<>(DiscordWebhook.MAX_EMBEDS);
+                dest.batch.add(next);
+                // No lingering while draining for shutdown.
+                dest.lingerUntil = running && next.kind == Message.Kind.CONTENT && !dest.single
+                        ? now + LINGER_MS : now;
+            }
+
+            if (dest.json == null) {
+                // Still open: take whatever has arrived since the last step.
+                if (dest.carry == null && !dest.single) dest.carry = fillBatch(dest.batch, dest.lanes);
+                if (dest.carry == null && !full(dest.batch) && running && now < dest.lingerUntil) {
+                    wake(dest, dest.lingerUntil - now);
+                    return;
+                }
+                dest.editing = canAppend(dest, now);
+            }
+
+            // The budget this webhook shares — with other destinations for it, and with
+            // everything under a global limit. Claiming it is what keeps us from earning
+            // a 429 in the first place.
+            final long delay = RateLimits.reserve(dest.url, dest.editing);
+            if (delay > 0) {
+                wake(dest, Math.min(delay, MAX_WAIT_MS));
                 return;
-            } catch (Exception e) {
-                // A single bad message must never kill the worker.
-                log().warning("[DiscordWebhook] Unexpected error delivering message: " + e);
             }
+
+            dest.inFlight = true;
+            dest.sentAt = System.currentTimeMillis();
+            if (dest.editing) {
+                if (dest.json == null) dest.json = DiscordWebhook.payload(joined(dest.openParts, dest.batch));
+                transport.edit(dest.url, dest.openId, dest.json)
+                        .thenAccept(res -> onResponse(dest, res));
+            } else {
+                if (dest.json == null) dest.json = DiscordWebhook.payload(dest.batch);
+                transport.post(dest.url, dest.json, appends(dest.batch.get(0)))
+                        .thenAccept(res -> onResponse(dest, res));
+            }
+        } catch (Exception e) {
+            // A single bad message must never stall the destination.
+            log().warning("[DiscordWebhook] Unexpected error delivering message: " + e);
+            dest.inFlight = false;
+            if (dest.batch != null) fail(dest, dest.batch);
+            finish(dest);
+            kick(dest);
+        }
+    }
+
+    /** When the oldest message in hand or set aside was queued. Scheduler thread only. */
+    private static long handSince(Destination dest) {
+        long oldest = Long.MAX_VALUE;
+        if (dest.batch != null) {
+            for (Message m : dest.batch) oldest = Math.min(oldest, m.queuedAt);
+        }
+        if (dest.carry != null) oldest = Math.min(oldest, dest.carry.queuedAt);
+        for (Message m : dest.singles) oldest = Math.min(oldest, m.queuedAt);
+        for (Retry r : dest.retries) {
+            for (Message m : r.batch()) oldest = Math.min(oldest, m.queuedAt);
+        }
+        return oldest;
+    }
+
+    /**
+     * Whether the batch in hand can be added to the message posted before it: it is
+     * all appendable, that message is still within its window, and the two together
+     * are within Discord's limits for one message. If not, the batch is posted, and
+     * becomes the message that what follows is added to.
+     */
+    private static boolean canAppend(Destination dest, long now) {
+        final List<Message> batch = dest.batch;
+        if (dest.openId == null || dest.single || !appends(batch.get(0))) return false;
+        if (now >= dest.openUntil) {
+            closeOpen(dest);
+            return false;
+        }
+        return fits(dest.openParts, batch);
+    }
+
+    /** Whether two runs of messages of the same kind make one message Discord will take. */
+    static boolean fits(List<Message> open, List<Message> batch) {
+        if (open.get(0).kind != batch.get(0).kind) return false;
+        if (batch.get(0).kind == Message.Kind.CONTENT) {
+            return lineChars(open) + 1 + lineChars(batch) <= DiscordWebhook.MAX_CONTENT_CHARS;
+        }
+        int chars = 0;
+        for (Message m : open) chars += m.chars;
+        for (Message m : batch) chars += m.chars;
+        return open.size() + batch.size() <= DiscordWebhook.MAX_EMBEDS
+                && chars <= DiscordWebhook.MAX_EMBED_CHARS;
+    }
+
+    private static List<Message> joined(List<Message> open, List<Message> batch) {
+        final List<Message> all = new ArrayList<>(open.size() + batch.size());
+        all.addAll(open);
+        all.addAll(batch);
+        return all;
+    }
+
+    /** Whether a message is to be appended where it can, which needs appending on at all. */
+    private static boolean appends(Message m) {
+        return m.append && appendWindowMs > 0L;
+    }
+
+    /** Nothing more is added to the last message posted. */
+    private static void closeOpen(Destination dest) {
+        dest.openId = null;
+        dest.openParts = null;
+        dest.openUntil = 0L;
+    }
+
+    /**
+     * Takes back the set-aside batch that has been due longest, if one is due: it was
+     * queued before anything still waiting, so it goes first. Its payload is already
+     * built, so it is sent as it was.
+     */
+    private static boolean resume(Destination dest, long now) {
+        Retry due = null;
+        for (Retry r : dest.retries) {
+            if (r.dueAt() <= now && (due == null || r.dueAt() < due.dueAt())) due = r;
+        }
+        if (due == null) return false;
+        dest.retries.remove(due);
+        dest.batch = due.batch();
+        dest.json = due.json();
+        dest.single = due.single();
+        dest.attempt = due.attempt();
+        dest.held = due.held();
+        dest.idle = false;
+        dest.lastActive = now;
+        return true;
+    }
+
+    /** When the first set-aside batch is due; only asked while there is one. */
+    private static long firstDue(Destination dest) {
+        long first = Long.MAX_VALUE;
+        for (Retry r : dest.retries) first = Math.min(first, r.dueAt());
+        return first;
+    }
+
+    /**
+     * Retries the batch in hand at {@code dueAt}: to one side, with the destination
+     * moving on to what follows, when it is relaxed and has room; otherwise in place,
+     * with everything behind it waiting too.
+     */
+    private static void retryAt(Destination dest, long dueAt) {
+        if (dest.editing || dest.retries.size() >= MAX_SET_ASIDE || !relaxed.contains(dest.url)) {
+            dest.notBefore = dueAt;
+            return;
+        }
+        dest.retries.add(new Retry(dest.batch, dest.json, dest.single, dest.attempt, dest.held, dueAt));
+        finish(dest);
+    }
+
+    /**
+     * What to send next: a message split out of a rejected batch, then the one that
+     * did not fit the last batch, then the queue.
+     */
+    private static Message next(Destination dest) {
+        dest.single = !dest.singles.isEmpty();
+        if (dest.single) return dest.singles.pollFirst();
+        if (dest.carry != null) {
+            final Message m = dest.carry;
+            dest.carry = null;
+            return m;
+        }
+        if (running) refill(dest);
+        return dest.lanes.poll();
+    }
+
+    /** Hands a response back to the scheduler thread, which owns the state it changes. */
+    private static void onResponse(Destination dest, DiscordWebhook.Response res) {
+        if (!onScheduler(() -> handle(dest, res))) {
+            // Stopped while the request was out. Unacked, so a spooled batch is sent
+            // again on the next start.
+            dest.inFlight = false;
+        }
+    }
+
+    /** Runs a task on the scheduler thread; false if it has stopped. */
+    private static boolean onScheduler(Runnable task) {
+        final ScheduledExecutorService s = scheduler;
+        if (s == null) return false;
+        try {
+            s.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fails everything waiting for a revoked webhook without sending it: the batch in
+     * hand, and whatever the queue and its spool hold behind it. Acked, so the spool
+     * lets go of it too. Bounded per step by {@link #DISCARD_STEP}.
+     */
+    private static void discard(Destination dest) {
+        int n = 0;
+        if (dest.batch != null) {
+            for (Message m : dest.batch) dest.lanes.countDropped(m);
+            ack(dest, dest.batch);
+            n += dest.batch.size();
+            finish(dest);
+        }
+        for (Retry r : dest.retries) {
+            for (Message m : r.batch()) dest.lanes.countDropped(m);
+            ack(dest, r.batch());
+            n += r.batch().size();
+        }
+        dest.retries.clear();
+        Message m;
+        while (n < DISCARD_STEP && (m = next(dest)) != null) {
+            dest.lanes.countDropped(m);
+            final Spool spool = dest.spool;
+            if (spool != null) spool.ack(m.seq);
+            n++;
+        }
+        dest.single = false;
+        if (n > 0) Counters.failed(n);
+        if (n >= DISCARD_STEP) kick(dest);
+        else dest.idle = true;
+    }
+
+    /** Arranges the breaker's next check, unless one is already on its way. */
+    private static void scheduleProbe(Destination dest) {
+        final ScheduledExecutorService s = scheduler;
+        if (s == null || dest.probeScheduled || dest.breaker.state() != Circuit.OPEN) return;
+        dest.probeScheduled = true;
+        final long delay = Math.max(0L, dest.breaker.probeAt() - System.currentTimeMillis());
+        try {
+            s.schedule(() -> probe(dest), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            dest.probeScheduled = false;
         }
     }
 
-    /** Send one message, retrying transient failures and honouring rate limits. */
-    private static void deliver(Destination dest, String json) throws InterruptedException {
-        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
-            waitUntilAllowed(dest);
+    /** Checks the webhook on a thread of its own, and hands the answer back. */
+    private static void probe(Destination dest) {
+        if (dest.retired || dest.breaker.state() != Circuit.OPEN) {
+            dest.probeScheduled = false;
+            return;
+        }
+        dest.breaker.probing();
+        PROBES.newThread(() -> {
+            final int status = transport.probe(dest.url);
+            onScheduler(() -> probed(dest, status));
+        }).start();
+    }
 
-            final DiscordWebhook.Response res = DiscordWebhook.post(dest.url, json);
+    private static void probed(Destination dest, int status) {
+        dest.probeScheduled = false;
+        if (dest.breaker.probed(status, System.currentTimeMillis())) {
+            log().info("[DiscordWebhook] Webhook ..." + shortId(dest.url)
+                    + " answers again — resuming delivery.");
+            dest.lastActive = System.currentTimeMillis();
+            pump(dest);
+        } else {
+            scheduleProbe(dest);
+        }
+    }
+
+    /**
+     * Acts on the response to a batch: done, again, or again later.
+     *
+     * <p>A 400 on a combined message is retried one message at a time. Discord rejects
+     * the whole request for one bad embed, and without the split a single malformed
+     * message would take up to nine good ones down with it.
+     *
+     * <p>An edit refused with 404 or 400 is posted instead. A 404 there means the
+     * message is gone — a moderator deleted it — not the webhook, so it must not
+     * count against the breaker; if the webhook is gone too, the post will say so.
+     */
+    private static void handle(Destination dest, DiscordWebhook.Response res) {
+        dest.inFlight = false;
+        final long now = System.currentTimeMillis();
+        dest.lastActive = now;
+        final List<Message> batch = dest.batch;
+        try {
+            recordConnection(dest, res);
+            if (res.protocol() != null) dest.roundTrip.record(now - dest.sentAt, now);
+            RateLimits.update(dest.url, dest.editing, res);
+            if (dest.editing && (res.status() == 404 || res.status() == 400)) {
+                closeOpen(dest);
+                dest.editing = false;
+                dest.json = null;
+                return;
+            }
+            final boolean opened = dest.breaker.record(res.status(), res.code(), now);
 
             if (res.rateLimited()) {
                 Counters.rateLimited();
-                // Told to back off explicitly — wait it out and retry the SAME message
-                // without consuming an attempt, since nothing was wrong with it.
+                // Told to back off explicitly — the shared budget now holds every
+                // destination drawing on it until the retry time, this one included.
+                // Retry the SAME message without consuming an attempt; nothing was wrong with it.
                 final long waitMs = clampWait(res.retryAfterMs());
-                log().warning("[DiscordWebhook] Rate limited by Discord on webhook ..."
-                        + shortId(dest.url) + " — retrying in " + waitMs + "ms ("
-                        + dest.queue.size() + " queued for it).");
-                sleep(waitMs);
-                attempt--;
-                continue;
+                log().warning("[DiscordWebhook] Rate limited by Discord "
+                        + (res.global() ? "globally (all webhooks)" : "on webhook ..." + shortId(dest.url))
+                        + " — retrying in " + waitMs + "ms ("
+                        + dest.lanes.size() + " queued for it).");
+                return;
             }
 
             if (res.success()) {
-                Counters.sent();
-                applyRateLimitHints(dest, res);
+                if (dest.firstDeliveryMs < 0L) dest.firstDeliveryMs = now - dest.created;
+                if (firstDeliveryMs < 0L) firstDeliveryMs = now - startedAt;
+                Counters.sent(batch.size());
+                dest.lanes.countSent(batch);
+                for (Message m : batch) dest.delivered.record(now - m.queuedAt, now);
+                ack(dest, batch);
+                if (dest.editing) {
+                    dest.openParts = joined(dest.openParts, batch);
+                } else if (appends(batch.get(0)) && res.messageId() != null) {
+                    dest.openId = res.messageId();
+                    dest.openParts = batch;
+                    dest.openUntil = now + appendWindowMs;
+                } else {
+                    closeOpen(dest);
+                }
+                if (dest.warnedHolding) {
+                    dest.warnedHolding = false;
+                    log().info("[DiscordWebhook] Webhook ..." + shortId(dest.url)
+                            + " is reachable again — sending what was held.");
+                }
+                finish(dest);
                 return;
             }
 
-            if (res.retryable()) {
-                if (attempt < MAX_ATTEMPTS) {
-                    final long backoff = clampWait(500L * (1L << (attempt - 1))); // 0.5s, 1s, 2s…
-                    sleep(backoff);
-                    continue;
+            // A 404 that is not the webhook's: the thread it posts to is gone or archived.
+            // Held and retried like an outage, since it can come back.
+            final boolean noThread = res.status() == 404 && !Breaker.isRefusal(404, res.code());
+            if (res.retryable() || noThread) {
+                if (opened) {
+                    // Keep the batch in hand; it goes first once the webhook answers.
+                    dest.attempt = 1;
+                    dest.held = 0;
+                    dest.notBefore = 0L;
+                    log().warning("[DiscordWebhook] Webhook ..." + shortId(dest.url) + " failed "
+                            + Breaker.FAILURE_RUN + " times in a row (last status " + res.status()
+                            + ") — pausing delivery to it and checking again in "
+                            + (Breaker.FIRST_PROBE_MS / 1000L) + "s. Its messages wait"
+                            + (dest.spool != null ? " on disk." : " in memory, up to the queue limit."));
+                    return;
+                }
+                if (dest.attempt < MAX_ATTEMPTS) {
+                    // 0.5s, 1s, 2s…
+                    final long dueAt = now + clampWait(500L * (1L << (dest.attempt - 1)));
+                    dest.attempt++;
+                    retryAt(dest, dueAt);
+                    return;
                 }
-                Counters.failed();
-                log().warning("[DiscordWebhook] Giving up on a message after " + MAX_ATTEMPTS
-                        + " attempts (last status " + res.status() + ").");
+                if (dest.spool != null) {
+                    // On disk, a transient failure is never a reason to discard: keep
+                    // trying at a slow, capped pace while running, and when stopping,
+                    // leave it unacked for the next start.
+                    if (!running) {
+                        finish(dest);
+                        return;
+                    }
+                    if (!dest.warnedHolding) {
+                        dest.warnedHolding = true;
+                        log().warning(noThread
+                                ? "[DiscordWebhook] Discord cannot find the thread webhook ..." + shortId(dest.url)
+                                    + " posts to (code " + res.code() + ") — holding its messages on disk and "
+                                    + "retrying until it is back. Check the thread_id in config.yml."
+                                : "[DiscordWebhook] Discord is not accepting messages for webhook ..."
+                                    + shortId(dest.url) + " (last status " + res.status() + ") — holding "
+                                    + "them on disk and retrying until it does.");
+                    }
+                    retryAt(dest, now + clampWait(500L << Math.min(dest.held++, 7)));  // 0.5s doubling, capped
+                    return;
+                }
+                fail(dest, batch);
+                log().warning("[DiscordWebhook] Giving up on " + describe(batch) + " after "
+                        + MAX_ATTEMPTS + " attempts (last status " + res.status() + ").");
+                finish(dest);
+                return;
+            }
+
+            if (res.status() == 400 && batch.size() > 1) {
+                for (int i = batch.size() - 1; i >= 0; i--) dest.singles.addFirst(batch.get(i));
+                finish(dest);
                 return;
             }
 
             // 4xx that isn't 429: bad/deleted webhook, malformed payload — retrying
             // can't help, so say something actionable and move on.
-            Counters.failed();
             if (res.status() == 404) Counters.notFound();
-            log().warning("[DiscordWebhook] Discord rejected a message with HTTP " + res.status()
-                    + (res.status() == 404
-                        ? " — webhook ..." + shortId(dest.url) + " no longer exists. Check the"
-                          + " webhook URLs in config.yml."
-                        : " — not retrying."));
-            return;
+            if (opened) {
+                // Said once, here, rather than once per queued message: pump discards
+                // the batch and everything behind it.
+                log().warning("[DiscordWebhook] Discord rejected webhook ..." + shortId(dest.url)
+                        + " with HTTP " + res.status()
+                        + (res.status() == 404 ? " — it no longer exists." : " — its token is no longer valid.")
+                        + " Discarding messages for it without sending until it answers again,"
+                        + " checking less often the longer it does not. Check the webhook URLs in config.yml.");
+                return;
+            }
+            fail(dest, batch);
+            log().warning("[DiscordWebhook] Discord rejected " + describe(batch) + " with HTTP "
+                    + res.status() + " — not retrying.");
+            finish(dest);
+        } catch (Exception e) {
+            log().warning("[DiscordWebhook] Unexpected error delivering message: " + e);
+            // Unless it was already done with before the error.
+            if (batch != null && dest.batch == batch) fail(dest, batch);
+            finish(dest);
+        } finally {
+            pump(dest);
         }
     }
 
-    /** Respect the pacing derived from the previous response's rate-limit headers. */
-    private static void waitUntilAllowed(Destination dest) throws InterruptedException {
-        final long delay = dest.nextSendAt - System.currentTimeMillis();
-        if (delay > 0) sleep(Math.min(delay, MAX_WAIT_MS));
+    /** Done with the current batch, however it went. */
+    private static void finish(Destination dest) {
+        dest.batch = null;
+        dest.json = null;
+        dest.single = false;
+        dest.editing = false;
+        dest.attempt = 1;
+        dest.held = 0;
+        dest.notBefore = 0L;
     }
 
     /**
-     * If Discord says this window's budget is spent, hold the next send until it resets.
-     * This is what keeps us from earning a 429 in the first place.
+     * Drops destinations that have had nothing to do for {@link #IDLE_RETIRE_MS}, so
+     * a webhook used once a day — or one removed from the config by a reload — does
+     * not keep its queue, its tallies and its timers for the life of the server. Its
+     * spool stays open in {@link #SPOOLS}: reopening it would read it from disk every
+     * time a quiet webhook woke up.
      */
-    private static void applyRateLimitHints(Destination dest, DiscordWebhook.Response res) {
-        if (res.remaining() != null && res.remaining() <= 0 && res.resetAfterMs() != null) {
-            dest.nextSendAt = System.currentTimeMillis() + clampWait(res.resetAfterMs());
-        } else {
-            dest.nextSendAt = 0L;
+    private static void retireIdle() {
+        final long cutoff = System.currentTimeMillis() - IDLE_RETIRE_MS;
+        for (Destination dest : DESTINATIONS.values()) {
+            // Not while its breaker is open: the next message would go straight to a
+            // webhook already known to be dead, and status would stop saying so.
+            if (!dest.idle || dest.inFlight || dest.batch != null || dest.carry != null
+                    || !dest.singles.isEmpty() || !dest.retries.isEmpty() || dest.lastActive > cutoff
+                    || dest.breaker.state() != Circuit.CLOSED) continue;
+            synchronized (dest) {
+                // Under enqueue's lock, so nothing can slip in between the check and
+                // the removal.
+                if (!dest.opened || !dest.lanes.isEmpty() || spillStart(dest.spilledFrom) >= 0) continue;
+                dest.retired = true;
+                DESTINATIONS.remove(dest.url, dest);
+            }
         }
     }
 
-    private static long clampWait(long ms) {
-        return Math.max(0L, Math.min(ms, MAX_WAIT_MS));
+    /**
+     * Reads messages held on disk back into memory, once memory has run dry. Returns
+     * without doing anything unless one of this destination's lanes has spilled.
+     *
+     * <p>The spool is one sequence across lanes, so this reads from the earliest
+     * spill position and keeps only records of a spilled lane at or past that lane's
+     * position — everything else there is already in memory or done with.
+     *
+     * <p>Records are taken, and spilling ended, under the same lock enqueue takes —
+     * otherwise a message spooled between the read and the check would be stranded
+     * on disk until the next restart, or one evicted meanwhile skipped over.
+     */
+    private static void refill(Destination dest) {
+        final Spool spool = dest.spool;
+        final long from;
+        synchronized (dest) {
+            from = spillStart(dest.spilledFrom);
+        }
+        if (from < 0 || spool == null || !dest.lanes.isEmpty()) return;
+
+        try {
+            spool.sync();
+            final List<Message> read = spool.read(from, REFILL_BATCH);
+            synchronized (dest) {
+                final long[] spill = dest.spilledFrom;
+                long through = from;   // next sequence number not yet looked at
+                for (Message m : read) {
+                    final int lane = m.priority.ordinal();
+                    if (spill[lane] >= 0 && m.seq >= spill[lane]) {
+                        if (!dest.lanes.offer(m)) break;   // refilled by new arrivals; stop here
+                        spill[lane] = m.seq + 1;
+                    }
+                    through = m.seq + 1;
+                }
+                if (read.isEmpty() || through >= spool.nextSeq()) {
+                    Arrays.fill(spill, -1L);
+                    dest.warnedFull = false;
+                } else {
+                    for (int i = 0; i < spill.length; i++) {
+                        if (spill[i] >= 0 && spill[i] < through) spill[i] = through;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log().warning("[DiscordWebhook] Could not read the on-disk queue for webhook ..."
+                    + shortId(dest.url) + ": " + e.getMessage() + " — retrying shortly.");
+        }
+    }
+
+    /**
+     * Gives up on a batch: counted as failed, and as lost in its lanes for
+     * {@code /discordlogger status}, and acked, so the spool does not hold it — and
+     * send it again — on every start from now on.
+     */
+    private static void fail(Destination dest, List<Message> batch) {
+        Counters.failed(batch.size());
+        for (Message m : batch) dest.lanes.countDropped(m);
+        ack(dest, batch);
+    }
+
+    /** Marks a batch done with, so its messages are dropped from disk. */
+    private static void ack(Destination dest, List<Message> batch) {
+        final Spool spool = dest.spool;
+        if (spool == null) return;
+        for (Message m : batch) spool.ack(m.seq);
     }
 
-    private static void sleep(long ms) throws InterruptedException {
-        if (ms > 0) Thread.sleep(ms);
+    /**
+     * Everything waiting that can join a batch.
+     *
+     * <p>Discord takes up to {@link DiscordWebhook#MAX_EMBEDS} embeds per message, so a
+     * backlog of embeds drains up to ten times faster than it would one per request —
+     * and a backlog is exactly when the rate limit is the bottleneck. Only what is
+     * already queued is taken; waiting for more would add latency to a quiet channel
+     * to save requests it was never short of.
+     *
+     * <p>Plain text is packed the same way, as lines of one message up to Discord's
+     * {@link DiscordWebhook#MAX_CONTENT_CHARS}. Unlike embeds it also lingers for up
+     * to {@link #LINGER_MS} for more: plain mode is what command-heavy servers choose,
+     * their lines arrive a few at a time rather than in one backlog, and a quarter of
+     * a second is the difference between one request and five. The lingering is the
+     * caller's: this never waits, and is called again as lines arrive.
+     *
+     * <p>Order is kept by construction: the batch is a run of consecutive messages,
+     * and the first one that does not fit is handed back to be sent next. A run is
+     * also all to be appended or all not, since one is sent as an edit and the other
+     * as a post.
+     *
+     * @param batch   holds at least the first message; grows in place
+     * @param pending what is waiting behind it
+     * @return the message taken that did not fit, or null
+     */
+    static Message fillBatch(List<Message> batch, Lanes pending) {
+        if (batch.get(0).kind == Message.Kind.CONTENT) return fillLines(batch, pending);
+
+        int chars = 0;
+        for (Message m : batch) chars += m.chars;
+        while (batch.size() < DiscordWebhook.MAX_EMBEDS) {
+            final Message m = pending.poll();
+            if (m == null) break;
+            if (m.kind != Message.Kind.EMBED || appends(m) != appends(batch.get(0))
+                    || chars + m.chars > DiscordWebhook.MAX_EMBED_CHARS) {
+                return m;
+            }
+            batch.add(m);
+            chars += m.chars;
+        }
+        return null;
+    }
+
+    /** The plain-text half of {@link #fillBatch}: lines joined by newlines. */
+    private static Message fillLines(List<Message> batch, Lanes pending) {
+        int chars = lineChars(batch);
+        while (chars < DiscordWebhook.MAX_CONTENT_CHARS) {
+            final Message m = pending.poll();
+            if (m == null) break;
+            // +1 for the newline that will join it to the line before.
+            if (m.kind != Message.Kind.CONTENT || appends(m) != appends(batch.get(0))
+                    || chars + 1 + m.chars > DiscordWebhook.MAX_CONTENT_CHARS) {
+                return m;
+            }
+            batch.add(m);
+            chars += 1 + m.chars;
+        }
+        return null;
+    }
+
+    /** Whether a batch can take nothing more, so lingering for company is pointless. */
+    static boolean full(List<Message> batch) {
+        return batch.get(0).kind == Message.Kind.CONTENT
+                ? lineChars(batch) >= DiscordWebhook.MAX_CONTENT_CHARS
+                : batch.size() >= DiscordWebhook.MAX_EMBEDS;
+    }
+
+    /** Characters of plain-text lines once joined by newlines. */
+    private static int lineChars(List<Message> batch) {
+        int chars = -1;
+        for (Message m : batch) chars += 1 + m.chars;
+        return chars;
+    }
+
+    private static String describe(List<Message> batch) {
+        return batch.size() == 1 ? "a message" : batch.size() + " combined messages";
+    }
+
+    /** Counts a request, and a new connection whenever it did not reuse the last one. */
+    private static void recordConnection(Destination dest, DiscordWebhook.Response res) {
+        if (res.protocol() == null) return;   // never reached Discord
+        dest.requests++;
+        dest.protocol = res.protocol();
+        if (res.connection() == 0L || res.connection() != dest.lastConnection) {
+            dest.connections++;
+            dest.lastConnection = res.connection();
+        }
+    }
+
+    private static long clampWait(long ms) {
+        return Math.max(0L, Math.min(ms, MAX_WAIT_MS));
     }
 
     private static java.util.logging.Logger log() {
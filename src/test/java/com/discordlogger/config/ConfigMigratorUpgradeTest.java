@@ -148,6 +148,26 @@ class ConfigMigratorUpgradeTest {
         assertEquals("Survival", ((Map<?, ?>) r.get("format")).get("name"));
     }
 
+    @Test
+    @DisplayName("an upgrade from v11 gains the delivery section, with its defaults")
+    void v11GainsDelivery() {
+        final String v11 = String.join("\n",
+                "webhook:", "  url: \"https://discord.com/api/webhooks/123/SECRET\"",
+                "filters:", "  respect_vanish: false",
+                "config-version: 11", "# CONFIG VERSION V11, SHIPPED WITH v2.3.1", "");
+        final Map<String, Object> out = ConfigMigrator.flattenYaml(
+                new Yaml().load(ConfigMigrator.migrateText(shipped, v11, 11, current)));
+        final Map<String, Object> defaults = ConfigMigrator.flattenYaml(new Yaml().load(shipped));
+
+        assertEquals(false, out.get("filters.respect_vanish"), "the v11 setting is kept");
+        for (String key : defaults.keySet()) {
+            if (key.startsWith("delivery.")) {
+                assertEquals(defaults.get(key), out.get(key), key + " is written with its default");
+            }
+        }
+        assertTrue(out.containsKey("delivery.console_categories"));
+    }
+
     @Test
     @DisplayName("the old colours tree is gone, not left behind alongside the new one")
     void oldStructureIsNotCarriedOver() {
@@ -85,6 +85,18 @@ class SchemaDetectorTest {
         assertNotEquals(10, SchemaDetector.infer(flat(v9)));
     }
 
+    @Test
+    @DisplayName("a v11 config is not mistaken for v12")
+    void doesNotOverreadV11() {
+        // v12 only added the delivery section. Reading a v11 file as v12 would skip the
+        // migration that writes it, and every delivery setting would be a silent default.
+        String v11 = "webhook:\n  url: ''\nformat:\n  time: x\nlog:\n  player:\n    join:\n"
+                + "      enabled: true\nfilters:\n  respect_vanish: true\n";
+        assertEquals(11, SchemaDetector.infer(flat(v11)));
+        assertEquals(12, SchemaDetector.infer(flat(v11 + "delivery:\n  console_categories: []\n")),
+                "any one delivery key is enough, list or not");
+    }
+
     @Test
     @DisplayName("deleting an ordinary option does not change the detected schema")
     void toleratesMissingOptions() throws Exception {
@@ -0,0 +1,66 @@
+package com.discordlogger.lang;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Messages compiled once and filled in one pass.
+ *
+ * <p>Compiling is meant to be invisible: every message must come out exactly as the
+ * replace-per-placeholder version wrote it, down to the placeholders nobody filled —
+ * with the one difference the single pass exists for, that a value is never itself
+ * treated as a message.
+ */
+class TemplateTest {
+
+    @Test
+    @DisplayName("placeholders are filled, in any order, wherever they appear")
+    void fills() {
+        final Template t = Template.compile("**{player}** ran `{command}` — {player} again");
+        assertEquals("**Steve** ran `/home` — Steve again",
+                t.render("command", "/home", "player", "Steve"));
+    }
+
+    @Test
+    @DisplayName("a placeholder with no value stays as written")
+    void unknownKept() {
+        assertEquals("Steve left {palyer}", Template.compile("{player} left {palyer}").render("player", "Steve"));
+    }
+
+    @Test
+    @DisplayName("braces that are not a placeholder are text")
+    void bracesAsText() {
+        final String source = "{ not one } {} {{player}} <click:run_command:'/x {y'>";
+        assertEquals("{ not one } {} {Steve} <click:run_command:'/x {y'>",
+                Template.compile(source).render("player", "Steve"));
+    }
+
+    @Test
+    @DisplayName("a value is not scanned for placeholders")
+    void valuesAreNotMessages() {
+        assertEquals("{command} ran /op me",
+                Template.compile("{player} ran {command}").render("player", "{command}", "command", "/op me"));
+    }
+
+    @Test
+    @DisplayName("with nothing to fill, the message is returned as it is")
+    void nothingToFill() {
+        final Template t = Template.compile("Reloaded.");
+        assertSame(t.source(), t.render());
+        assertSame(t.source(), t.render("player", "Steve"));
+    }
+
+    @Test
+    @DisplayName("for in game, placeholders become tags, unless one cannot be read as a tag")
+    void tagged() {
+        assertEquals("<red><dl_player></red> left: <dl_reason>",
+                Template.compile("<red>{player}</red> left: {reason}").tagged());
+        assertEquals("\\<b> <dl_player>", Template.compile("\\<b> {player}").tagged());
+        assertNull(Template.compile("<click:run_command:'/{label} help'>help</click>").tagged());
+        assertNull(Template.compile("{Player} left").tagged());
+    }
+}
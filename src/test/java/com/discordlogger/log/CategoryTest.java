@@ -0,0 +1,39 @@
+package com.discordlogger.log;
+
+import com.discordlogger.webhook.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Categories resolved once, not per send.
+ *
+ * <p>The saving depends on two things holding: a name always gives back the same
+ * category, so what was compiled for it is found again; and a compiled category is
+ * reused rather than rebuilt, until a reload says otherwise.
+ */
+class CategoryTest {
+
+    @Test
+    @DisplayName("one category a name, normalised as config keys are")
+    void interned() {
+        assertSame(Category.of("Player Chat"), Category.of("Player Chat"));
+        assertEquals("player_chat", Category.of("Player Chat").key());
+        assertEquals("Player Chat", Category.of("Player Chat").name());
+        assertNotSame(Category.of("Player Chat"), Category.of("player_chat"));
+        assertEquals("", Category.of(null).key());
+    }
+
+    @Test
+    @DisplayName("compiled once, with the lane its name gives, then reused")
+    void compiledOnce() {
+        final Category death = Category.of("Player Death");
+        final Descriptor d = Log.describe(death);
+        assertSame(d, Log.describe(death));
+        assertEquals(Priority.LIFECYCLE, d.priority());
+        assertEquals(Priority.MODERATION, Log.describe(Category.of("ban")).priority());
+    }
+}
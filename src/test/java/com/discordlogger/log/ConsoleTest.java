@@ -0,0 +1,48 @@
+package com.discordlogger.log;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The console echo.
+ *
+ * <p>Queued or not, a line asked for must reach the log: before the plugin has
+ * started, and after it has stopped, there is nothing to write the queue out, so a
+ * line has to go straight through.
+ */
+class ConsoleTest {
+
+    private static Logger capturing(List<String> into) {
+        final Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override public void publish(LogRecord r) { into.add(r.getMessage()); }
+            @Override public void flush() {}
+            @Override public void close() {}
+        });
+        return logger;
+    }
+
+    @Test
+    @DisplayName("with nothing writing the queue, a line is written at once")
+    void writtenWhenStopped() {
+        final List<String> seen = new ArrayList<>();
+        final Logger logger = capturing(seen);
+        Console.stop(logger);
+
+        Console.echo(logger, "[06:00:00] Player Teleport: Steve");
+        Console.echo(logger, "[06:00:01] Player Gamemode: Steve");
+        assertEquals(List.of("[06:00:00] Player Teleport: Steve", "[06:00:01] Player Gamemode: Steve"), seen);
+
+        Console.flush(logger);
+        assertEquals(2, seen.size(), "nothing was queued, so nothing more is written");
+    }
+}
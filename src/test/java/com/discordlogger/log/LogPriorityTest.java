@@ -0,0 +1,29 @@
+package com.discordlogger.log;
+
+import com.discordlogger.webhook.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Which lane each category queues in. The listeners pass categories in three
+ * spellings — bare ("ban"), qualified ("player_death") and display ("Player Death") —
+ * and a category that falls through to the routine lane by a spelling slip is only
+ * noticed during the flood it was meant to survive.
+ */
+class LogPriorityTest {
+
+    @Test
+    @DisplayName("moderation outranks deaths and lifecycle, which outrank the rest")
+    void lanes() {
+        assertEquals(Priority.MODERATION, Log.priorityFor("ban"));
+        assertEquals(Priority.MODERATION, Log.priorityFor("whitelist_toggle"));
+        assertEquals(Priority.MODERATION, Log.priorityFor("moderation.kick"));
+        assertEquals(Priority.LIFECYCLE, Log.priorityFor("Player Death"));
+        assertEquals(Priority.LIFECYCLE, Log.priorityFor("Server Stop"));
+        assertEquals(Priority.ROUTINE, Log.priorityFor("Player Chat"));
+        assertEquals(Priority.ROUTINE, Log.priorityFor("player_teleport"));
+        assertEquals(Priority.ROUTINE, Log.priorityFor(null));
+    }
+}
@@ -72,6 +72,21 @@ class LogRoutingTest {
                         + " webhookFor(...) call(s) — at least one send is not resolving a route");
     }
 
+    @Test
+    @DisplayName("a compiled category's route is the one webhookFor gives")
+    void descriptorsResolveThroughWebhookFor() throws Exception {
+        final String src = Files.readString(LOG_SOURCE);
+        final int at = src.indexOf("new Descriptor(");
+        assertTrue(at >= 0, "expected Log to compile categories into descriptors");
+        assertTrue(src.startsWith("webhookFor(", src.indexOf(',', at) + 2),
+                "a Descriptor's webhook must come from webhookFor(key), or routing is bypassed");
+
+        // And that is the only place one is made, so every d.webhook() a send reads
+        // is a route webhookFor gave.
+        assertEquals(1, countOccurrences(src, "new Descriptor("),
+                "a Descriptor built outside describe() would carry a route webhookFor never gave");
+    }
+
     private static long countOccurrences(String haystack, String needle) {
         long n = 0;
         int i = haystack.indexOf(needle);
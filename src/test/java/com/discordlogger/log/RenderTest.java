@@ -0,0 +1,133 @@
+package com.discordlogger.log;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Events handed off the server thread to be rendered.
+ *
+ * <p>The hand-off is only worth having if it loses nothing: every event offered is
+ * rendered exactly once, in the order offered, including those still queued at
+ * shutdown — the server-stop message relies on nothing being behind it.
+ */
+class RenderTest {
+
+    private record Seen(List<String> into, String name) implements LogEvent {
+        @Override public Category category() { return Category.of("test"); }
+        @Override public UUID actor() { return null; }
+        @Override public long capturedAt() { return 0L; }
+        @Override public void render(JavaPlugin plugin) { into.add(name); }
+    }
+
+    /** Renders only once let go — however long, and whatever interrupts it. */
+    private record Held(List<String> into, String name, CountDownLatch go) implements LogEvent {
+        @Override public Category category() { return Category.of("test"); }
+        @Override public UUID actor() { return null; }
+        @Override public long capturedAt() { return 0L; }
+        @Override public void render(JavaPlugin plugin) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    go.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            into.add(name);
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Broken() implements LogEvent {
+        @Override public Category category() { return Category.of("test"); }
+        @Override public UUID actor() { return null; }
+        @Override public long capturedAt() { return 0L; }
+        @Override public void render(JavaPlugin plugin) { throw new IllegalStateException("broken"); }
+    }
+
+    @Test
+    @DisplayName("with the thread not running, an event is rendered where it was offered")
+    void inlineWhenStopped() {
+        Render.drain(null);
+        final List<String> seen = new CopyOnWriteArrayList<>();
+        Render.offer(new Seen(seen, "a"), null);
+        assertEquals(List.of("a"), seen);
+    }
+
+    @Test
+    @DisplayName("every event offered is rendered once, in order, by the time drain returns")
+    void drainLosesNothing() {
+        final List<String> seen = new CopyOnWriteArrayList<>();
+        Render.start(null);
+        for (int i = 0; i < 500; i++) Render.offer(new Seen(seen, "e" + i), null);
+        Render.drain(null);
+
+        assertEquals(500, seen.size());
+        for (int i = 0; i < 500; i++) assertEquals("e" + i, seen.get(i));
+    }
+
+    @Test
+    @DisplayName("a full queue drops what does not fit rather than rendering it ahead of the rest")
+    void fullQueueNeverJumpsAhead() {
+        final List<String> seen = new CopyOnWriteArrayList<>();
+        final CountDownLatch go = new CountDownLatch(1);
+        Render.start(null);
+        Render.offer(new Held(seen, "first", go), null);
+        for (int i = 0; i < Render.CAPACITY; i++) Render.offer(new Seen(seen, "e" + i), null);
+        Render.offer(new Seen(seen, "late"), null);
+        go.countDown();
+        Render.drain(null);
+
+        assertFalse(seen.contains("late"), "no room, so dropped — not rendered out of turn");
+        assertEquals("first", seen.get(0));
+        for (int i = 0; i < seen.size() - 1; i++) assertEquals("e" + i, seen.get(i + 1));
+    }
+
+    @Test
+    @DisplayName("drain finishes the event in hand before rendering the rest itself")
+    void drainWaitsForTheEventInHand() throws Exception {
+        final List<String> seen = new CopyOnWriteArrayList<>();
+        final CountDownLatch go = new CountDownLatch(1);
+        Render.start(null);
+        Render.offer(new Held(seen, "slow", go), null);
+        Render.offer(new Seen(seen, "after"), null);
+
+        // Let the slow one go only after drain has given up waiting and interrupted it.
+        final Thread release = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(2_300L);
+            } catch (InterruptedException ignored) {
+                // released early; the order must hold all the same
+            }
+            go.countDown();
+        });
+        release.start();
+        Render.drain(null);
+        release.join();
+
+        assertEquals(List.of("slow", "after"), seen);
+    }
+
+    @Test
+    @DisplayName("an event that throws is skipped, with or without a plugin to log through")
+    void brokenEventIsSkipped() {
+        final List<String> seen = new CopyOnWriteArrayList<>();
+        Render.start(null);
+        Render.offer(new Broken(), null);
+        Render.offer(new Seen(seen, "next"), null);
+        Render.drain(null);
+
+        assertEquals(List.of("next"), seen);
+    }
+}
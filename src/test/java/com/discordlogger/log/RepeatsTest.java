@@ -0,0 +1,95 @@
+package com.discordlogger.log;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Repeated lines held back and counted.
+ *
+ * <p>Two ways to get this wrong, both bad: hold back a line that was not a repeat,
+ * and an event never reaches Discord; lose count of the ones held, and the channel
+ * understates what happened.
+ */
+class RepeatsTest {
+
+    private static final String CHAT = "Player Chat";
+
+    @Test
+    @DisplayName("the first copy goes, the rest are counted, and one line says how many")
+    void countsARun() {
+        final Repeats r = new Repeats(10_000L);
+        assertSame(Repeats.Verdict.SEND, r.admit(CHAT, "**Bot**: buy gold", null, 0L));
+        for (int i = 1; i <= 37; i++) {
+            assertFalse(r.admit(CHAT, "**Bot**: buy gold", null, i * 1_000L).send());
+        }
+        assertTrue(r.ended(40_000L).isEmpty(), "still inside the window of the last copy");
+
+        final List<Repeats.Held> ended = r.ended(47_000L);
+        assertEquals(1, ended.size());
+        assertEquals(37, ended.get(0).count());
+        assertEquals("**Bot**: buy gold", ended.get(0).message());
+        assertTrue(r.ended(60_000L).isEmpty(), "said once");
+    }
+
+    @Test
+    @DisplayName("another player, or another category, is never merged")
+    void keyedByCategoryAndText() {
+        final Repeats r = new Repeats(10_000L);
+        assertTrue(r.admit(CHAT, "**Steve**: hi", null, 0L).send());
+        assertTrue(r.admit(CHAT, "**Alex**: hi", null, 1L).send());
+        assertTrue(r.admit("Player Command", "**Steve**: hi", null, 2L).send());
+        assertFalse(r.admit(CHAT, "**Steve**: hi", null, 3L).send());
+    }
+
+    @Test
+    @DisplayName("a copy after the window is a new line, and ends the run before it")
+    void windowSlides() {
+        final Repeats r = new Repeats(10_000L);
+        r.admit(CHAT, "spam", null, 0L);
+        r.admit(CHAT, "spam", null, 9_000L);
+        assertFalse(r.admit(CHAT, "spam", null, 18_000L).send(), "within 10s of the copy before");
+
+        final Repeats.Verdict v = r.admit(CHAT, "spam", null, 30_000L);
+        assertTrue(v.send());
+        assertEquals(2, v.ended().count(), "the summary goes out ahead of it");
+    }
+
+    @Test
+    @DisplayName("a full table gives way without losing a count")
+    void boundedWithoutLoss() {
+        final Repeats r = new Repeats(60_000L);
+        r.admit(CHAT, "spam", null, 0L);
+        r.admit(CHAT, "spam", null, 1L);
+        int counted = 0;
+        for (int i = 0; i < Repeats.CAPACITY * 4; i++) {
+            final Repeats.Verdict v = r.admit(CHAT, "line " + i, null, 2L + i);
+            assertTrue(v.send());
+            if (v.ended() != null) counted += v.ended().count();
+        }
+        for (Repeats.Held h : r.drain()) counted += h.count();
+        assertEquals(1, counted);
+    }
+
+    @Test
+    @DisplayName("a window of 0 sends everything")
+    void off() {
+        final Repeats r = new Repeats(0L);
+        for (int i = 0; i < 5; i++) assertSame(Repeats.Verdict.SEND, r.admit(CHAT, "spam", null, i));
+        assertTrue(r.drain().isEmpty());
+        assertNull(Repeats.Verdict.SEND.ended());
+    }
+
+    @Test
+    @DisplayName("the summary line reads as the line, then the count")
+    void wording() {
+        assertEquals("buy gold (repeated ×37)", Log.repeated("buy gold", 37));
+    }
+}
@@ -0,0 +1,60 @@
+package com.discordlogger.log;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Timestamps rendered once a second.
+ *
+ * <p>The cache is only an optimisation if nobody can tell it is there: every stamp
+ * must read exactly as a formatter would have written it for that moment, including
+ * the milliseconds, and across the second boundary.
+ */
+class StampsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/London");
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("[HH:mm:ss, dd:MM:yyyy]");
+    private static final DateTimeFormatter ISO =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("both stamps read as a formatter writes them, second after second")
+    void matchesTheFormatter() {
+        final Stamps stamps = new Stamps(FMT, ZONE);
+        final Random random = new Random(42);
+        long at = 1_785_477_600_000L;
+        for (int i = 0; i < 5_000; i++) {
+            at += random.nextInt(700);
+            assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(at), ZONE).format(FMT), stamps.local(at));
+            assertEquals(ISO.format(Instant.ofEpochMilli(at)), stamps.iso(at), "at " + at);
+        }
+    }
+
+    @Test
+    @DisplayName("the milliseconds are always three digits")
+    void isoMillis() {
+        final Stamps stamps = new Stamps(FMT, ZONE);
+        assertEquals("2026-07-31T06:00:00.000Z", stamps.iso(1_785_477_600_000L));
+        assertEquals("2026-07-31T06:00:00.007Z", stamps.iso(1_785_477_600_007L));
+        assertEquals("2026-07-31T06:00:00.090Z", stamps.iso(1_785_477_600_090L));
+        assertEquals("2026-07-31T06:00:01.123Z", stamps.iso(1_785_477_601_123L));
+    }
+
+    @Test
+    @DisplayName("a format that shows milliseconds is not cached by the second")
+    void subSecondPattern() {
+        final DateTimeFormatter fine = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+        final Stamps stamps = new Stamps(fine, ZONE);
+        assertEquals("07:00:00.120", stamps.local(1_785_477_600_120L));
+        assertEquals("07:00:00.450", stamps.local(1_785_477_600_450L));
+    }
+}
@@ -0,0 +1,35 @@
+package com.discordlogger.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Threads} picks its implementation by what the running JVM has, so these
+ * hold on whichever one runs the build — 17 in CI, 21 on most servers.
+ */
+class ThreadsTest {
+
+    @Test
+    @DisplayName("virtual threads are used exactly when the JVM has them")
+    void detectsVirtualThreads() {
+        assertEquals(Runtime.version().feature() >= 21, Threads.virtual());
+    }
+
+    @Test
+    @DisplayName("blocking threads run their task, are named, and never hold the JVM open")
+    void blockingThreadsWork() throws Exception {
+        final CountDownLatch ran = new CountDownLatch(1);
+        final Thread t = Threads.blocking("DiscordLogger-Test-").newThread(ran::countDown);
+
+        assertEquals("DiscordLogger-Test-1", t.getName());
+        assertTrue(t.isDaemon());
+        t.start();
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+}
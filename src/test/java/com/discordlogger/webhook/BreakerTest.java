@@ -0,0 +1,97 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * When a destination stops being sent to, and when it starts again.
+ *
+ * <p>Too eager and one network blip pauses a working channel; too reluctant and a
+ * deleted webhook gets a request per queued message, which is what this replaced.
+ */
+class BreakerTest {
+
+    @Test
+    @DisplayName("a deleted or revoked webhook opens at once, and its messages are discarded")
+    void refusalOpensImmediately() {
+        for (int status : new int[] {404, 401, 403}) {
+            final Breaker b = new Breaker();
+            assertTrue(b.record(status, Breaker.UNKNOWN_WEBHOOK, 0L), "HTTP " + status);
+            assertEquals(Circuit.OPEN, b.state());
+            assertTrue(b.revoked());
+        }
+    }
+
+    @Test
+    @DisplayName("network failures open it only after a run, and messages wait")
+    void failureRunOpens() {
+        final Breaker b = new Breaker();
+        for (int i = 1; i < Breaker.FAILURE_RUN; i++) assertFalse(b.record(0, 0, 0L));
+        assertTrue(b.record(503, 0, 0L));
+        assertEquals(Circuit.OPEN, b.state());
+        assertFalse(b.revoked(), "unreachable is not gone");
+    }
+
+    @Test
+    @DisplayName("a success breaks the run")
+    void successResets() {
+        final Breaker b = new Breaker();
+        for (int i = 1; i < Breaker.FAILURE_RUN; i++) b.record(0, 0, 0L);
+        b.record(204, 0, 0L);
+        assertFalse(b.record(0, 0, 0L));
+        assertEquals(Circuit.CLOSED, b.state());
+    }
+
+    @Test
+    @DisplayName("rate limits and bad payloads say nothing about the webhook")
+    void otherStatusesIgnored() {
+        final Breaker b = new Breaker();
+        for (int i = 0; i < Breaker.FAILURE_RUN * 2; i++) {
+            assertFalse(b.record(429, 0, 0L));
+            assertFalse(b.record(400, 0, 0L));
+        }
+        assertEquals(Circuit.CLOSED, b.state());
+    }
+
+    @Test
+    @DisplayName("a 404 for a missing thread says nothing about the webhook")
+    void missingThreadIsNotRevoked() {
+        final Breaker b = new Breaker();
+        for (int i = 0; i < Breaker.FAILURE_RUN * 2; i++) assertFalse(b.record(404, 10003, 0L));
+        assertEquals(Circuit.CLOSED, b.state());
+        assertTrue(b.record(404, Breaker.UNKNOWN_WEBHOOK, 0L));
+    }
+
+    @Test
+    @DisplayName("checks back off, and the first answer closes it")
+    void probesBackOffThenClose() {
+        final Breaker b = new Breaker();
+        b.record(404, Breaker.UNKNOWN_WEBHOOK, 0L);
+        assertEquals(Breaker.FIRST_PROBE_MS, b.probeAt());
+
+        b.probing();
+        assertFalse(b.probed(404, 10_000L));
+        assertEquals(10_000L + 2 * Breaker.FIRST_PROBE_MS, b.probeAt());
+        b.probing();
+        assertFalse(b.probed(0, 20_000L));
+        assertTrue(b.revoked(), "could not ask does not clear what was learned");
+
+        b.probing();
+        assertTrue(b.probed(200, 40_000L));
+        assertEquals(Circuit.CLOSED, b.state());
+        assertFalse(b.revoked());
+    }
+
+    @Test
+    @DisplayName("the backoff is capped")
+    void backoffCapped() {
+        final Breaker b = new Breaker();
+        b.record(404, Breaker.UNKNOWN_WEBHOOK, 0L);
+        for (int i = 0; i < 40; i++) b.probed(0, 0L);
+        assertEquals(Breaker.MAX_PROBE_MS, b.probeAt());
+    }
+}
@@ -0,0 +1,66 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JSON written straight to UTF-8.
+ *
+ * <p>What reaches Discord must be byte for byte what the string-based builder used
+ * to send: the escapes are part of the output format, and an encoding slip shows up
+ * as mojibake in the channel rather than as an error anywhere.
+ */
+class JsonWriterTest {
+
+    private static String string(String s) {
+        return new String(JsonWriter.get().string(s).toBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("quotes, backslashes and control characters are escaped as before")
+    void escapes() {
+        assertEquals("\"a\\\"b\\\\c\\nd\\re\\tf\\u0001g\\u001f\"", string("a\"b\\c\nd\re\tf\u0001g\u001f"));
+        assertEquals("\"\"", string(null));
+    }
+
+    @Test
+    @DisplayName("non-ASCII text is the same UTF-8 String.getBytes produces")
+    void encodesUtf8() {
+        final String text = "café — 漢字 💥";
+        assertArrayEquals(("\"" + text + "\"").getBytes(StandardCharsets.UTF_8),
+                JsonWriter.get().string(text).toBytes());
+        assertEquals("\"a?b\"", string("a\uD83Db"), "half an emoji is not valid UTF-8");
+    }
+
+    @Test
+    @DisplayName("escaping from UTF-8 bytes matches escaping from the string")
+    void bytesMatchString() {
+        final String text = "say \"hi\"\né💥\\";
+        assertArrayEquals(JsonWriter.get().chars(text).toBytes(),
+                JsonWriter.get().chars(text.getBytes(StandardCharsets.UTF_8)).toBytes());
+    }
+
+    @Test
+    @DisplayName("a document larger than the buffer grows it, and is whole")
+    void grows() {
+        final String big = "x\"".repeat(JsonWriter.RETAIN);
+        final byte[] out = JsonWriter.get().string(big).toBytes();
+        assertEquals(2 + big.length() + JsonWriter.RETAIN, out.length, "one backslash per quote");
+        assertEquals("\"ok\"", string("ok"), "and the writer is usable again after");
+    }
+
+    @Test
+    @DisplayName("a plain run longer than the buffer is copied whole, from either source")
+    void longRun() {
+        final String run = "steve ".repeat(1000) + "\"end\"";
+        final String expected = "\"" + run.replace("\"", "\\\"") + "\"";
+        assertEquals(expected, string(run));
+        assertEquals(expected.substring(1, expected.length() - 1), new String(JsonWriter.get()
+                .chars(run.getBytes(StandardCharsets.UTF_8)).toBytes(), StandardCharsets.UTF_8));
+    }
+}
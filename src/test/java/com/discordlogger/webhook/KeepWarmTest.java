@@ -0,0 +1,67 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Which connections get a warm-up request, and which are left alone.
+ *
+ * <p>Too few and the first message after a quiet night pays for a handshake again;
+ * too many and a server with twenty routed webhooks sends twenty requests where one
+ * would do, since they all share a connection.
+ */
+class KeepWarmTest {
+
+    private static final String A = "https://discord.com/api/webhooks/1/a";
+    private static final String B = "https://discord.com/api/webhooks/2/b?thread_id=5";
+    private static final String C = "https://example.com/hooks/3/c";
+
+    @AfterEach
+    void reset() {
+        KeepWarm.track(List.of());
+        KeepWarm.clear();
+    }
+
+    @Test
+    @DisplayName("webhooks on one host share a warm-up; another host gets its own")
+    void onePerOrigin() {
+        KeepWarm.track(List.of(A, B, C));
+        assertEquals(List.of(A, C), KeepWarm.due(System.currentTimeMillis(), 60_000L, u -> true));
+    }
+
+    @Test
+    @DisplayName("a connection anything went over recently is left alone")
+    void recentUseCounts() {
+        KeepWarm.track(List.of(A, C));
+        KeepWarm.used(URI.create(B));
+        final long now = System.currentTimeMillis();
+        assertEquals(List.of(C), KeepWarm.due(now, 60_000L, u -> true), "B's send kept A's host warm");
+        assertEquals(List.of(A, C), KeepWarm.due(now + 60_000L, 60_000L, u -> true), "until it idles");
+    }
+
+    @Test
+    @DisplayName("a dead webhook is passed over for a live one on the same host, or the host skipped")
+    void skipsUnusable() {
+        KeepWarm.track(List.of(A, B));
+        final long now = System.currentTimeMillis();
+        assertEquals(List.of(B), KeepWarm.due(now, 60_000L, u -> !u.equals(A)));
+        assertTrue(KeepWarm.due(now, 60_000L, u -> false).isEmpty());
+    }
+
+    @Test
+    @DisplayName("origins ignore path, query and case, and fill in the default port")
+    void origins() {
+        assertEquals("https://discord.com:443", KeepWarm.origin(B));
+        assertEquals("https://discord.com:443", KeepWarm.origin("HTTPS://Discord.com/api/webhooks/1/a"));
+        assertEquals("http://127.0.0.1:8080", KeepWarm.origin("http://127.0.0.1:8080/x"));
+        assertNull(KeepWarm.origin("not a url"));
+    }
+}
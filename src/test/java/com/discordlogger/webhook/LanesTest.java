@@ -0,0 +1,115 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The per-priority lanes behind each destination.
+ *
+ * <p>What is being protected is the moderation trail during a flood: the only time
+ * these lanes matter is when the queue is full, which is also the only time nobody
+ * is watching it.
+ */
+class LanesTest {
+
+    private static Message chat(String s)  { return Message.content(s, Priority.ROUTINE); }
+    private static Message death(String s) { return Message.content(s, Priority.LIFECYCLE); }
+    private static Message ban(String s)   { return Message.content(s, Priority.MODERATION); }
+
+    /** Room for {@code n} of the two-character messages these tests use. */
+    private static long room(int n) {
+        return n * (2L + Message.OVERHEAD);
+    }
+
+    @Test
+    @DisplayName("higher lanes go first, and each lane keeps its own order")
+    void priorityThenArrival() {
+        final Lanes lanes = new Lanes(room(10));
+        final Message c1 = chat("c1"), d1 = death("d1"), c2 = chat("c2"), b1 = ban("b1"), b2 = ban("b2");
+        for (Message m : new Message[]{c1, d1, c2, b1, b2}) lanes.offer(m);
+
+        assertSame(b1, lanes.poll());
+        assertSame(b2, lanes.poll());
+        assertSame(d1, lanes.poll());
+        assertSame(c1, lanes.poll());
+        assertSame(c2, lanes.poll());
+        assertNull(lanes.poll());
+    }
+
+    @Test
+    @DisplayName("when full, the lowest lane gives way — never a higher one")
+    void lowestGivesWay() {
+        final Lanes lanes = new Lanes(room(3));
+        final Message c1 = chat("c1"), c2 = chat("c2"), d1 = death("d1");
+        lanes.offer(c1);
+        lanes.offer(d1);
+        lanes.offer(c2);
+        assertFalse(lanes.offer(ban("b1")));
+
+        assertSame(c1, lanes.evict(Priority.MODERATION, false, true), "oldest of the lowest lane");
+        assertSame(c2, lanes.evict(Priority.MODERATION, false, false), "newest, when asked for");
+        assertSame(d1, lanes.evict(Priority.MODERATION, false, true));
+        assertNull(lanes.evict(Priority.MODERATION, false, true), "nothing below moderation is left");
+    }
+
+    @Test
+    @DisplayName("a lane only gives way to its own priority when allowed to")
+    void sameLaneOnlyWhenAsked() {
+        final Lanes lanes = new Lanes(room(1));
+        final Message c1 = chat("c1");
+        lanes.offer(c1);
+
+        assertNull(lanes.evict(Priority.ROUTINE, false, true));
+        assertSame(c1, lanes.evict(Priority.ROUTINE, true, true));
+    }
+
+    @Test
+    @DisplayName("the budget is bytes: one large message counts for many small ones")
+    void budgetIsBytes() {
+        final Lanes lanes = new Lanes(room(4));
+        lanes.offer(chat("c1"));
+        assertFalse(lanes.offer(ban("x".repeat(4 * 66))), "a large message does not fit beside it");
+        assertEquals(room(1), lanes.bytes());
+
+        lanes.poll();
+        assertTrue(lanes.offer(ban("x".repeat(10_000))), "an empty queue takes anything, or it could never be sent");
+        assertEquals(0L, lanes.budget() - room(4));
+    }
+
+    @Test
+    @DisplayName("a message put back after a failed eviction is where it was")
+    void restoreUndoesEvict() {
+        final Lanes lanes = new Lanes(room(3));
+        final Message c1 = chat("c1"), c2 = chat("c2");
+        lanes.offer(c1);
+        lanes.offer(c2);
+
+        lanes.restore(lanes.evict(Priority.MODERATION, false, true), true);
+        assertEquals(0, lanes.evicted(Priority.ROUTINE));
+        assertEquals(room(2), lanes.bytes());
+        assertSame(c1, lanes.poll());
+        assertSame(c2, lanes.poll());
+    }
+
+    @Test
+    @DisplayName("counters are kept per lane")
+    void countsPerLane() {
+        final Lanes lanes = new Lanes(room(2));
+        lanes.offer(chat("c1"));
+        lanes.offer(ban("b1"));
+        lanes.evict(Priority.MODERATION, false, true);
+        lanes.countDropped(chat("c2"));
+
+        assertEquals(1, lanes.size(Priority.MODERATION));
+        assertEquals(0, lanes.size(Priority.ROUTINE));
+        assertEquals(1, lanes.evicted(Priority.ROUTINE));
+        assertEquals(1, lanes.dropped(Priority.ROUTINE));
+        assertEquals(0, lanes.dropped(Priority.MODERATION));
+    }
+}
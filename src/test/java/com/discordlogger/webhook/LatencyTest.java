@@ -0,0 +1,62 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The delivery-time percentiles in {@code /discordlogger status}.
+ *
+ * <p>A figure that reads low is worse than none: it says a webhook is fine while
+ * staff watch the channel fall behind. So a percentile may round up to the top of its
+ * bucket, never down, and an old outage must not linger in figures about now.
+ */
+class LatencyTest {
+
+    private static final long NOW = 10L * Latency.WINDOW_MS;
+
+    @Test
+    @DisplayName("buckets cover every value once, each about a fifth wider than the last")
+    void bucketsTile() {
+        for (int b = 0; b < Latency.BUCKETS; b++) {
+            assertEquals(b, Latency.bucket(Latency.lower(b)), "lower edge of " + b);
+            assertEquals(b, Latency.bucket(Latency.upper(b)), "upper edge of " + b);
+            if (b > 0) assertEquals(Latency.upper(b - 1) + 1, Latency.lower(b), "no gap before " + b);
+        }
+        final long width = Latency.upper(60) - Latency.lower(60) + 1;
+        assertTrue(width * 4 <= Latency.lower(60), "precise to a quarter of a doubling: " + width);
+    }
+
+    @Test
+    @DisplayName("p50, p95 and p99 land where the samples are, rounded up")
+    void percentiles() {
+        final Latency l = new Latency();
+        for (int i = 0; i < 90; i++) l.record(200L, NOW);
+        for (int i = 0; i < 9; i++) l.record(2_000L, NOW);
+        l.record(60_000L, NOW);
+
+        final long p50 = l.percentile(0.50, NOW);
+        assertTrue(p50 >= 200L && p50 < 250L, "p50 " + p50);
+        final long p95 = l.percentile(0.95, NOW);
+        assertTrue(p95 >= 2_000L && p95 < 2_500L, "p95 " + p95);
+        final long p99 = l.percentile(0.99, NOW);
+        assertTrue(p99 >= 2_000L && p99 < 2_500L, "p99 " + p99);
+        assertTrue(l.percentile(1.0, NOW) >= 60_000L);
+    }
+
+    @Test
+    @DisplayName("nothing recorded reads as nothing, and an old window is forgotten")
+    void windows() {
+        final Latency l = new Latency();
+        assertEquals(-1L, l.percentile(0.5, NOW));
+
+        l.record(30_000L, NOW);
+        assertTrue(l.percentile(0.5, NOW + Latency.WINDOW_MS) >= 30_000L, "the window before still counts");
+        assertEquals(-1L, l.percentile(0.5, NOW + 2 * Latency.WINDOW_MS), "two windows on, it does not");
+
+        l.record(100L, NOW + 2 * Latency.WINDOW_MS);
+        assertTrue(l.percentile(0.99, NOW + 2 * Latency.WINDOW_MS) < 30_000L, "reused without its old counts");
+    }
+}
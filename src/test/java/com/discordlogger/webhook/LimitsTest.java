@@ -0,0 +1,156 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Discord's size limits, applied before sending.
+ *
+ * <p>Every case here used to be a 400 — and a lost event — so the thing pinned is
+ * that nothing produced breaks a limit, and that nothing the reader would want is
+ * silently gone.
+ */
+class LimitsTest {
+
+    private static String repeat(String s, int n) {
+        return s.repeat(n);
+    }
+
+    private static List<EmbedField> fields(int n, int valueLength) {
+        final List<EmbedField> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(new Limits.Field("F" + i, repeat("v", valueLength), true));
+        return out;
+    }
+
+    private static void assertWithinLimits(List<Limits.Piece> pieces) {
+        for (Limits.Piece p : pieces) {
+            final int fields = p.fields() == null ? 0 : p.fields().size();
+            assertTrue(fields <= Limits.FIELDS, "fields: " + fields);
+            assertTrue(p.chars() <= Limits.TOTAL, "total: " + p.chars());
+            if (p.description() != null) assertTrue(p.description().length() <= Limits.DESCRIPTION);
+        }
+    }
+
+    @Test
+    @DisplayName("an embed that fits is left exactly as it was")
+    void fittingEmbedUntouched() {
+        final List<Limits.Piece> pieces = Limits.fit("Title", "Body", "Author", "Footer",
+                Limits.fields(new String[][] {{"Cause", "Fell", "false"}}));
+        assertEquals(1, pieces.size());
+        final Limits.Piece p = pieces.get(0);
+        assertTrue(p.head() && p.tail());
+        assertEquals("Body", p.description());
+        assertEquals("Fell", p.fields().get(0).value());
+        assertEquals("Title".length() + "Body".length() + "Author".length() + "Footer".length()
+                + "Cause".length() + "Fell".length(), p.chars());
+    }
+
+    @Test
+    @DisplayName("a field that fits is passed on as the same object, not copied")
+    void fittingFieldNotCopied() {
+        final EmbedField field = new Limits.Field("Cause", "Fell", false);
+        final EmbedField longer = new Limits.Field("Coords", repeat("v", 2000), false);
+        final Limits.Piece p = Limits.fit("T", "D", null, null, List.of(field, longer)).get(0);
+        assertSame(field, p.fields().get(0));
+        assertEquals(Limits.FIELD_VALUE, p.fields().get(1).value().length());
+    }
+
+    @Test
+    @DisplayName("a long description continues in further embeds, nothing lost")
+    void longDescriptionSplits() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 600; i++) text.append("line ").append(i).append(" of the log\n");
+        final String description = text.toString().trim();
+
+        final List<Limits.Piece> pieces = Limits.fit("Title", description, "Author", "Footer", null);
+        assertTrue(pieces.size() > 1);
+        assertWithinLimits(pieces);
+
+        assertEquals("Title", pieces.get(0).title());
+        assertNull(pieces.get(0).footer());
+        assertNull(pieces.get(1).title(), "only the first embed has the title");
+        assertEquals("Footer", pieces.get(pieces.size() - 1).footer());
+
+        final StringBuilder joined = new StringBuilder();
+        for (Limits.Piece p : pieces) {
+            if (joined.length() > 0) joined.append('\n');
+            joined.append(p.description());
+        }
+        assertEquals(description, joined.toString(), "split at line ends, so rejoining restores it");
+    }
+
+    @Test
+    @DisplayName("more than 25 fields move to another embed")
+    void tooManyFields() {
+        final List<Limits.Piece> pieces = Limits.fit("T", "D", null, null, fields(30, 10));
+        assertEquals(2, pieces.size());
+        assertEquals(25, pieces.get(0).fields().size());
+        assertEquals(5, pieces.get(1).fields().size());
+        assertEquals("F25", pieces.get(1).fields().get(0).name(), "order is kept across the split");
+    }
+
+    @Test
+    @DisplayName("fields past the 6000-character total move to another embed")
+    void totalSplits() {
+        final List<Limits.Piece> pieces = Limits.fit("T", repeat("d", 4000), null, "Footer", fields(10, 1000));
+        assertTrue(pieces.size() > 1);
+        assertWithinLimits(pieces);
+        int fields = 0;
+        for (Limits.Piece p : pieces) fields += p.fields() == null ? 0 : p.fields().size();
+        assertEquals(10, fields);
+    }
+
+    @Test
+    @DisplayName("a field value over 1024 is cut short with a marker")
+    void longFieldValueTruncated() {
+        final Limits.Piece p = Limits.fit(null, null, null, null, fields(1, 5000)).get(0);
+        final String value = p.fields().get(0).value();
+        assertEquals(Limits.FIELD_VALUE, value.length());
+        assertTrue(value.endsWith(Limits.MARKER));
+    }
+
+    @Test
+    @DisplayName("an empty field is made non-empty, since Discord refuses one")
+    void emptyFieldFilled() {
+        final Limits.Piece p = Limits.fit(null, null, null, null,
+                Limits.fields(new String[][] {{"Name", "", "false"}})).get(0);
+        assertEquals(Limits.BLANK, p.fields().get(0).value());
+    }
+
+    @Test
+    @DisplayName("lengths are UTF-16, and a cut never splits an emoji")
+    void surrogatePairsKept() {
+        final String emoji = "💥";   // two UTF-16 units
+        final String title = repeat(emoji, 200);   // 400 units, over the 256 limit
+        final String cut = Limits.truncate(title, Limits.TITLE);
+
+        assertTrue(cut.length() <= Limits.TITLE);
+        final String kept = cut.substring(0, cut.length() - Limits.MARKER.length());
+        assertEquals(0, kept.length() % 2);
+        assertTrue(Character.isLowSurrogate(kept.charAt(kept.length() - 1)));
+    }
+
+    @Test
+    @DisplayName("plain text over 2000 characters is sent as several messages")
+    void longContentSplits() {
+        final List<String> parts = Limits.lines(repeat("word ", 900));
+        assertEquals(3, parts.size());
+        for (String part : parts) assertTrue(part.length() <= Limits.CONTENT, "" + part.length());
+        assertEquals(repeat("word ", 900), String.join("", parts), "broken after spaces, nothing lost");
+    }
+
+    @Test
+    @DisplayName("empty text is no message at all")
+    void emptyContentDropped() {
+        assertTrue(Limits.lines("").isEmpty());
+        assertTrue(Limits.lines(null).isEmpty());
+    }
+}
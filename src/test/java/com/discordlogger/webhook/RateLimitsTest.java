@@ -0,0 +1,117 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rate-limit budgets shared between destinations.
+ *
+ * <p>Getting this wrong does not lose messages — the queue retries a 429 — but it
+ * turns every burst into a run of refusals, and enough of those earn the whole
+ * server a temporary ban from Discord's API.
+ */
+class RateLimitsTest {
+
+    private static final String HOOK = "https://discord.com/api/webhooks/111/token";
+    private static final String LEGACY = "https://discordapp.com/api/webhooks/111/token";
+    private static final String THREAD = "https://discord.com/api/webhooks/111/token?thread_id=9";
+    private static final String OTHER = "https://discord.com/api/webhooks/222/token";
+
+    private static DiscordWebhook.Response ok(String bucket, long remaining, long resetAfterMs) {
+        return new DiscordWebhook.Response(204, remaining, 5L, resetAfterMs, 0L, bucket, false, "HTTP/2", 1L, null, 0);
+    }
+
+    private static DiscordWebhook.Response limited(long retryAfterMs, boolean global) {
+        return new DiscordWebhook.Response(429, 0L, 5L, retryAfterMs, retryAfterMs, "b", global, "HTTP/2", 1L, null, 0);
+    }
+
+    @AfterEach
+    void forget() {
+        RateLimits.clear();
+    }
+
+    @Test
+    @DisplayName("every spelling of Discord's host is one webhook")
+    void canonicalHost() {
+        assertEquals(HOOK, RateLimits.canonical(LEGACY));
+        assertEquals(HOOK, RateLimits.canonical("https://ptb.discord.com/api/webhooks/111/token"));
+        assertEquals(HOOK, RateLimits.canonical("https://canary.discordapp.com/api/webhooks/111/token"));
+        assertEquals("111", RateLimits.webhookId(THREAD));
+    }
+
+    @Test
+    @DisplayName("a spent budget holds every destination for that webhook")
+    void sharedAcrossDestinations() {
+        RateLimits.update(HOOK, false, ok("b", 0L, 30_000L));
+
+        assertTrue(RateLimits.reserve(LEGACY, false) > 0, "another spelling of the same webhook");
+        assertTrue(RateLimits.reserve(THREAD, false) > 0, "a thread of the same webhook");
+        assertEquals(0L, RateLimits.reserve(OTHER, false), "a different webhook has its own budget");
+    }
+
+    @Test
+    @DisplayName("the last request in a window goes to one destination, not two")
+    void reservationsCountDown() {
+        RateLimits.update(HOOK, false, ok("b", 1L, 30_000L));
+
+        assertEquals(0L, RateLimits.reserve(HOOK, false));
+        assertTrue(RateLimits.reserve(THREAD, false) > 0);
+    }
+
+    @Test
+    @DisplayName("a 429 holds everyone sharing the budget until the retry time")
+    void rateLimitedHoldsTheBudget() {
+        RateLimits.update(HOOK, false, limited(30_000L, false));
+
+        assertTrue(RateLimits.waitMs(THREAD) > 0);
+        assertEquals(0L, RateLimits.waitMs(OTHER));
+    }
+
+    @Test
+    @DisplayName("a global 429 holds every webhook")
+    void globalHoldsEveryone() {
+        RateLimits.update(HOOK, false, limited(30_000L, true));
+
+        assertTrue(RateLimits.reserve(OTHER, false) > 0);
+        assertTrue(RateLimits.reserve(OTHER, true) > 0, "editing too");
+    }
+
+    @Test
+    @DisplayName("editing and posting spend separate budgets")
+    void editsHaveTheirOwnBudget() {
+        RateLimits.update(HOOK, false, ok("post", 0L, 30_000L));
+
+        assertTrue(RateLimits.reserve(HOOK, false) > 0);
+        assertEquals(0L, RateLimits.reserve(HOOK, true), "posting spent, editing not");
+
+        RateLimits.update(HOOK, true, ok("edit", 0L, 30_000L));
+        assertTrue(RateLimits.reserve(THREAD, true) > 0, "shared by the webhook's threads like posting is");
+        assertEquals(0L, RateLimits.reserve(OTHER, true));
+    }
+
+    @Test
+    @DisplayName("a backlog is spread across the window instead of spent at once")
+    void pacedAcrossTheWindow() {
+        // Five requests a window of two seconds: one every 400ms.
+        RateLimits.update(HOOK, false, ok("b", 4L, 2_000L));
+
+        assertEquals(0L, RateLimits.reserve(HOOK, false), "the first goes at once");
+        final long wait = RateLimits.reserve(HOOK, false);
+        assertTrue(wait > 0 && wait <= 400L, "the next waits its share, not the window: " + wait);
+    }
+
+    @Test
+    @DisplayName("a 429 Discord did not advertise slows the pace, not just the one request")
+    void refusalSlowsThePace() {
+        RateLimits.update(HOOK, false, limited(0L, false));
+        RateLimits.update(HOOK, false, ok("b", 4L, 2_000L));
+
+        assertEquals(0L, RateLimits.reserve(HOOK, false));
+        final long wait = RateLimits.reserve(HOOK, false);
+        assertTrue(wait > 400L && wait <= 800L, "about half the rate: " + wait);
+    }
+}
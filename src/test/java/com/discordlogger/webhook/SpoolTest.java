@@ -0,0 +1,151 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The on-disk queue behind {@link WebhookQueue}.
+ *
+ * <p>Its whole job is to be right after the process is gone, so every test here
+ * reopens the spool from disk rather than trusting what the object has in memory.
+ */
+class SpoolTest {
+
+    private static final String URL = "https://discord.com/api/webhooks/123/token";
+
+    @TempDir
+    Path dir;
+
+    private Spool open() throws Exception {
+        return Spool.open(dir.toFile(), "123", URL);
+    }
+
+    @Test
+    @DisplayName("undelivered messages come back after a restart, in order and intact")
+    void replaysAfterRestart() throws Exception {
+        final Spool spool = open();
+        final Message a = Message.content("first");
+        final Message b = Message.embed("{\"description\":\"second ✓\"}", 8);
+        assertTrue(spool.append(a));
+        assertTrue(spool.append(b));
+        spool.close();
+
+        final Spool again = open();
+        assertTrue(again.hasPending());
+        final List<Message> read = again.read(again.firstPending(), 10);
+        assertEquals(2, read.size());
+        assertEquals("first", read.get(0).text());
+        assertEquals(Message.Kind.EMBED, read.get(1).kind);
+        assertEquals("{\"description\":\"second ✓\"}", read.get(1).text());
+        assertEquals(8, read.get(1).chars);
+        assertEquals(b.seq, read.get(1).seq);
+    }
+
+    @Test
+    @DisplayName("a message to be appended is still one after a restart")
+    void appendSurvivesRestart() throws Exception {
+        final Spool spool = open();
+        spool.append(Message.content("chat", Priority.ROUTINE, true));
+        spool.append(Message.content("ban", Priority.MODERATION, false));
+        spool.close();
+
+        final List<Message> read = open().read(0L, 10);
+        assertTrue(read.get(0).append);
+        assertEquals(Message.Kind.CONTENT, read.get(0).kind);
+        assertFalse(read.get(1).append);
+        assertEquals(Priority.MODERATION, read.get(1).priority);
+    }
+
+    @Test
+    @DisplayName("a message read back keeps the time it was queued, not the time it was read")
+    void keepsQueuedTime() throws Exception {
+        final Spool spool = open();
+        for (int i = 0; i <= Spool.STAMP_EVERY; i++) {
+            final Message m = Message.content("line " + i);
+            m.queuedAt = 1_000L + i;
+            spool.append(m);
+        }
+        spool.sync();
+
+        final List<Message> read = spool.read(0L, 100);
+        assertEquals(1_000L, read.get(0).queuedAt);
+        assertEquals(1_000L, read.get(Spool.STAMP_EVERY - 1).queuedAt, "as queued with the first of its run");
+        assertEquals(1_000L + Spool.STAMP_EVERY, read.get(Spool.STAMP_EVERY).queuedAt);
+        spool.close();
+    }
+
+    @Test
+    @DisplayName("acked messages are not sent twice")
+    void ackedStayDelivered() throws Exception {
+        final Spool spool = open();
+        final Message a = Message.content("a");
+        final Message b = Message.content("b");
+        spool.append(a);
+        spool.append(b);
+        spool.sync();
+        spool.ack(a.seq);
+        spool.close();
+
+        final Spool again = open();
+        final List<Message> read = again.read(again.firstPending(), 10);
+        assertEquals(1, read.size());
+        assertEquals("b", read.get(0).text());
+        assertTrue(again.nextSeq() > b.seq, "new messages must never reuse a sequence number");
+    }
+
+    @Test
+    @DisplayName("a fully acked spool leaves nothing behind")
+    void cleansUpWhenDone() throws Exception {
+        final Spool spool = open();
+        final Message a = Message.content("a");
+        spool.append(a);
+        spool.sync();
+        spool.ack(a.seq);
+        spool.close();
+
+        final Spool again = open();
+        assertFalse(again.hasPending());
+        again.close();
+        final File[] segments = new File(dir.toFile(), "123").listFiles((d, n) -> n.endsWith(".seg") && new File(d, n).length() > 0);
+        assertEquals(0, segments == null ? 0 : segments.length);
+    }
+
+    @Test
+    @DisplayName("a record torn by a crash is skipped, and everything before it survives")
+    void tornTail() throws Exception {
+        final Spool spool = open();
+        spool.append(Message.content("kept"));
+        spool.append(Message.content("torn in half"));
+        spool.close();
+
+        final File[] segs = new File(dir.toFile(), "123").listFiles((d, n) -> n.endsWith(".seg"));
+        for (File f : segs) {
+            if (f.length() == 0) continue;
+            try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+                raf.setLength(f.length() - 4);
+            }
+        }
+
+        final Spool again = open();
+        final List<Message> read = again.read(again.firstPending(), 10);
+        assertEquals(1, read.size());
+        assertEquals("kept", read.get(0).text());
+    }
+
+    @Test
+    @DisplayName("the webhook each spool belongs to is found again on start")
+    void remembersItsDestination() throws Exception {
+        open().close();
+        assertEquals(URL, Spool.existing(dir.toFile()).keySet().iterator().next());
+    }
+}
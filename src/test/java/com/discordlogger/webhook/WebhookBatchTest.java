@@ -0,0 +1,204 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several queued embeds going out as one request.
+ *
+ * <p>The failure modes are all silent: a batch over Discord's limits is refused with a
+ * 400 and dropped, and a batch assembled out of order posts the narrative scrambled.
+ * Neither shows up anywhere but in the channel.
+ */
+class WebhookBatchTest {
+
+    private static Message embed(String text) {
+        return Message.embed("{\"description\":\"" + text + "\"}", text.length());
+    }
+
+    private static String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private static Lanes lanes(Message... waiting) {
+        final Lanes lanes = new Lanes(WebhookQueue.DEFAULT_QUEUE_BYTES);
+        for (Message m : waiting) lanes.offer(m);
+        return lanes;
+    }
+
+    private static List<Message> startingWith(Message first) {
+        final List<Message> batch = new ArrayList<>();
+        batch.add(first);
+        return batch;
+    }
+
+    @Test
+    @DisplayName("waiting embeds are combined, in the order they were queued")
+    void combinesInOrder() throws Exception {
+        final Lanes pending = new Lanes(WebhookQueue.DEFAULT_QUEUE_BYTES);
+        pending.offer(embed("b"));
+        pending.offer(embed("c"));
+
+        final List<Message> batch = startingWith(embed("a"));
+        assertNull(WebhookQueue.fillBatch(batch, pending));
+
+        final String json = text(DiscordWebhook.payload(batch));
+        assertTrue(json.indexOf("\"a\"") < json.indexOf("\"b\"")
+                && json.indexOf("\"b\"") < json.indexOf("\"c\""), json);
+        assertTrue(json.startsWith("{\"content\":null,\"embeds\":[{"), json);
+        assertTrue(json.endsWith("}],\"attachments\":[]}"), json);
+        assertFalse(json.contains(",]"), json);
+    }
+
+    @Test
+    @DisplayName("never more than ten embeds in one message")
+    void capsAtTen() throws Exception {
+        final Lanes pending = new Lanes(WebhookQueue.DEFAULT_QUEUE_BYTES);
+        for (int i = 0; i < 15; i++) pending.offer(embed("m" + i));
+
+        final List<Message> batch = startingWith(embed("first"));
+        assertNull(WebhookQueue.fillBatch(batch, pending));
+
+        assertEquals(DiscordWebhook.MAX_EMBEDS, batch.size());
+        assertEquals(6, pending.size(), "the rest must stay queued, untouched");
+    }
+
+    @Test
+    @DisplayName("the 6000-character total is respected, and the overflow is sent next")
+    void respectsCharacterTotal() throws Exception {
+        final Message big = embed("x".repeat(4000));
+        final Message tooMuch = embed("y".repeat(2500));
+        final Message after = embed("z");
+        final Lanes pending = lanes(tooMuch, after);
+
+        final List<Message> batch = startingWith(big);
+        final Message carry = WebhookQueue.fillBatch(batch, pending);
+
+        assertEquals(1, batch.size());
+        assertSame(tooMuch, carry, "the embed that did not fit must be next, not lost");
+        assertSame(after, pending.poll(), "nothing behind it may jump the queue");
+    }
+
+    @Test
+    @DisplayName("plain text is never folded into an embed batch")
+    void plainTextStopsTheBatch() throws Exception {
+        final Message text = Message.content("hello");
+        final Lanes pending = lanes(embed("b"), text, embed("c"));
+
+        final List<Message> batch = startingWith(embed("a"));
+        assertSame(text, WebhookQueue.fillBatch(batch, pending));
+        assertEquals(2, batch.size());
+    }
+
+    @Test
+    @DisplayName("plain lines are joined into one message, in order")
+    void joinsPlainLines() throws Exception {
+        final Lanes pending = lanes(Message.content("two"), Message.content("three"));
+
+        final List<Message> batch = startingWith(Message.content("one"));
+        assertNull(WebhookQueue.fillBatch(batch, pending));
+
+        assertEquals("{\"content\":\"one\\ntwo\\nthree\"}", text(DiscordWebhook.payload(batch)));
+    }
+
+    @Test
+    @DisplayName("joined plain text never exceeds 2000 characters")
+    void plainLinesRespectTheLimit() throws Exception {
+        final Message a = Message.content("a".repeat(1500));
+        final Message b = Message.content("b".repeat(499));   // 1500 + newline + 499 = 2000
+        final Message c = Message.content("c");
+        final Message d = Message.content("d".repeat(1999));
+        final Lanes pending = lanes(b, c);
+
+        final List<Message> full = startingWith(a);
+        assertNull(WebhookQueue.fillBatch(full, pending), "a full message flushes at once");
+        assertEquals(List.of(a, b), full);
+        assertSame(c, pending.poll(), "the next line stays queued for the next message");
+
+        pending.offer(d);
+        final List<Message> next = startingWith(c);
+        assertSame(d, WebhookQueue.fillBatch(next, pending),
+                "the line that did not fit starts the message after");
+    }
+
+    @Test
+    @DisplayName("a plain batch still open takes lines that arrive later")
+    void plainLinesLinger() {
+        final Lanes pending = new Lanes(WebhookQueue.DEFAULT_QUEUE_BYTES);
+        final List<Message> batch = startingWith(Message.content("early"));
+        assertNull(WebhookQueue.fillBatch(batch, pending));
+        assertFalse(WebhookQueue.full(batch), "room left, so it is worth lingering");
+
+        pending.offer(Message.content("late"));
+        assertNull(WebhookQueue.fillBatch(batch, pending));
+
+        assertEquals(2, batch.size(), "a line arriving within the linger must share the message");
+        assertEquals("{\"content\":\"early\\nlate\"}", text(DiscordWebhook.payload(batch)));
+    }
+
+    @Test
+    @DisplayName("lines are appended to a message only while the whole still fits")
+    void appendingStopsAtTheLimit() {
+        final List<Message> open = startingWith(Message.content("x".repeat(1500)));
+        assertTrue(WebhookQueue.fits(open, startingWith(Message.content("y".repeat(499)))));
+        assertFalse(WebhookQueue.fits(open, startingWith(Message.content("y".repeat(500)))),
+                "2001 characters once joined by the newline");
+        assertFalse(WebhookQueue.fits(open, startingWith(embed("e"))), "text and embeds never share");
+
+        final List<Message> embeds = new ArrayList<>();
+        for (int i = 0; i < 9; i++) embeds.add(embed("e" + i));
+        assertTrue(WebhookQueue.fits(embeds, startingWith(embed("tenth"))));
+        embeds.add(embed("tenth"));
+        assertFalse(WebhookQueue.fits(embeds, startingWith(embed("eleventh"))));
+    }
+
+    @Test
+    @DisplayName("the id kept for appending is the message's, not its author's or channel's")
+    void messageIdIsTopLevel() {
+        final String body = "{\"type\":0,\"content\":\"said \\\"id\\\": 1\",\"channel_id\":\"5\","
+                + "\"author\":{\"id\":\"7\",\"bot\":true},\"embeds\":[{\"id\":\"8\"}],"
+                + "\"note\":\"id\",\"id\" : \"1234\",\"webhook_id\":\"9\"}";
+        assertEquals("1234", DiscordWebhook.messageId(body));
+        assertNull(DiscordWebhook.messageId(""));
+        assertNull(DiscordWebhook.messageId("{\"author\":{\"id\":\"7\"}}"));
+    }
+
+    @Test
+    @DisplayName("a refusal's error code is read from the top level of its body")
+    void errorCodeIsTopLevel() {
+        assertEquals(10015, DiscordWebhook.errorCode("{\"message\": \"Unknown Webhook\", \"code\": 10015}"));
+        assertEquals(0, DiscordWebhook.errorCode("{\"errors\":{\"code\":50035}}"));
+        assertEquals(0, DiscordWebhook.errorCode("<html>Not Found</html>"));
+        assertEquals(0, DiscordWebhook.errorCode(null));
+    }
+
+    @Test
+    @DisplayName("an edit goes to the message in the same thread it was posted to")
+    void editKeepsTheThread() {
+        assertEquals("https://discord.com/api/webhooks/1/t/messages/42",
+                DiscordWebhook.messageUrl("https://discord.com/api/webhooks/1/t", "42"));
+        assertEquals("https://discord.com/api/webhooks/1/t/messages/42?thread_id=9",
+                DiscordWebhook.messageUrl("https://discord.com/api/webhooks/1/t?thread_id=9", "42"));
+        assertEquals("https://discord.com/api/webhooks/1/t?thread_id=9&wait=true",
+                DiscordWebhook.withQuery("https://discord.com/api/webhooks/1/t?thread_id=9", "wait=true"));
+    }
+
+    @Test
+    @DisplayName("a single embed still produces the familiar envelope")
+    void singleEmbedEnvelope() {
+        final String json = DiscordWebhook.buildEmbedJson(
+                "Title", "Body", 1, null, null, null, null, null);
+        assertEquals("{\"content\":null,\"embeds\":[{\"title\":\"Title\",\"description\":\"Body\","
+                + "\"color\":1}],\"attachments\":[]}", json);
+    }
+}
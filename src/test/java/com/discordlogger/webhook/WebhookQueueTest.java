@@ -0,0 +1,274 @@
+package com.discordlogger.webhook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Delivery itself: what the queue does with each answer Discord gives, driven through
+ * the real scheduler with canned responses in place of the network.
+ *
+ * <p>Every failure here is one nobody sees. A batch that vanishes on an error, a
+ * webhook that stops sending for good, a backlog thrown away for a 404 that meant
+ * something else — the channel just goes quiet, or shows the story out of order.
+ */
+class WebhookQueueTest {
+
+    private static final String HOOK = "https://discord.com/api/webhooks/1/token";
+
+    @TempDir
+    File spool;
+
+    private final Discord discord = new Discord();
+
+    @BeforeEach
+    void start() {
+        WebhookQueue.configure(WebhookQueue.DEFAULT_QUEUE_BYTES, 0L, 0L);
+        WebhookQueue.start(spool, discord);
+    }
+
+    @AfterEach
+    void stop() {
+        WebhookQueue.shutdown();
+        WebhookQueue.relaxOrder(List.of());
+    }
+
+    @Test
+    @DisplayName("a batch lost to an unexpected error is counted and let go of, and the next one still goes")
+    void errorDuringStepIsAccounted() throws Exception {
+        discord.answers.add(new IllegalStateException("boom"));
+        WebhookQueue.enqueue(HOOK, embed("lost"));
+        await(() -> dropped() == 1, "the lost message is counted in status");
+
+        WebhookQueue.enqueue(HOOK, embed("next"));
+        await(() -> discord.requests.contains("POST next"), "the destination is not left stuck");
+
+        WebhookQueue.shutdown();
+        assertFalse(pending(), "the lost message must not be sent again on every start");
+    }
+
+    @Test
+    @DisplayName("a deleted webhook is paused, its backlog discarded unsent, and resumed once a check answers")
+    void deletedWebhookOpensTheBreaker() throws Exception {
+        discord.answers.add(answer(404, Breaker.UNKNOWN_WEBHOOK));
+        WebhookQueue.enqueue(HOOK, embed("a"));
+        await(() -> circuit() == Circuit.OPEN, "the breaker opens on the first refusal");
+
+        WebhookQueue.enqueue(HOOK, embed("b"));
+        WebhookQueue.enqueue(HOOK, embed("c"));
+        await(() -> dropped() == 3, "the refused batch and what follows are discarded");
+        assertEquals(List.of("POST a"), discord.requests, "nothing is sent to a webhook known to be gone");
+
+        // The first check is due after Breaker.FIRST_PROBE_MS, and answers.
+        await(() -> circuit() == Circuit.CLOSED, 2 * Breaker.FIRST_PROBE_MS, "a check that answers closes it");
+        WebhookQueue.enqueue(HOOK, embed("d"));
+        await(() -> discord.requests.contains("POST d"), "delivery resumes");
+    }
+
+    @Test
+    @DisplayName("a 404 for a missing thread holds the message and retries it, rather than discarding")
+    void missingThreadHolds() throws Exception {
+        discord.answers.add(answer(404, 10003));
+        WebhookQueue.enqueue(HOOK, embed("a"));
+        await(() -> discord.requests.size() == 2, "the message is sent again");
+
+        assertEquals(List.of("POST a", "POST a"), discord.requests);
+        assertEquals(Circuit.CLOSED, circuit());
+        assertEquals(0L, dropped());
+    }
+
+    @Test
+    @DisplayName("appendable messages after the first are added to it by editing")
+    void appendsByEditing() throws Exception {
+        WebhookQueue.configure(WebhookQueue.DEFAULT_QUEUE_BYTES, 60_000L, 0L);
+        discord.answers.add(posted("m1"));
+        WebhookQueue.enqueue(HOOK, appended("a"));
+        await(() -> discord.requests.size() == 1, "the first is posted");
+
+        WebhookQueue.enqueue(HOOK, appended("b"));
+        await(() -> discord.requests.size() == 2, "the second is an edit");
+        assertEquals(List.of("POST a", "PATCH a b"), discord.requests, "an edit replaces the message whole");
+    }
+
+    @Test
+    @DisplayName("an edit refused with 404 or 400 is posted instead, without touching the breaker")
+    void refusedEditIsPosted() throws Exception {
+        WebhookQueue.configure(WebhookQueue.DEFAULT_QUEUE_BYTES, 60_000L, 0L);
+        for (int status : new int[] {404, 400}) {
+            discord.requests.clear();
+            discord.answers.add(posted("m" + status));
+            WebhookQueue.enqueue(HOOK, appended("a"));
+            await(() -> discord.requests.size() == 1, "the first is posted");
+
+            discord.answers.add(answer(status, status == 404 ? 10008 : 50035));
+            WebhookQueue.enqueue(HOOK, appended("b"));
+            await(() -> discord.requests.size() == 3, "HTTP " + status + ": the edit is followed by a post");
+
+            assertEquals(List.of("POST a", "PATCH a b", "POST b"), discord.requests, "HTTP " + status);
+            assertEquals(Circuit.CLOSED, circuit(), "a deleted message is not a deleted webhook");
+            assertEquals(0L, dropped());
+        }
+    }
+
+    @Test
+    @DisplayName("strict order: a failed message is retried before anything queued behind it")
+    void strictOrderHolds() throws Exception {
+        discord.answers.add(answer(500));
+        WebhookQueue.enqueue(HOOK, embed("a"));
+        await(() -> discord.requests.size() == 1, "the first attempt");
+        WebhookQueue.enqueue(HOOK, embed("b"));
+        await(() -> discord.requests.size() == 3, "the retry, then what followed");
+
+        assertEquals(List.of("POST a", "POST a", "POST b"), discord.requests);
+    }
+
+    @Test
+    @DisplayName("relaxed order: a failed message steps aside, what follows goes, and it is sent once due")
+    void relaxedOrderSetsAside() throws Exception {
+        WebhookQueue.relaxOrder(List.of(HOOK));
+        discord.answers.add(answer(500));
+        WebhookQueue.enqueue(HOOK, embed("a"));
+        await(() -> discord.requests.size() == 1, "the first attempt");
+        WebhookQueue.enqueue(HOOK, embed("b"));
+        await(() -> discord.requests.size() == 3, "what followed, then the retry");
+
+        assertEquals(List.of("POST a", "POST b", "POST a"), discord.requests);
+        assertEquals(0L, dropped());
+    }
+
+    @Test
+    @DisplayName("relaxed order still holds everything for a rate limit, which is the whole budget's")
+    void relaxedOrderWaitsOutRateLimits() throws Exception {
+        WebhookQueue.relaxOrder(List.of(HOOK));
+        discord.answers.add(new DiscordWebhook.Response(429, 0L, 5L, 200L, 200L, "b", false,
+                "HTTP/2", 1L, null, 0));
+        WebhookQueue.enqueue(HOOK, embed("a"));
+        await(() -> discord.requests.size() == 1, "the first attempt");
+        WebhookQueue.enqueue(HOOK, embed("b"));
+        await(() -> discord.requests.size() == 3, "the same message again, then what followed");
+
+        assertEquals(List.of("POST a", "POST a", "POST b"), discord.requests);
+    }
+
+    // -------------------------------------------------------------------------
+
+    private static Message embed(String text) {
+        return Message.embed("{\"description\":\"" + text + "\"}", text.length());
+    }
+
+    private static Message appended(String text) {
+        return Message.embed("{\"description\":\"" + text + "\"}", text.length(), Priority.ROUTINE, true);
+    }
+
+    /** A post made with {@code ?wait=true}: 200, with the id of the message it created. */
+    static DiscordWebhook.Response posted(String messageId) {
+        return new DiscordWebhook.Response(200, null, null, null, 0L, null, false,
+                "HTTP/2", 1L, messageId, 0);
+    }
+
+    static DiscordWebhook.Response answer(int status) {
+        return answer(status, 0);
+    }
+
+    static DiscordWebhook.Response answer(int status, int code) {
+        return new DiscordWebhook.Response(status, null, null, null, 0L, null, false,
+                "HTTP/2", 1L, null, code);
+    }
+
+    /** Messages lost for {@link #HOOK}, across its lanes, as status shows them. */
+    private static long dropped() {
+        long n = 0L;
+        for (WebhookQueue.Health h : WebhookQueue.health()) {
+            for (WebhookQueue.Lane lane : h.lanes()) n += lane.dropped();
+        }
+        return n;
+    }
+
+    private static Circuit circuit() {
+        final List<WebhookQueue.Health> all = WebhookQueue.health();
+        return all.isEmpty() ? null : all.get(0).circuit();
+    }
+
+    /** Whether the spool for {@link #HOOK} still holds anything undelivered. */
+    private boolean pending() throws Exception {
+        final File dir = Spool.existing(spool).get(HOOK);
+        return dir != null && Spool.open(spool, dir.getName(), HOOK).hasPending();
+    }
+
+    private static void await(BooleanSupplier condition, String what) throws InterruptedException {
+        await(condition, 5_000L, what);
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMs, String what)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timed out waiting: " + what);
+            Thread.sleep(10L);
+        }
+    }
+
+    /**
+     * Discord, as far as the queue can tell: answers in the order given, then 204. An
+     * exception among the answers is thrown from the send itself.
+     */
+    static final class Discord implements WebhookQueue.Transport {
+
+        /** "POST text" or "PATCH text" per request, in the order they were made. */
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        final Deque<Object> answers = new ConcurrentLinkedDeque<>();
+        volatile int probe = 200;
+
+        @Override
+        public CompletableFuture<DiscordWebhook.Response> post(String url, byte[] json, boolean wait) {
+            return send("POST", json);
+        }
+
+        @Override
+        public CompletableFuture<DiscordWebhook.Response> edit(String url, String messageId, byte[] json) {
+            return send("PATCH", json);
+        }
+
+        @Override
+        public int probe(String url) {
+            return probe;
+        }
+
+        private CompletableFuture<DiscordWebhook.Response> send(String method, byte[] json) {
+            requests.add(method + " " + descriptions(json));
+            final Object next = answers.poll();
+            if (next instanceof RuntimeException e) throw e;
+            return CompletableFuture.completedFuture(next != null ? (DiscordWebhook.Response) next : answer(204));
+        }
+
+        /** The descriptions in a payload, space-separated: enough to tell batches apart. */
+        private static String descriptions(byte[] json) {
+            final String s = new String(json, StandardCharsets.UTF_8);
+            final StringBuilder out = new StringBuilder();
+            int i = 0;
+            while ((i = s.indexOf("\"description\":\"", i)) >= 0) {
+                i += 15;
+                final int end = s.indexOf('"', i);
+                if (out.length() > 0) out.append(' ');
+                out.append(s, i, end);
+                i = end;
+            }
+            return out.toString();
+        }
+    }
+}